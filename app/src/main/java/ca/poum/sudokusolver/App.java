@@ -1,21 +1,97 @@
 package ca.poum.sudokusolver;
 
-import java.util.Base64;
+import ca.poum.sudokusolver.cli.BatchGenerator;
+import ca.poum.sudokusolver.cli.BatchRater;
+import ca.poum.sudokusolver.cli.BatchSolver;
+import ca.poum.sudokusolver.cli.CommandLineOptions;
+import ca.poum.sudokusolver.cli.PuzzleConverter;
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import ca.poum.sudokusolver.server.SolveServer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 
 public class App {
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            // Headless mode, solve puzzles from a file or stdin
+            String[] batchArgs = Arrays.copyOfRange(args, 1, args.length);
+            try {
+                BatchSolver.runFromCommandLine(new CommandLineOptions(batchArgs));
+            } catch (IllegalArgumentException | IllegalStateException | IOException e) {
+                System.err.println("Error: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("--convert")) {
+            // Convert a puzzle file between the line and binary formats
+            String[] convertArgs = Arrays.copyOfRange(args, 1, args.length);
+            try {
+                PuzzleConverter.runFromCommandLine(new CommandLineOptions(convertArgs));
+            } catch (IllegalArgumentException | IOException e) {
+                System.err.println("Error: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("--generate")) {
+            // Generate puzzles with a unique solution
+            String[] generateArgs = Arrays.copyOfRange(args, 1, args.length);
+            try {
+                BatchGenerator.runFromCommandLine(new CommandLineOptions(generateArgs));
+            } catch (IllegalArgumentException | IllegalStateException | IOException e) {
+                System.err.println("Error: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("--rate")) {
+            // Rate the difficulty of puzzles from a file or stdin, resuming from a checkpoint if there is one
+            String[] rateArgs = Arrays.copyOfRange(args, 1, args.length);
+            try {
+                BatchRater.runFromCommandLine(new CommandLineOptions(rateArgs));
+            } catch (IllegalArgumentException | IllegalStateException | IOException e) {
+                System.err.println("Error: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("--serve")) {
+            // HTTP solve service, runs until the process is stopped
+            String[] serveArgs = Arrays.copyOfRange(args, 1, args.length);
+            try {
+                SolveServer.runFromCommandLine(new CommandLineOptions(serveArgs));
+            } catch (IllegalArgumentException | IOException e) {
+                System.err.println("Error: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
         if (args.length == 1) {
-            // Decode args[0]
-            String encoded = args[0];
-            Base64.Decoder decoder = Base64.getDecoder();
-            String decoded = new String(decoder.decode(encoded));
-            int[][] decodedIntArray = new int[9][9];
-
-            for (int i = 0; i < 81; i++) {
-                int col = i % 9;
-                int row = i / 9;
-                decodedIntArray[col][row] = Character.getNumericValue(decoded.charAt(i));
+            // Decode args[0], grid is indexed as [row][column] like the exported string
+            int[][] decodedIntArray;
+            try {
+                decodedIntArray = PuzzleCodec.parse(args[0]);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Error: " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+            List<Conflict> conflicts = BoardValidator.validate(decodedIntArray);
+            if (!conflicts.isEmpty()) {
+                for (Conflict conflict : conflicts) {
+                    System.err.println("Error: " + conflict);
+                }
+                System.exit(1);
+                return;
             }
 
             // Create new SudokuFrame with the decodedIntArray;
@@ -2,7 +2,9 @@ package ca.poum.sudokusolver;
 
 import ca.poum.sudokusolver.algorithms.Algorithm;
 import ca.poum.sudokusolver.algorithms.BruteforceAlgorithm;
+import ca.poum.sudokusolver.io.PuzzleCodec;
 import ca.poum.sudokusolver.ui.B64Popup;
+import ca.poum.sudokusolver.ui.SolveWorker;
 import ca.poum.sudokusolver.ui.SudokuPanel;
 
 import javax.swing.*;
@@ -30,16 +32,48 @@ public class SudokuFrame extends JFrame {
         }
     }
 
+    // Delay after each step of "Solve all", shown in the speed selector
+    private static final class StepRate {
+        private final String label;
+        private final long delayMillis;
+
+        StepRate(String label, long delayMillis) {
+            this.label = label;
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private static final StepRate[] STEP_RATES = {
+            new StepRate("Instant", 0),
+            new StepRate("Fast", 10),
+            new StepRate("Normal", 100),
+            new StepRate("Slow", 500)
+    };
+
     Board board;
     SudokuPanel sudokuPanel;
     Algorithm algorithm;
 
+    private JButton nextStepButton;
+    private JButton solveAllButton;
+    private JButton cancelButton;
+    private JComboBox<StepRate> stepRateBox;
+    // Worker solving the board, null when idle
+    private SolveWorker solveWorker;
+
     private void registerKeyBindings() {
-        // Register digits 1 to 9 to an AbstractAction that links to the SetupPanel
-        for (int i = 1; i <= 9; i++) {
+        // Register the digits of the board to an AbstractAction that links to the SetupPanel, digits above 9
+        // are typed as letters
+        for (int i = 1; i <= board.getSize(); i++) {
+            String symbol = String.valueOf(PuzzleCodec.symbolOf(i));
             this.getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
-                    .put(KeyStroke.getKeyStroke(Integer.toString(i)), Integer.toString(i));
-            this.getRootPane().getActionMap().put(Integer.toString(i), new KeyBindingAction(Integer.toString(i)));
+                    .put(KeyStroke.getKeyStroke(symbol), symbol);
+            this.getRootPane().getActionMap().put(symbol, new KeyBindingAction(symbol));
         }
         // Register a new Action for the spacebar to clear the cell
         this.getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
@@ -71,7 +105,7 @@ public class SudokuFrame extends JFrame {
 
     private void enterSolvingMode() {
         // Set window title
-        this.setTitle(String.format("Solving board: %d/81", board.solvedCellCount()));
+        updateSolvingTitle();
 
         algorithm = new BruteforceAlgorithm(); // Config to change algorithm type? Algorithm factory?
         board.calculatePencilMarkings();
@@ -85,12 +119,21 @@ public class SudokuFrame extends JFrame {
         // Add button panel
         JPanel buttonPanel = new JPanel();
 
-        JButton nextStepButton = new JButton("Solve next cell");
+        nextStepButton = new JButton("Solve next cell");
         nextStepButton.addActionListener(e -> nextStepAction());
         buttonPanel.add(nextStepButton);
-        JButton solveAllButton = new JButton("Solve all");
+        solveAllButton = new JButton("Solve all");
         solveAllButton.addActionListener(e -> solveAll());
         buttonPanel.add(solveAllButton);
+        cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        cancelButton.addActionListener(e -> cancelSolve());
+        buttonPanel.add(cancelButton);
+
+        // Animation rate of "Solve all", the delay after each step
+        stepRateBox = new JComboBox<>(STEP_RATES);
+        buttonPanel.add(new JLabel("Speed:"));
+        buttonPanel.add(stepRateBox);
 
         constraints.gridx++;
         this.add(buttonPanel, constraints);
@@ -101,33 +144,60 @@ public class SudokuFrame extends JFrame {
 
     // Called by nextStepButton when clicked
     private void nextStepAction() {
-        boolean changed = algorithm.solveCell(board);
-
-        if (!changed && !board.isSolved()) {
-            // No change, but board is still not solved, algo stuck
-            JOptionPane.showMessageDialog(this, "The algorithm was unable to solve this Sudoku board.",
-                    "Error solving Sudoku", JOptionPane.ERROR_MESSAGE);
-        }
-
-        sudokuPanel.updateGridValues();
-        // Update window title
-        this.setTitle(String.format("Solving board: %d/81", board.solvedCellCount()));
+        startSolving(1, 0);
     }
 
     private void solveAll() {
-        while (true) {
-            // Exit loop once algorithm can't change anything
-            if (!algorithm.solveIteration(board)) break;
+        StepRate rate = (StepRate) stepRateBox.getSelectedItem();
+        startSolving(Integer.MAX_VALUE, rate == null ? 0 : rate.delayMillis);
+    }
+
+    private void cancelSolve() {
+        if (solveWorker != null) {
+            solveWorker.cancel(true);
         }
+    }
+
+    /**
+     * Solves the board on a background thread, the buttons are disabled until it is done.
+     */
+    private void startSolving(int maxSteps, long stepDelayMillis) {
+        if (solveWorker != null) return;  // Already solving
+
+        setSolving(true);
+        solveWorker = new SolveWorker(board, algorithm, maxSteps, stepDelayMillis, new SolveWorker.Listener() {
+            @Override
+            public void progressed(int steps) {
+                sudokuPanel.updateGridValues();
+                updateSolvingTitle();
+            }
+
+            @Override
+            public void finished(SolveWorker.Outcome outcome) {
+                solveWorker = null;
+                setSolving(false);
+                sudokuPanel.updateGridValues();
+                updateSolvingTitle();
+
+                if (outcome != SolveWorker.Outcome.STUCK) return;
 
-        sudokuPanel.updateGridValues();
-        this.setTitle(String.format("Solving board: %d/81", board.solvedCellCount()));
+                // Board isn't solved, but algorithm didn't make any changes, algo is stuck, alert user
+                JOptionPane.showMessageDialog(SudokuFrame.this, "The algorithm was unable to solve this Sudoku board.",
+                        "Error solving Sudoku", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+        solveWorker.execute();
+    }
 
-        if (board.isSolved()) return;
+    private void setSolving(boolean solving) {
+        nextStepButton.setEnabled(!solving);
+        solveAllButton.setEnabled(!solving);
+        stepRateBox.setEnabled(!solving);
+        cancelButton.setEnabled(solving);
+    }
 
-        // Board isn't solved, but algorithm didn't make any changes, algo is stuck, alert user
-        JOptionPane.showMessageDialog(this, "The algorithm was unable to solve this Sudoku board.",
-                "Error solving Sudoku", JOptionPane.ERROR_MESSAGE);
+    private void updateSolvingTitle() {
+        this.setTitle(String.format("Solving board: %d/%d", board.solvedCellCount(), board.getCellCount()));
     }
 
     public void createSetupView() {
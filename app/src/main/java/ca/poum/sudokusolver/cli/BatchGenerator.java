@@ -0,0 +1,237 @@
+package ca.poum.sudokusolver.cli;
+
+import ca.poum.sudokusolver.algorithms.techniques.Difficulty;
+import ca.poum.sudokusolver.generator.PuzzleGenerator;
+import ca.poum.sudokusolver.io.BinaryPuzzleWriter;
+import ca.poum.sudokusolver.io.PuzzleCodec;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Generates puzzles with {@link PuzzleGenerator} on every processor. Puzzles are generated in chunks on a
+ * {@link ForkJoinPool} where every worker thread has its own generator, and written in order.
+ * <p>
+ * Puzzle {@code i} is always generated from a seed derived from the batch seed and {@code i}, so a batch seed
+ * gives the same puzzles whatever the number of threads.
+ */
+public class BatchGenerator {
+    private static final int CHUNK_SIZE = 64;
+
+    private final int size;
+    private final int targetClues;
+    private final Difficulty difficulty;
+    private final long seed;
+    private final int parallelism;
+    private final int maxPendingChunks;
+    // Every generator created by a worker thread, to aggregate their statistics
+    private final Queue<PuzzleGenerator> generators = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<PuzzleGenerator> threadGenerator = ThreadLocal.withInitial(this::createGenerator);
+    private long generatedCount;
+    private long elapsedNanos;
+
+    /**
+     * Destination of the generated puzzles.
+     */
+    @FunctionalInterface
+    public interface PuzzleSink {
+        void write(int[][] puzzle) throws IOException;
+    }
+
+    /**
+     * @param size             Number of digits of the generated boards.
+     * @param targetClues      Number of clues of the puzzles, or 0 for as few as possible.
+     * @param difficulty       Grade of the puzzles, or null for any grade.
+     * @param seed             Seed of the batch.
+     * @param parallelism      Number of worker threads.
+     * @param maxPendingChunks Maximum number of chunks generated but not yet written.
+     */
+    public BatchGenerator(int size, int targetClues, Difficulty difficulty, long seed, int parallelism,
+                          int maxPendingChunks) {
+        if (parallelism < 1 || maxPendingChunks < 1) {
+            throw new IllegalArgumentException("Parallelism and pending chunks must be at least 1");
+        }
+        if (targetClues < 0 || targetClues > size * size) {
+            throw new IllegalArgumentException("Target clues must be between 0 and " + size * size);
+        }
+        this.size = size;
+        this.targetClues = targetClues;
+        this.difficulty = difficulty;
+        this.seed = seed;
+        this.parallelism = parallelism;
+        this.maxPendingChunks = maxPendingChunks;
+    }
+
+    /**
+     * Entry point of the {@code --generate} mode. Writes to the file given as positional argument, or to stdout
+     * if there is none. The summary is printed to stderr.
+     * <p>
+     * Options: {@code --count} (default 1000), {@code --clues} (default: as few as possible),
+     * {@code --difficulty} (easy, medium, hard, expert or needs_guessing, default: any), {@code --seed}
+     * (default: random, printed in the summary), {@code --size} (default 9), {@code --format} (digits, base64
+     * or binary, default digits), {@code --threads} and {@code --pending} like the {@code --batch} mode.
+     */
+    public static void runFromCommandLine(CommandLineOptions options) throws IOException {
+        long count = options.getLong("count", 1000);
+        if (count < 0) {
+            throw new IllegalArgumentException("Option --count can't be negative");
+        }
+        String difficultyName = options.get("difficulty", null);
+        Difficulty difficulty = null;
+        if (difficultyName != null) {
+            try {
+                difficulty = Difficulty.valueOf(difficultyName.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Option --difficulty expects easy, medium, hard, expert or needs_guessing");
+            }
+        }
+        String format = options.get("format", "digits");
+        if (!format.equals("digits") && !format.equals("base64") && !format.equals("binary")) {
+            throw new IllegalArgumentException("Option --format expects digits, base64 or binary");
+        }
+        int threads = options.getInt("threads", Runtime.getRuntime().availableProcessors());
+        if (threads < 1) {
+            throw new IllegalArgumentException("Option --threads must be at least 1");
+        }
+        long seed = options.getLong("seed", System.nanoTime());
+        BatchGenerator generator = new BatchGenerator(options.getInt("size", 9), options.getInt("clues", 0),
+                difficulty, seed, threads, options.getInt("pending", 4 * threads));
+
+        List<String> files = options.getPositional();
+        if (format.equals("binary")) {
+            if (files.isEmpty()) {
+                throw new IllegalArgumentException("The binary format needs an output file");
+            }
+            try (BinaryPuzzleWriter out = new BinaryPuzzleWriter(Path.of(files.get(0)))) {
+                generator.run(count, out::write);
+            }
+        } else {
+            boolean base64 = format.equals("base64");
+            Writer out = files.isEmpty()
+                    ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII), 1 << 16)
+                    : Files.newBufferedWriter(Path.of(files.get(0)), StandardCharsets.US_ASCII);
+            try {
+                generator.run(count, puzzle -> {
+                    out.write(base64 ? PuzzleCodec.toBase64(puzzle) : PuzzleCodec.toLine(puzzle));
+                    out.write('\n');
+                });
+            } finally {
+                // Don't close stdout
+                if (files.isEmpty()) {
+                    out.flush();
+                } else {
+                    out.close();
+                }
+            }
+        }
+        System.err.println(generator.getSummary());
+    }
+
+    /**
+     * Generates count puzzles and writes them to the sink, in order.
+     *
+     * @throws IllegalStateException If a puzzle matching the targets couldn't be generated.
+     */
+    public void run(long count, PuzzleSink out) throws IOException {
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Deque<Future<int[][][]>> pending = new ArrayDeque<>();
+        try {
+            for (long first = 0; first < count; first += CHUNK_SIZE) {
+                long chunkStart = first;
+                int chunkSize = (int) Math.min(CHUNK_SIZE, count - first);
+                pending.add(pool.submit(() -> generateChunk(chunkStart, chunkSize)));
+                if (pending.size() >= maxPendingChunks) {
+                    // Block on the oldest chunk before submitting more
+                    write(pending.poll(), out);
+                }
+            }
+            while (!pending.isEmpty()) {
+                write(pending.poll(), out);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        elapsedNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * @return Count and throughput of the puzzles generated so far, and the seed to generate them again.
+     */
+    public String getSummary() {
+        long attempts = 0;
+        for (PuzzleGenerator generator : generators) {
+            attempts += generator.getAttempts();
+        }
+        double seconds = elapsedNanos / 1e9;
+        double throughput = seconds == 0 ? 0 : generatedCount / seconds;
+        return String.format("Generated %d puzzles (%d grids tried) in %.3f s: %.1f puzzles/s, seed %d (%d threads)",
+                generatedCount, attempts, seconds, throughput, seed, parallelism);
+    }
+
+    private PuzzleGenerator createGenerator() {
+        PuzzleGenerator generator = new PuzzleGenerator(size, seed);
+        generators.add(generator);
+        return generator;
+    }
+
+    private int[][][] generateChunk(long first, int chunkSize) {
+        PuzzleGenerator generator = threadGenerator.get();
+        int[][][] puzzles = new int[chunkSize][][];
+        for (int i = 0; i < chunkSize; i++) {
+            generator.setSeed(seedOf(first + i));
+            puzzles[i] = generator.generate(targetClues, difficulty);
+        }
+        return puzzles;
+    }
+
+    /**
+     * @return The seed of a puzzle, mixed so that consecutive puzzles get unrelated seeds.
+     */
+    private long seedOf(long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private void write(Future<int[][][]> chunk, PuzzleSink out) throws IOException {
+        int[][][] puzzles;
+        try {
+            puzzles = chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for puzzles");
+        } catch (ExecutionException e) {
+            // The pool may wrap the exception of the worker, report the original message
+            Throwable cause = e.getCause();
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IllegalStateException) {
+                throw new IllegalStateException(cause.getMessage(), e);
+            }
+            throw new IllegalStateException("Generating a chunk of puzzles failed", e.getCause());
+        }
+
+        for (int[][] puzzle : puzzles) {
+            out.write(puzzle);
+        }
+        generatedCount += puzzles.length;
+    }
+}
@@ -0,0 +1,457 @@
+package ca.poum.sudokusolver.cli;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.algorithms.Algorithm;
+import ca.poum.sudokusolver.algorithms.Algorithms;
+import ca.poum.sudokusolver.algorithms.TechniqueAlgorithm;
+import ca.poum.sudokusolver.algorithms.techniques.Difficulty;
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import ca.poum.sudokusolver.metrics.SolveCounters;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Headless mode rating puzzles read one per line, in any format accepted by {@link PuzzleCodec#parse(String)}.
+ * Every puzzle produces one tab separated output line, in input order:
+ * <ul>
+ *     <li>The puzzle line</li>
+ *     <li>Its grade, from the hardest technique {@link TechniqueAlgorithm} needs (easy, medium, hard, expert or
+ *     needs_guessing), {@code unsolvable} if the techniques and the algorithm both fail, or {@code invalid}</li>
+ *     <li>The number of search nodes the algorithm needed to solve it, an estimate of the guesses it takes, or
+ *     the reason for invalid puzzles</li>
+ * </ul>
+ * Puzzles are rated in chunks on a {@link ForkJoinPool} like {@link ParallelBatchSolver}, and the output is
+ * written as chunks complete, so memory use doesn't depend on the number of puzzles.
+ * <p>
+ * When writing to a file, the position in the input, the length of the output and the counts are saved to a
+ * checkpoint file next to the output at regular intervals. Running the same command again after the job was
+ * killed truncates the output to the last checkpoint and resumes from there. The checkpoint is deleted once
+ * every puzzle is rated.
+ */
+public class BatchRater {
+    private static final int CHUNK_SIZE = 256;
+
+    // Output buckets, the grades then the puzzles nothing could solve and the invalid ones
+    private static final int UNSOLVABLE = Difficulty.values().length;
+    private static final int INVALID = UNSOLVABLE + 1;
+    private static final String[] BUCKET_NAMES = bucketNames();
+
+    /**
+     * Rating of a single puzzle, formatted as its output line.
+     */
+    private static final class Rating {
+        private final String line;
+        private final int bucket;
+        private final long searchNodes;
+
+        private Rating(String line, int bucket, long searchNodes) {
+            this.line = line;
+            this.bucket = bucket;
+            this.searchNodes = searchNodes;
+        }
+    }
+
+    /**
+     * Rated puzzles of a chunk, with the number of input lines read once the chunk was complete.
+     */
+    private static final class Chunk {
+        private final Rating[] ratings;
+        private final long endLine;
+
+        private Chunk(Rating[] ratings, long endLine) {
+            this.ratings = ratings;
+            this.endLine = endLine;
+        }
+    }
+
+    /**
+     * Boards and algorithms of a worker thread.
+     */
+    private final class Rater {
+        private final TechniqueAlgorithm grader = new TechniqueAlgorithm();
+        private final Algorithm solver = Algorithms.create(algorithmName);
+        private final SolveCounters counters = new SolveCounters();
+        private Board board = new Board();
+
+        private Rating rate(String line) {
+            int[][] grid;
+            try {
+                grid = PuzzleCodec.parse(line);
+                if (grid.length != board.getSize()) {
+                    board = new Board(grid.length);
+                }
+                board.setCounters(null);
+                board.load(grid);
+            } catch (IllegalArgumentException e) {
+                return new Rating(line + "\tinvalid\t" + e.getMessage(), INVALID, 0);
+            }
+            Difficulty grade = grader.grade(board);
+
+            // Solve again from the puzzle to count the guesses
+            counters.reset();
+            board.load(grid);
+            board.setCounters(counters);
+            while (true) {
+                // Exit loop once algorithm can't change anything
+                if (!solver.solveIteration(board)) break;
+            }
+            long searchNodes = counters.getSearchNodes();
+            int bucket = grade == Difficulty.NEEDS_GUESSING && !board.isSolved() ? UNSOLVABLE : grade.ordinal();
+            return new Rating(line + '\t' + BUCKET_NAMES[bucket] + '\t' + searchNodes, bucket, searchNodes);
+        }
+    }
+
+    private final String algorithmName;
+    private final int parallelism;
+    private final int maxPendingChunks;
+    private final long progressIntervalNanos;
+    private final ThreadLocal<Rater> threadRater = ThreadLocal.withInitial(Rater::new);
+
+    // Totals over every run of the job, restored from the checkpoint when resuming
+    private final long[] bucketCounts = new long[BUCKET_NAMES.length];
+    private final long[] bucketSearchNodes = new long[BUCKET_NAMES.length];
+    // Input lines whose ratings are written, and length of the output
+    private long writtenLines;
+    private long outputBytes;
+    private long readLines;
+
+    // This run only, for the throughput
+    private long ratedCount;
+    private long elapsedNanos;
+    private long lastProgressNanos;
+    private long lastProgressCount;
+
+    /**
+     * @param algorithmName         Name of the algorithm counting the guesses, see {@link Algorithms}. It should
+     *                              be a complete solver, such as dlx or bitboard.
+     * @param parallelism           Number of worker threads.
+     * @param maxPendingChunks      Maximum number of chunks read but not yet written.
+     * @param progressIntervalNanos Interval between two progress reports on stderr, 0 to disable them.
+     */
+    public BatchRater(String algorithmName, int parallelism, int maxPendingChunks, long progressIntervalNanos) {
+        if (parallelism < 1 || maxPendingChunks < 1 || progressIntervalNanos < 0) {
+            throw new IllegalArgumentException("Parallelism and pending chunks must be at least 1, interval at "
+                    + "least 0");
+        }
+        Algorithms.create(algorithmName);  // Fail fast on unknown names
+        this.algorithmName = algorithmName;
+        this.parallelism = parallelism;
+        this.maxPendingChunks = maxPendingChunks;
+        this.progressIntervalNanos = progressIntervalNanos;
+    }
+
+    /**
+     * Entry point of the {@code --rate} mode. Reads from the file given as positional argument, or from stdin if
+     * there is none, and writes ratings to the {@code --output} file, or to stdout. Progress and the summary are
+     * printed to stderr.
+     * <p>
+     * Options: {@code --algorithm} (default bitboard), {@code --threads} and {@code --pending} like the
+     * {@code --batch} mode, {@code --output}, {@code --checkpoint-seconds} (interval between checkpoints when
+     * reading and writing files, default 30, 0 to disable) and {@code --progress-seconds} (default 10, 0 to
+     * disable).
+     */
+    public static void runFromCommandLine(CommandLineOptions options) throws IOException {
+        int threads = options.getInt("threads", Runtime.getRuntime().availableProcessors());
+        if (threads < 1) {
+            throw new IllegalArgumentException("Option --threads must be at least 1");
+        }
+        long checkpointSeconds = options.getLong("checkpoint-seconds", 30);
+        long progressSeconds = options.getLong("progress-seconds", 10);
+        if (checkpointSeconds < 0 || progressSeconds < 0) {
+            throw new IllegalArgumentException("Options --checkpoint-seconds and --progress-seconds can't be negative");
+        }
+        BatchRater rater = new BatchRater(options.get("algorithm", "bitboard"), threads,
+                options.getInt("pending", 4 * threads), progressSeconds * 1_000_000_000L);
+
+        List<String> files = options.getPositional();
+        String output = options.get("output", null);
+        if (output == null || files.isEmpty() || checkpointSeconds == 0) {
+            try (BufferedReader in = BatchSolver.openInput(files)) {
+                Writer out = output == null
+                        ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII), 1 << 16)
+                        : Files.newBufferedWriter(Path.of(output), StandardCharsets.US_ASCII);
+                try {
+                    rater.run(in, out, null);
+                } finally {
+                    // Don't close stdout
+                    if (output == null) {
+                        out.flush();
+                    } else {
+                        out.close();
+                    }
+                }
+            }
+        } else {
+            rater.runWithCheckpoints(Path.of(files.get(0)), Path.of(output),
+                    Path.of(output + ".checkpoint"), checkpointSeconds * 1_000_000_000L);
+        }
+        System.err.println(rater.getSummary());
+    }
+
+    /**
+     * Rates every puzzle of the input file into the output file, saving a checkpoint at the given interval. If
+     * the checkpoint file exists, the job resumes from it instead of starting over.
+     *
+     * @throws IllegalStateException If the checkpoint doesn't match the input or output file.
+     */
+    public void runWithCheckpoints(Path input, Path output, Path checkpoint, long checkpointIntervalNanos)
+            throws IOException {
+        long inputSize = Files.size(input);
+        long skippedLines = 0;
+        if (Files.exists(checkpoint)) {
+            loadCheckpoint(checkpoint, input, inputSize);
+            if (!Files.exists(output) || Files.size(output) < outputBytes) {
+                throw new IllegalStateException("Output " + output + " is shorter than its checkpoint, delete "
+                        + checkpoint + " to start over");
+            }
+            // Drop the ratings written after the checkpoint, they are rated again
+            try (FileChannel channel = FileChannel.open(output, StandardOpenOption.WRITE)) {
+                channel.truncate(outputBytes);
+            }
+            skippedLines = writtenLines;
+            System.err.printf("Resuming at line %d of %s (%d puzzles already rated)%n", writtenLines, input,
+                    totalCount());
+        } else {
+            Files.deleteIfExists(output);
+        }
+
+        try (BufferedReader in = Files.newBufferedReader(input, StandardCharsets.US_ASCII);
+             FileOutputStream stream = new FileOutputStream(output.toFile(), true);
+             Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.US_ASCII), 1 << 16)) {
+            for (long i = 0; i < skippedLines; i++) {
+                if (in.readLine() == null) {
+                    throw new IllegalStateException("Input " + input + " is shorter than its checkpoint");
+                }
+            }
+            readLines = skippedLines;
+
+            long[] lastCheckpoint = {System.nanoTime()};
+            run(in, out, () -> {
+                if (System.nanoTime() - lastCheckpoint[0] < checkpointIntervalNanos) return;
+                // Only record output that is on disk
+                out.flush();
+                stream.getChannel().force(false);
+                saveCheckpoint(checkpoint, input, inputSize);
+                lastCheckpoint[0] = System.nanoTime();
+            });
+        }
+        Files.deleteIfExists(checkpoint);
+    }
+
+    /**
+     * Rates every puzzle from the reader and writes one line per puzzle to the writer, in input order. The
+     * writer is flushed at the end.
+     *
+     * @param afterChunk Called after each chunk is written, or null.
+     */
+    public void run(BufferedReader in, Writer out, ChunkListener afterChunk) throws IOException {
+        long start = System.nanoTime();
+        lastProgressNanos = start;
+        lastProgressCount = ratedCount;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Deque<Future<Chunk>> pending = new ArrayDeque<>();
+        try {
+            List<String> lines;
+            while (!(lines = readChunk(in)).isEmpty()) {
+                List<String> chunk = lines;
+                long endLine = readLines;
+                pending.add(pool.submit(() -> rateChunk(chunk, endLine)));
+                if (pending.size() >= maxPendingChunks) {
+                    // Block on the oldest chunk before reading more
+                    write(pending.poll(), out, afterChunk);
+                }
+            }
+            while (!pending.isEmpty()) {
+                write(pending.poll(), out, afterChunk);
+            }
+            out.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+        elapsedNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Receives control after a chunk is written, to save a checkpoint.
+     */
+    @FunctionalInterface
+    public interface ChunkListener {
+        void chunkWritten() throws IOException;
+    }
+
+    /**
+     * @return Count and throughput of this run, then the count and mean search nodes of every bucket, including
+     * the puzzles rated before resuming.
+     */
+    public String getSummary() {
+        double seconds = elapsedNanos / 1e9;
+        double throughput = seconds == 0 ? 0 : ratedCount / seconds;
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT,
+                "Rated %d puzzles in %.3f s: %.1f puzzles/s (%d threads, %d rated in total)",
+                ratedCount, seconds, throughput, parallelism, totalCount()));
+        long total = Math.max(1, totalCount());
+        for (int bucket = 0; bucket < BUCKET_NAMES.length; bucket++) {
+            long count = bucketCounts[bucket];
+            sb.append(String.format(Locale.ROOT, "%n  %-15s %10d %6.2f%%", BUCKET_NAMES[bucket], count,
+                    100.0 * count / total));
+            if (bucket != INVALID) {
+                sb.append(String.format(Locale.ROOT, "  %.1f search nodes",
+                        count == 0 ? 0.0 : (double) bucketSearchNodes[bucket] / count));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Prints the counts and the throughput since the last report, if the interval has passed.
+     */
+    private void reportProgress() {
+        long now = System.nanoTime();
+        if (progressIntervalNanos == 0 || now - lastProgressNanos < progressIntervalNanos) return;
+
+        double throughput = (ratedCount - lastProgressCount) / ((now - lastProgressNanos) / 1e9);
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "Rated %d puzzles, %.1f puzzles/s:",
+                totalCount(), throughput));
+        for (int bucket = 0; bucket < BUCKET_NAMES.length; bucket++) {
+            sb.append(' ').append(BUCKET_NAMES[bucket]).append(' ').append(bucketCounts[bucket]);
+        }
+        System.err.println(sb);
+        lastProgressNanos = now;
+        lastProgressCount = ratedCount;
+    }
+
+    private long totalCount() {
+        long total = 0;
+        for (long count : bucketCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    private Chunk rateChunk(List<String> lines, long endLine) {
+        Rater rater = threadRater.get();
+        Rating[] ratings = new Rating[lines.size()];
+        for (int i = 0; i < ratings.length; i++) {
+            ratings[i] = rater.rate(lines.get(i));
+        }
+        return new Chunk(ratings, endLine);
+    }
+
+    private List<String> readChunk(BufferedReader in) throws IOException {
+        List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+        String line;
+        while (chunk.size() < CHUNK_SIZE && (line = in.readLine()) != null) {
+            readLines++;
+            if (BatchSolver.isSkipped(line)) continue;
+            chunk.add(line);
+        }
+        return chunk;
+    }
+
+    private void write(Future<Chunk> future, Writer out, ChunkListener afterChunk) throws IOException {
+        Chunk chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for ratings");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rating a chunk of puzzles failed", e.getCause());
+        }
+
+        for (Rating rating : chunk.ratings) {
+            out.write(rating.line);
+            out.write('\n');
+            // The output is US-ASCII, one byte per character
+            outputBytes += rating.line.length() + 1;
+            bucketCounts[rating.bucket]++;
+            bucketSearchNodes[rating.bucket] += rating.searchNodes;
+        }
+        ratedCount += chunk.ratings.length;
+        writtenLines = chunk.endLine;
+
+        if (afterChunk != null) {
+            afterChunk.chunkWritten();
+        }
+        reportProgress();
+    }
+
+    private void saveCheckpoint(Path checkpoint, Path input, long inputSize) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("input", input.toAbsolutePath().toString());
+        properties.setProperty("input.size", Long.toString(inputSize));
+        properties.setProperty("input.lines", Long.toString(writtenLines));
+        properties.setProperty("output.bytes", Long.toString(outputBytes));
+        for (int bucket = 0; bucket < BUCKET_NAMES.length; bucket++) {
+            properties.setProperty("count." + BUCKET_NAMES[bucket], Long.toString(bucketCounts[bucket]));
+            properties.setProperty("nodes." + BUCKET_NAMES[bucket], Long.toString(bucketSearchNodes[bucket]));
+        }
+
+        // Replace the previous checkpoint atomically, a job killed while saving keeps the previous one
+        Path temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.ISO_8859_1)) {
+            properties.store(writer, "Rating checkpoint, delete to start over");
+        }
+        Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void loadCheckpoint(Path checkpoint, Path input, long inputSize) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(checkpoint, StandardCharsets.ISO_8859_1)) {
+            properties.load(reader);
+        }
+        if (!input.toAbsolutePath().toString().equals(properties.getProperty("input"))
+                || inputSize != parseLong(properties, "input.size", checkpoint)) {
+            throw new IllegalStateException("Checkpoint " + checkpoint + " was saved for another input, delete it "
+                    + "to start over");
+        }
+        writtenLines = parseLong(properties, "input.lines", checkpoint);
+        outputBytes = parseLong(properties, "output.bytes", checkpoint);
+        for (int bucket = 0; bucket < BUCKET_NAMES.length; bucket++) {
+            bucketCounts[bucket] = parseLong(properties, "count." + BUCKET_NAMES[bucket], checkpoint);
+            bucketSearchNodes[bucket] = parseLong(properties, "nodes." + BUCKET_NAMES[bucket], checkpoint);
+        }
+    }
+
+    private static long parseLong(Properties properties, String key, Path checkpoint) {
+        String value = properties.getProperty(key);
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Checkpoint " + checkpoint + " has no valid " + key);
+        }
+    }
+
+    private static String[] bucketNames() {
+        Difficulty[] grades = Difficulty.values();
+        String[] names = new String[grades.length + 2];
+        for (Difficulty grade : grades) {
+            names[grade.ordinal()] = grade.name().toLowerCase(Locale.ROOT);
+        }
+        names[UNSOLVABLE] = "unsolvable";
+        names[INVALID] = "invalid";
+        return names;
+    }
+}
@@ -0,0 +1,224 @@
+package ca.poum.sudokusolver.cli;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.algorithms.Algorithm;
+import ca.poum.sudokusolver.algorithms.Algorithms;
+import ca.poum.sudokusolver.algorithms.CachingAlgorithm;
+import ca.poum.sudokusolver.cache.SolutionCache;
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import ca.poum.sudokusolver.metrics.LatencyHistogram;
+import ca.poum.sudokusolver.metrics.SolveCounters;
+import ca.poum.sudokusolver.metrics.SolveMetrics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Headless mode solving puzzles read one per line, in any format accepted by {@link PuzzleCodec#parse(String)}.
+ * Each puzzle produces exactly one output line:
+ * <ul>
+ *     <li>The solution as one character per cell if the algorithm solved it</li>
+ *     <li>The partially solved board, with '.' for empty cells, if the algorithm got stuck</li>
+ *     <li>{@code invalid: <reason>} if the line isn't a valid puzzle</li>
+ * </ul>
+ * Blank lines and lines starting with '#' are skipped. Lines are streamed, so memory use doesn't depend
+ * on the number of puzzles.
+ */
+public class BatchSolver {
+    private final Algorithm algorithm;
+    // Reused for every puzzle of the same size, so a solver must stay confined to a single thread
+    private Board board = new Board();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    // Only set when metrics are collected
+    private final SolveCounters counters;
+    private final SolveMetrics metrics;
+    private long solvedCount;
+    private long unsolvedCount;
+    private long invalidCount;
+    private long elapsedNanos;
+
+    public BatchSolver(Algorithm algorithm) {
+        this(algorithm, false);
+    }
+
+    /**
+     * @param collectMetrics If true, the work done by every solve is recorded, see {@link #getMetrics()}.
+     */
+    public BatchSolver(Algorithm algorithm, boolean collectMetrics) {
+        this.algorithm = algorithm;
+        this.counters = collectMetrics ? new SolveCounters() : null;
+        this.metrics = collectMetrics ? new SolveMetrics() : null;
+        board.setCounters(counters);
+    }
+
+    /**
+     * Entry point of the {@code --batch} mode. Reads from the file given as positional argument, or from
+     * stdin if there is none, and writes solutions to stdout. The summary is printed to stderr.
+     * <p>
+     * Options: {@code --algorithm} (default dlx), {@code --threads} (default: number of processors),
+     * {@code --pending} (maximum number of chunks of puzzles in flight when using multiple threads),
+     * {@code --metrics} (json or prometheus, prints solve metrics to stderr at the end) and {@code --cache}
+     * (number of solutions kept in a {@link SolutionCache} shared by every thread, disabled by default).
+     */
+    public static void runFromCommandLine(CommandLineOptions options) throws IOException {
+        String algorithmName = options.get("algorithm", "dlx");
+        Algorithms.create(algorithmName);  // Fail fast on unknown names
+        int threads = options.getInt("threads", Runtime.getRuntime().availableProcessors());
+        if (threads < 1) {
+            throw new IllegalArgumentException("Option --threads must be at least 1");
+        }
+        String metricsFormat = options.get("metrics", null);
+        if (metricsFormat != null && !metricsFormat.equals("json") && !metricsFormat.equals("prometheus")) {
+            throw new IllegalArgumentException("Option --metrics expects json or prometheus");
+        }
+        boolean collectMetrics = metricsFormat != null;
+        int cacheCapacity = options.getInt("cache", 0);
+        SolutionCache cache = cacheCapacity > 0 ? new SolutionCache(cacheCapacity) : null;
+
+        try (BufferedReader in = openInput(options.getPositional())) {
+            Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII), 1 << 16);
+            SolveMetrics metrics;
+            if (threads == 1) {
+                Algorithm algorithm = Algorithms.create(algorithmName);
+                if (cache != null) {
+                    algorithm = new CachingAlgorithm(algorithm, cache);
+                }
+                BatchSolver solver = new BatchSolver(algorithm, collectMetrics);
+                solver.run(in, out);
+                System.err.println(solver.getSummary());
+                metrics = solver.getMetrics();
+            } else {
+                int pending = options.getInt("pending", 4 * threads);
+                ParallelBatchSolver solver = new ParallelBatchSolver(algorithmName, threads, pending, collectMetrics,
+                        cache);
+                solver.run(in, out);
+                System.err.println(solver.getSummary());
+                metrics = solver.getMetrics();
+            }
+
+            if (cache != null) {
+                System.err.println(cache.getSummary());
+            }
+            if (metrics != null) {
+                System.err.println(metricsFormat.equals("json") ? metrics.toJson() : metrics.toPrometheus());
+            }
+        }
+    }
+
+    static BufferedReader openInput(List<String> files) throws IOException {
+        if (files.isEmpty()) {
+            return new BufferedReader(new InputStreamReader(System.in, StandardCharsets.US_ASCII), 1 << 16);
+        }
+        return Files.newBufferedReader(Path.of(files.get(0)), StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Solves every puzzle from the reader and writes one line per puzzle to the writer, which is flushed
+     * at the end.
+     */
+    public void run(BufferedReader in, Writer out) throws IOException {
+        long start = System.nanoTime();
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (isSkipped(line)) continue;
+            out.write(solveLine(line));
+            out.write('\n');
+        }
+        out.flush();
+        elapsedNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Solves a single puzzle line and records its latency.
+     *
+     * @return The output line for the puzzle, without line terminator.
+     */
+    public String solveLine(String line) {
+        long start = System.nanoTime();
+        String result;
+        if (counters != null) {
+            counters.reset();
+        }
+        try {
+            int[][] grid = PuzzleCodec.parse(line);
+            if (grid.length != board.getSize()) {
+                board = new Board(grid.length);
+                board.setCounters(counters);
+            }
+            board.load(grid);
+            while (true) {
+                // Exit loop once algorithm can't change anything
+                if (!algorithm.solveIteration(board)) break;
+            }
+
+            if (board.isSolved()) {
+                solvedCount++;
+            } else {
+                unsolvedCount++;
+            }
+            result = PuzzleCodec.toLine(board);
+            if (metrics != null) {
+                metrics.record(counters, System.nanoTime() - start);
+            }
+        } catch (IllegalArgumentException e) {
+            invalidCount++;
+            result = "invalid: " + e.getMessage();
+        }
+        latencies.record(System.nanoTime() - start);
+        return result;
+    }
+
+    public static boolean isSkipped(String line) {
+        return line.isBlank() || line.startsWith("#");
+    }
+
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * @return The metrics of every valid puzzle solved so far, or null if metrics aren't collected.
+     */
+    public SolveMetrics getMetrics() {
+        return metrics;
+    }
+
+    public long getSolvedCount() {
+        return solvedCount;
+    }
+
+    public long getUnsolvedCount() {
+        return unsolvedCount;
+    }
+
+    public long getInvalidCount() {
+        return invalidCount;
+    }
+
+    /**
+     * @return Counts, throughput and latency percentiles of every puzzle solved so far.
+     */
+    public String getSummary() {
+        return formatSummary(solvedCount, unsolvedCount, invalidCount, elapsedNanos, latencies);
+    }
+
+    static String formatSummary(long solved, long unsolved, long invalid, long elapsedNanos,
+                                LatencyHistogram latencies) {
+        long total = solved + unsolved + invalid;
+        double seconds = elapsedNanos / 1e9;
+        double throughput = seconds == 0 ? 0 : total / seconds;
+        return String.format("Solved %d/%d puzzles (%d unsolved, %d invalid) in %.3f s: %.1f puzzles/s, "
+                        + "p50 %.3f ms, p99 %.3f ms, max %.3f ms",
+                solved, total, unsolved, invalid, seconds, throughput,
+                latencies.getPercentileNanos(50) / 1e6, latencies.getPercentileNanos(99) / 1e6,
+                latencies.getMaxNanos() / 1e6);
+    }
+}
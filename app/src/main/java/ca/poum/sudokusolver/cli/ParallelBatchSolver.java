@@ -0,0 +1,171 @@
+package ca.poum.sudokusolver.cli;
+
+import ca.poum.sudokusolver.algorithms.Algorithm;
+import ca.poum.sudokusolver.algorithms.Algorithms;
+import ca.poum.sudokusolver.algorithms.CachingAlgorithm;
+import ca.poum.sudokusolver.cache.SolutionCache;
+import ca.poum.sudokusolver.metrics.LatencyHistogram;
+import ca.poum.sudokusolver.metrics.SolveMetrics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Multithreaded version of {@link BatchSolver}. Puzzles are read in chunks which are solved on a work-stealing
+ * {@link ForkJoinPool}, where every worker thread has its own {@link BatchSolver} (and therefore its own board
+ * and algorithm instances).
+ * <p>
+ * Chunks are written in the order they were read, so the output matches the input line by line. At most
+ * {@code maxPendingChunks} chunks are in flight: once that many are waiting, reading stops until the oldest
+ * chunk has been written, so a slow writer can't cause unbounded buffering.
+ */
+public class ParallelBatchSolver {
+    private static final int CHUNK_SIZE = 256;
+
+    private final String algorithmName;
+    private final int parallelism;
+    private final int maxPendingChunks;
+    private final boolean collectMetrics;
+    // Shared by every worker thread, null if disabled
+    private final SolutionCache cache;
+    // Every solver created by a worker thread, to aggregate their statistics
+    private final Queue<BatchSolver> solvers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<BatchSolver> threadSolver = ThreadLocal.withInitial(this::createSolver);
+    private long elapsedNanos;
+
+    /**
+     * @param algorithmName    Name of the algorithm, see {@link Algorithms}.
+     * @param parallelism      Number of worker threads.
+     * @param maxPendingChunks Maximum number of chunks read but not yet written.
+     * @param collectMetrics   If true, the work done by every solve is recorded, see {@link #getMetrics()}.
+     * @param cache            Solution cache shared by every worker thread, or null to always solve.
+     */
+    public ParallelBatchSolver(String algorithmName, int parallelism, int maxPendingChunks, boolean collectMetrics,
+                               SolutionCache cache) {
+        if (parallelism < 1 || maxPendingChunks < 1) {
+            throw new IllegalArgumentException("Parallelism and pending chunks must be at least 1");
+        }
+        this.algorithmName = algorithmName;
+        this.parallelism = parallelism;
+        this.maxPendingChunks = maxPendingChunks;
+        this.collectMetrics = collectMetrics;
+        this.cache = cache;
+    }
+
+    /**
+     * Solves every puzzle from the reader and writes one line per puzzle to the writer, in input order.
+     * The writer is flushed at the end.
+     */
+    public void run(BufferedReader in, Writer out) throws IOException {
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Deque<Future<String[]>> pending = new ArrayDeque<>();
+        try {
+            List<String> chunk;
+            while (!(chunk = readChunk(in)).isEmpty()) {
+                List<String> lines = chunk;
+                pending.add(pool.submit(() -> solveChunk(lines)));
+                if (pending.size() >= maxPendingChunks) {
+                    // Block on the oldest chunk before reading more
+                    write(pending.poll(), out);
+                }
+            }
+            while (!pending.isEmpty()) {
+                write(pending.poll(), out);
+            }
+            out.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+        elapsedNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * @return Counts, throughput and latency percentiles aggregated over every worker thread.
+     */
+    public String getSummary() {
+        long solved = 0;
+        long unsolved = 0;
+        long invalid = 0;
+        LatencyHistogram latencies = new LatencyHistogram();
+        for (BatchSolver solver : solvers) {
+            solved += solver.getSolvedCount();
+            unsolved += solver.getUnsolvedCount();
+            invalid += solver.getInvalidCount();
+            latencies.merge(solver.getLatencies());
+        }
+        return BatchSolver.formatSummary(solved, unsolved, invalid, elapsedNanos, latencies)
+                + String.format(" (%d threads)", parallelism);
+    }
+
+    /**
+     * @return The metrics merged from every worker thread, or null if metrics aren't collected.
+     */
+    public SolveMetrics getMetrics() {
+        if (!collectMetrics) {
+            return null;
+        }
+        SolveMetrics metrics = new SolveMetrics();
+        for (BatchSolver solver : solvers) {
+            metrics.merge(solver.getMetrics());
+        }
+        return metrics;
+    }
+
+    private BatchSolver createSolver() {
+        Algorithm algorithm = Algorithms.create(algorithmName);
+        if (cache != null) {
+            algorithm = new CachingAlgorithm(algorithm, cache);
+        }
+        BatchSolver solver = new BatchSolver(algorithm, collectMetrics);
+        solvers.add(solver);
+        return solver;
+    }
+
+    private String[] solveChunk(List<String> lines) {
+        BatchSolver solver = threadSolver.get();
+        String[] results = new String[lines.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = solver.solveLine(lines.get(i));
+        }
+        return results;
+    }
+
+    private static List<String> readChunk(BufferedReader in) throws IOException {
+        List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+        String line;
+        while (chunk.size() < CHUNK_SIZE && (line = in.readLine()) != null) {
+            if (BatchSolver.isSkipped(line)) continue;
+            chunk.add(line);
+        }
+        return chunk;
+    }
+
+    private static void write(Future<String[]> chunk, Writer out) throws IOException {
+        String[] results;
+        try {
+            results = chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for solutions");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Solving a chunk of puzzles failed", e.getCause());
+        }
+
+        for (String result : results) {
+            out.write(result);
+            out.write('\n');
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package ca.poum.sudokusolver.cli;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.algorithms.sat.SudokuCnf;
+import ca.poum.sudokusolver.io.BinaryPuzzleWriter;
+import ca.poum.sudokusolver.io.DimacsWriter;
+import ca.poum.sudokusolver.io.MappedPuzzleCorpus;
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import ca.poum.sudokusolver.io.PuzzleView;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Converts puzzle files between the line formats of {@link PuzzleCodec} and the packed binary format.
+ * Files ending in ".bin" are read as binary and written as lines, any other file is read as lines and
+ * written as binary. An output ending in ".cnf" gets the DIMACS CNF encoding of one puzzle instead.
+ */
+public class PuzzleConverter {
+    private PuzzleConverter() {
+    }
+
+    /**
+     * Entry point of the {@code --convert <input> <output>} mode. The {@code --format} option selects the
+     * line format written from binary files: "digits" (default) or "base64". The {@code --puzzle} option selects
+     * the puzzle exported to a ".cnf" output, from 1 (default).
+     */
+    public static void runFromCommandLine(CommandLineOptions options) throws IOException {
+        List<String> files = options.getPositional();
+        if (files.size() != 2) {
+            throw new IllegalArgumentException("Expected an input and an output file");
+        }
+        Path input = Path.of(files.get(0));
+        Path output = Path.of(files.get(1));
+
+        if (output.toString().endsWith(".cnf")) {
+            toCnf(input, output, options.getLong("puzzle", 1));
+            return;
+        }
+
+        long count;
+        if (input.toString().endsWith(".bin")) {
+            boolean base64 = switch (options.get("format", "digits")) {
+                case "digits" -> false;
+                case "base64" -> true;
+                default -> throw new IllegalArgumentException("Option --format expects digits or base64");
+            };
+            count = toLines(input, output, base64);
+        } else {
+            count = toBinary(input, output);
+        }
+        System.err.printf("Converted %d puzzles%n", count);
+    }
+
+    /**
+     * Converts a file of puzzle lines to the binary format. Blank lines and lines starting with '#' are skipped.
+     *
+     * @return The number of puzzles converted.
+     */
+    public static long toBinary(Path input, Path output) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(input, StandardCharsets.US_ASCII);
+             BinaryPuzzleWriter out = new BinaryPuzzleWriter(output)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (BatchSolver.isSkipped(line)) continue;
+                out.write(PuzzleCodec.parse(line));
+            }
+            return out.getCount();
+        }
+    }
+
+    /**
+     * Converts a binary file to puzzle lines, either as 81 characters or in base64.
+     *
+     * @return The number of puzzles converted.
+     */
+    public static long toLines(Path input, Path output, boolean base64) throws IOException {
+        try (MappedPuzzleCorpus corpus = new MappedPuzzleCorpus(input);
+             BufferedWriter out = Files.newBufferedWriter(output, StandardCharsets.US_ASCII)) {
+            PuzzleView view = new PuzzleView();
+            int[][] grid = new int[9][9];
+            for (long i = 0; i < corpus.size(); i++) {
+                corpus.view(i, view).copyTo(grid);
+                out.write(base64 ? PuzzleCodec.toBase64(grid) : PuzzleCodec.toLine(grid));
+                out.write('\n');
+            }
+            return corpus.size();
+        }
+    }
+
+    /**
+     * Streams the DIMACS CNF encoding of one puzzle of a file of puzzle lines, see {@link DimacsWriter}. Blank
+     * lines and lines starting with '#' are skipped and not numbered.
+     *
+     * @param number Number of the puzzle in the file, from 1.
+     * @throws IllegalArgumentException If the file has fewer puzzles, or if the puzzle is invalid.
+     */
+    public static void toCnf(Path input, Path output, long number) throws IOException {
+        if (number < 1) {
+            throw new IllegalArgumentException("Option --puzzle expects a number from 1");
+        }
+        try (BufferedReader in = Files.newBufferedReader(input, StandardCharsets.US_ASCII)) {
+            long count = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (BatchSolver.isSkipped(line) || ++count < number) continue;
+
+                Board board = new Board(PuzzleCodec.parse(line));
+                DimacsWriter.write(board, output);
+                System.err.printf("Exported puzzle %d: %d variables, %d clauses%n", number,
+                        SudokuCnf.variableCount(board.getSize()), SudokuCnf.clauseCount(board));
+                return;
+            }
+            throw new IllegalArgumentException("Expected at least " + number + " puzzles, found " + count);
+        }
+    }
+}
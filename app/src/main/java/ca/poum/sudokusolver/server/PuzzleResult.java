@@ -0,0 +1,110 @@
+package ca.poum.sudokusolver.server;
+
+import ca.poum.sudokusolver.metrics.SolveCounters;
+
+/**
+ * Outcome of solving one puzzle of a request, serialized as a JSON object in the response.
+ */
+final class PuzzleResult {
+    enum Status {
+        SOLVED,
+        /**
+         * The algorithm got stuck, the board is partially solved.
+         */
+        UNSOLVED,
+        INVALID
+    }
+
+    private final Status status;
+    // Board after solving, '.' for empty cells, the puzzle as received if skipped, null for invalid puzzles
+    private final String board;
+    // Null when the uniqueness check ran out of search nodes
+    private final Boolean unique;
+    private final String error;
+    private final long nanos;
+    private final SolveCounters counters;
+
+    private PuzzleResult(Status status, String board, Boolean unique, String error, long nanos,
+                         SolveCounters counters) {
+        this.status = status;
+        this.board = board;
+        this.unique = unique;
+        this.error = error;
+        this.nanos = nanos;
+        this.counters = counters;
+    }
+
+    /**
+     * @param unique Whether the puzzle has a unique solution, null if unknown.
+     */
+    static PuzzleResult solved(boolean solved, String board, Boolean unique, long nanos, SolveCounters counters) {
+        return new PuzzleResult(solved ? Status.SOLVED : Status.UNSOLVED, board, unique, null, nanos, counters);
+    }
+
+    /**
+     * @return The result of a puzzle that wasn't solved because its request had already timed out.
+     */
+    static PuzzleResult skipped(String puzzle) {
+        return new PuzzleResult(Status.UNSOLVED, puzzle.trim(), null, null, 0, null);
+    }
+
+    static PuzzleResult invalid(String error, long nanos) {
+        return new PuzzleResult(Status.INVALID, null, false, error, nanos, null);
+    }
+
+    Status getStatus() {
+        return status;
+    }
+
+    long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return The counters of the solve, null for invalid and skipped puzzles.
+     */
+    SolveCounters getCounters() {
+        return counters;
+    }
+
+    void appendJson(StringBuilder sb) {
+        sb.append("{\"status\":\"").append(status.name().toLowerCase()).append('"');
+        if (status == Status.INVALID) {
+            sb.append(",\"error\":");
+            appendString(sb, error);
+        } else {
+            sb.append(status == Status.SOLVED ? ",\"solution\":\"" : ",\"board\":\"").append(board).append('"');
+            sb.append(",\"unique\":").append(unique);
+            if (counters != null) {
+                sb.append(",\"stats\":{\"duration_ns\":").append(nanos)
+                        .append(",\"placements\":").append(counters.getPlacements())
+                        .append(",\"eliminations\":").append(counters.getEliminations())
+                        .append(",\"search_nodes\":").append(counters.getSearchNodes())
+                        .append('}');
+            }
+        }
+        sb.append('}');
+    }
+
+    static void appendString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,86 @@
+package ca.poum.sudokusolver.server;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.algorithms.Algorithm;
+import ca.poum.sudokusolver.algorithms.CachingAlgorithm;
+import ca.poum.sudokusolver.algorithms.DancingLinksAlgorithm;
+import ca.poum.sudokusolver.algorithms.SolveResult;
+import ca.poum.sudokusolver.cache.SolutionCache;
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import ca.poum.sudokusolver.metrics.SolveCounters;
+
+/**
+ * Solves the puzzles of requests, one at a time. Like {@link ca.poum.sudokusolver.cli.BatchSolver}, the board
+ * and the algorithms are reused between puzzles, so a solver must stay confined to a single thread.
+ * <p>
+ * Searches by {@link DancingLinksAlgorithm} are bounded by {@link #SEARCH_NODE_LIMIT}, both the uniqueness check
+ * and the solve when it is the requested algorithm, which then also answers the uniqueness check. Other
+ * algorithms aren't bounded, {@link RequestBatcher} skips the puzzles of requests that timed out instead.
+ */
+final class PuzzleSolver {
+    /**
+     * Search nodes allowed to a dancing links search, a few hundred milliseconds at most. Hard 9x9 puzzles need a
+     * few thousand, but a 25x25 puzzle with few clues can need more than any request should wait for.
+     */
+    static final long SEARCH_NODE_LIMIT = 1_000_000;
+
+    private final Algorithm algorithm;
+    // The algorithm when it is dlx without a cache, its search tells whether the solution is unique
+    private final DancingLinksAlgorithm countingAlgorithm;
+    // Counts solutions for the uniqueness flag when the algorithm can't
+    private final DancingLinksAlgorithm uniquenessChecker = new DancingLinksAlgorithm();
+    private Board board = new Board();
+
+    /**
+     * @param algorithm Algorithm solving the puzzles.
+     * @param cache     Solution cache shared with other solvers, or null to always solve.
+     */
+    PuzzleSolver(Algorithm algorithm, SolutionCache cache) {
+        DancingLinksAlgorithm dlx = algorithm instanceof DancingLinksAlgorithm d ? d : null;
+        if (dlx != null) {
+            dlx.setNodeLimit(SEARCH_NODE_LIMIT);
+        }
+        // Cache hits don't search, so the uniqueness check can't rely on the algorithm
+        this.countingAlgorithm = cache == null ? dlx : null;
+        this.algorithm = cache == null ? algorithm : new CachingAlgorithm(algorithm, cache);
+        uniquenessChecker.setNodeLimit(SEARCH_NODE_LIMIT);
+    }
+
+    PuzzleResult solve(String line) {
+        long start = System.nanoTime();
+        try {
+            int[][] grid = PuzzleCodec.parse(line.trim());
+            if (grid.length != board.getSize()) {
+                board = new Board(grid.length);
+            }
+            // Counters are handed over with the result, so every puzzle gets its own
+            SolveCounters counters = new SolveCounters();
+            board.setCounters(null);
+            board.load(grid);
+
+            // A full grid is valid once loaded, and algorithms don't search it
+            Boolean unique = board.isSolved() ? Boolean.TRUE : null;
+            if (unique == null && countingAlgorithm == null) {
+                // Only the work of the algorithm is reported, not the uniqueness check
+                // Two solutions found before the limit is enough to know the puzzle isn't unique
+                int solutions = uniquenessChecker.countSolutions(board, 2);
+                unique = solutions < 2 && uniquenessChecker.isNodeLimitReached() ? null : solutions == 1;
+            }
+            board.setCounters(counters);
+            while (true) {
+                // Exit loop once algorithm can't change anything
+                if (!algorithm.solveIteration(board)) break;
+            }
+            if (unique == null && countingAlgorithm != null) {
+                // Only the first iteration searches, the following ones find the board solved
+                SolveResult result = countingAlgorithm.getLastResult();
+                unique = result == SolveResult.MULTIPLE_SOLUTIONS ? Boolean.FALSE
+                        : countingAlgorithm.isNodeLimitReached() ? null : result == SolveResult.UNIQUE_SOLUTION;
+            }
+            return PuzzleResult.solved(board.isSolved(), PuzzleCodec.toLine(board), unique,
+                    System.nanoTime() - start, counters);
+        } catch (IllegalArgumentException e) {
+            return PuzzleResult.invalid(e.getMessage(), System.nanoTime() - start);
+        }
+    }
+}
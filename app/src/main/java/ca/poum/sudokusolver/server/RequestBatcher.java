@@ -0,0 +1,175 @@
+package ca.poum.sudokusolver.server;
+
+import ca.poum.sudokusolver.algorithms.Algorithms;
+import ca.poum.sudokusolver.cache.SolutionCache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups the puzzles of concurrent requests into batches solved on a work-stealing {@link ForkJoinPool}, the same
+ * way {@link ca.poum.sudokusolver.cli.ParallelBatchSolver} solves chunks of a file. Many small requests then share
+ * the cost of dispatching work to the pool instead of each paying it.
+ * <p>
+ * A dispatcher thread takes the oldest waiting request, then keeps collecting requests until the batch holds
+ * {@code maxBatchSize} puzzles or {@code maxDelayNanos} has passed since the first one. The batch is split into
+ * chunks, one task per chunk, and every request is completed once the chunks holding its puzzles are solved, so a
+ * slow puzzle only holds the requests sharing its chunk. The dispatcher doesn't wait for a batch before collecting
+ * the next one.
+ * <p>
+ * The puzzles of a request whose future is already done when their turn comes, because the caller timed out and
+ * cancelled it, are skipped and reported as unsolved, so a stuck request doesn't keep the workers busy.
+ */
+class RequestBatcher implements AutoCloseable {
+    // Largest chunk of puzzles solved by a single task
+    private static final int MAX_CHUNK_SIZE = 64;
+
+    private static final class Pending {
+        private final List<String> puzzles;
+        private final CompletableFuture<List<PuzzleResult>> future = new CompletableFuture<>();
+
+        private Pending(List<String> puzzles) {
+            this.puzzles = puzzles;
+        }
+    }
+
+    private final int parallelism;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final ServerMetrics metrics;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<PuzzleSolver> threadSolver;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+
+    /**
+     * @param algorithmName Name of the algorithm, see {@link Algorithms}.
+     * @param parallelism   Number of worker threads.
+     * @param maxBatchSize  Number of puzzles after which a batch is dispatched without waiting for more.
+     * @param maxDelayNanos Longest time the first request of a batch waits for other requests, 0 to never wait.
+     * @param cache         Solution cache shared by every worker thread, or null to always solve.
+     */
+    RequestBatcher(String algorithmName, int parallelism, int maxBatchSize, long maxDelayNanos,
+                   SolutionCache cache, ServerMetrics metrics) {
+        if (parallelism < 1 || maxBatchSize < 1 || maxDelayNanos < 0) {
+            throw new IllegalArgumentException("Parallelism and batch size must be at least 1, delay at least 0");
+        }
+        Algorithms.create(algorithmName);  // Fail fast on unknown names
+        this.parallelism = parallelism;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelayNanos;
+        this.metrics = metrics;
+        this.pool = new ForkJoinPool(parallelism);
+        this.threadSolver = ThreadLocal.withInitial(
+                () -> new PuzzleSolver(Algorithms.create(algorithmName), cache));
+        this.dispatcher = new Thread(this::dispatchLoop, "solve-batcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * @param puzzles The puzzles of a request, in any format accepted by the codecs.
+     * @return The results, in the order of the puzzles. Cancel it to skip the puzzles not solved yet.
+     */
+    CompletableFuture<List<PuzzleResult>> submit(List<String> puzzles) {
+        Pending pending = new Pending(puzzles);
+        if (puzzles.isEmpty()) {
+            pending.future.complete(List.of());
+        } else {
+            queue.add(pending);
+        }
+        return pending.future;
+    }
+
+    @Override
+    public void close() {
+        dispatcher.interrupt();
+        pool.shutdownNow();
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future.completeExceptionally(new IllegalStateException("Server is shutting down"));
+        }
+    }
+
+    private void dispatchLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Pending> batch = new ArrayList<>();
+                Pending first = queue.take();
+                batch.add(first);
+                int size = first.puzzles.size();
+
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (size < maxBatchSize) {
+                    Pending next = queue.poll();
+                    if (next == null) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) break;
+                        next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) break;
+                    }
+                    batch.add(next);
+                    size += next.puzzles.size();
+                }
+                dispatch(batch, size);
+            }
+        } catch (InterruptedException e) {
+            // Closed, exit quietly
+        }
+    }
+
+    private void dispatch(List<Pending> batch, int size) {
+        String[] puzzles = new String[size];
+        Pending[] owners = new Pending[size];
+        int offset = 0;
+        for (Pending pending : batch) {
+            for (String puzzle : pending.puzzles) {
+                owners[offset] = pending;
+                puzzles[offset++] = puzzle;
+            }
+        }
+
+        // Spread small batches over every worker, but keep chunks large enough to amortize the task
+        int chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(1, (size + parallelism - 1) / parallelism));
+        PuzzleResult[] results = new PuzzleResult[size];
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int start = 0; start < size; start += chunkSize) {
+            int from = start;
+            int to = Math.min(size, start + chunkSize);
+            chunks.add(CompletableFuture.runAsync(() -> solveChunk(puzzles, owners, results, from, to), pool));
+        }
+        metrics.recordBatch(size);
+
+        int from = 0;
+        for (Pending pending : batch) {
+            int to = from + pending.puzzles.size();
+            int resultsFrom = from;
+            // Requests are never empty, so the chunks of one run from the chunk of its first puzzle to its last's
+            List<CompletableFuture<Void>> requestChunks = chunks.subList(from / chunkSize, (to - 1) / chunkSize + 1);
+            CompletableFuture<Void> solved =
+                    CompletableFuture.allOf(requestChunks.toArray(new CompletableFuture<?>[0]));
+            solved.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    pending.future.completeExceptionally(error);
+                } else {
+                    pending.future.complete(Arrays.asList(Arrays.copyOfRange(results, resultsFrom, to)));
+                }
+            });
+            from = to;
+        }
+    }
+
+    private void solveChunk(String[] puzzles, Pending[] owners, PuzzleResult[] results, int from, int to) {
+        PuzzleSolver solver = threadSolver.get();
+        for (int i = from; i < to; i++) {
+            results[i] = owners[i].future.isDone() ? PuzzleResult.skipped(puzzles[i]) : solver.solve(puzzles[i]);
+            metrics.recordPuzzle(results[i]);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package ca.poum.sudokusolver.server;
+
+import ca.poum.sudokusolver.metrics.LatencyHistogram;
+import ca.poum.sudokusolver.metrics.SolveMetrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the solve server, exported by the {@code /metrics} endpoint in the Prometheus text format.
+ * Thread-safe, histograms are updated under a lock since they are shared by every worker thread.
+ */
+class ServerMetrics {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rejectedRequests = new LongAdder();
+    private final LongAdder solved = new LongAdder();
+    private final LongAdder unsolved = new LongAdder();
+    private final LongAdder invalid = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    // Guarded by this
+    private final LatencyHistogram requestDurations = new LatencyHistogram();
+    private final LatencyHistogram batchSizes = new LatencyHistogram();
+    private final SolveMetrics solveMetrics = new SolveMetrics();
+
+    void recordRequest(long nanos) {
+        requests.increment();
+        synchronized (this) {
+            requestDurations.record(nanos);
+        }
+    }
+
+    /**
+     * Counts a request answered with an error status, such as a malformed body.
+     */
+    void recordRejectedRequest() {
+        rejectedRequests.increment();
+    }
+
+    void recordBatch(int size) {
+        batches.increment();
+        synchronized (this) {
+            batchSizes.record(size);
+        }
+    }
+
+    void recordPuzzle(PuzzleResult result) {
+        switch (result.getStatus()) {
+            case SOLVED -> solved.increment();
+            case UNSOLVED -> unsolved.increment();
+            case INVALID -> invalid.increment();
+        }
+        if (result.getCounters() != null) {
+            synchronized (this) {
+                solveMetrics.record(result.getCounters(), result.getNanos());
+            }
+        }
+    }
+
+    String toPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        appendCounter(sb, "sudoku_server_requests_total", "Solve requests answered", requests.sum());
+        appendCounter(sb, "sudoku_server_rejected_requests_total", "Requests answered with an error status",
+                rejectedRequests.sum());
+        sb.append("# HELP sudoku_server_puzzles_total Puzzles received, by outcome\n");
+        sb.append("# TYPE sudoku_server_puzzles_total counter\n");
+        sb.append("sudoku_server_puzzles_total{status=\"solved\"} ").append(solved.sum()).append('\n');
+        sb.append("sudoku_server_puzzles_total{status=\"unsolved\"} ").append(unsolved.sum()).append('\n');
+        sb.append("sudoku_server_puzzles_total{status=\"invalid\"} ").append(invalid.sum()).append('\n');
+        appendCounter(sb, "sudoku_server_batches_total", "Batches dispatched to the worker threads", batches.sum());
+        synchronized (this) {
+            SolveMetrics.appendPrometheus(sb, "sudoku_server_request_duration_seconds",
+                    "Wall time of a solve request, from parsing to response", requestDurations, 1e-9);
+            SolveMetrics.appendPrometheus(sb, "sudoku_server_batch_size", "Puzzles per dispatched batch",
+                    batchSizes, 1);
+            sb.append(solveMetrics.toPrometheus());
+        }
+        return sb.toString();
+    }
+
+    private static void appendCounter(StringBuilder sb, String name, String help, long value) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" counter\n");
+        sb.append(name).append(' ').append(value).append('\n');
+    }
+}
@@ -0,0 +1,166 @@
+package ca.poum.sudokusolver.server;
+
+import ca.poum.sudokusolver.cli.BatchSolver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puzzles of a solve request. The body is either:
+ * <ul>
+ *     <li>A JSON object with a {@code "puzzle"} string, answered with a single result object</li>
+ *     <li>A JSON object with a {@code "puzzles"} array of strings, answered with {@code {"results": [...]}}</li>
+ *     <li>Plain text with one puzzle per line, skipping blank lines and lines starting with '#' like the
+ *     batch mode, answered like a {@code "puzzles"} array</li>
+ * </ul>
+ * Puzzles can be in any format accepted by {@link ca.poum.sudokusolver.io.PuzzleCodec#parse(String)}.
+ */
+final class SolveRequest {
+    private final List<String> puzzles;
+    private final boolean single;
+
+    private SolveRequest(List<String> puzzles, boolean single) {
+        this.puzzles = puzzles;
+        this.single = single;
+    }
+
+    List<String> getPuzzles() {
+        return puzzles;
+    }
+
+    /**
+     * @return True if the request held a single {@code "puzzle"}, which is answered without the results array.
+     */
+    boolean isSingle() {
+        return single;
+    }
+
+    /**
+     * @throws IllegalArgumentException If the body is malformed JSON or has neither "puzzle" nor "puzzles".
+     */
+    static SolveRequest parse(String body) {
+        String trimmed = body.strip();
+        if (!trimmed.startsWith("{")) {
+            List<String> puzzles = new ArrayList<>();
+            for (String line : trimmed.split("\r?\n")) {
+                if (BatchSolver.isSkipped(line)) continue;
+                puzzles.add(line.strip());
+            }
+            return new SolveRequest(puzzles, false);
+        }
+        return new JsonReader(trimmed).readRequest();
+    }
+
+    /**
+     * Reader for the small subset of JSON used by requests: a single object whose values are strings or arrays of
+     * strings.
+     */
+    private static final class JsonReader {
+        private final String text;
+        private int position;
+
+        private JsonReader(String text) {
+            this.text = text;
+        }
+
+        private SolveRequest readRequest() {
+            String puzzle = null;
+            List<String> puzzles = null;
+
+            expect('{');
+            if (!consume('}')) {
+                do {
+                    String key = readString();
+                    expect(':');
+                    switch (key) {
+                        case "puzzle" -> puzzle = readString();
+                        case "puzzles" -> puzzles = readStringArray();
+                        default -> throw error("Unknown field \"" + key + "\"");
+                    }
+                } while (consume(','));
+                expect('}');
+            }
+            skipWhitespace();
+            if (position != text.length()) {
+                throw error("Unexpected content after the request object");
+            }
+
+            if ((puzzle == null) == (puzzles == null)) {
+                throw new IllegalArgumentException("Request must have exactly one of \"puzzle\" or \"puzzles\"");
+            }
+            return puzzle != null ? new SolveRequest(List.of(puzzle), true) : new SolveRequest(puzzles, false);
+        }
+
+        private List<String> readStringArray() {
+            List<String> values = new ArrayList<>();
+            expect('[');
+            if (consume(']')) return values;
+            do {
+                values.add(readString());
+            } while (consume(','));
+            expect(']');
+            return values;
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (position >= text.length()) break;
+                char escaped = text.charAt(position++);
+                switch (escaped) {
+                    case '"', '\\', '/' -> sb.append(escaped);
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        if (position + 4 > text.length()) throw error("Truncated unicode escape");
+                        try {
+                            sb.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Invalid unicode escape");
+                        }
+                        position += 4;
+                    }
+                    default -> throw error("Invalid escape '\\" + escaped + "'");
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private void expect(char c) {
+            if (!consume(c)) {
+                throw error("Expected '" + c + "'");
+            }
+        }
+
+        private boolean consume(char c) {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + position);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package ca.poum.sudokusolver.server;
+
+import ca.poum.sudokusolver.cache.SolutionCache;
+import ca.poum.sudokusolver.cli.CommandLineOptions;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * HTTP solve service built on the JDK's {@link HttpServer}, without external dependencies.
+ * <ul>
+ *     <li>{@code POST /solve}: solves the puzzles of the body, see {@link SolveRequest} for the accepted formats.
+ *     Every result has a status (solved, unsolved or invalid), the solution (or the partially solved board),
+ *     whether the puzzle has a unique solution and the stats of the solve.</li>
+ *     <li>{@code GET /metrics}: request, batch and solve metrics in the Prometheus text format.</li>
+ * </ul>
+ * Requests are handled on virtual threads when the runtime has them (Java 21 and later), on a fixed pool of
+ * handler threads otherwise. Handlers only parse and wait, the puzzles of concurrent requests are solved together
+ * by a {@link RequestBatcher}. A request whose puzzles aren't solved within the timeout gets a 504 response and its
+ * remaining puzzles are skipped. A puzzle already being solved still runs to the end, which dancing links bounds
+ * with {@link PuzzleSolver#SEARCH_NODE_LIMIT}. The other requests of the batch aren't held.
+ */
+public class SolveServer implements AutoCloseable {
+    // Larger bodies are rejected, about 100000 puzzles of 81 characters
+    private static final int MAX_BODY_BYTES = 8 << 20;
+
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final RequestBatcher batcher;
+    private final long timeoutNanos;
+    private final ServerMetrics metrics = new ServerMetrics();
+
+    /**
+     * Creates and starts the server.
+     *
+     * @param address         Address to listen on, port 0 picks a free port.
+     * @param algorithmName   Name of the algorithm, see {@link ca.poum.sudokusolver.algorithms.Algorithms}.
+     * @param threads         Number of threads solving puzzles.
+     * @param handlerThreads  Number of threads handling requests, when virtual threads aren't available.
+     * @param maxBatchSize    Number of puzzles after which a batch is solved without waiting for more requests.
+     * @param maxDelayNanos   Longest time a request waits for others to join its batch.
+     * @param cache           Solution cache shared by every thread, or null to always solve.
+     * @param timeoutNanos    Longest time a request waits for its puzzles to be solved.
+     */
+    public SolveServer(InetSocketAddress address, String algorithmName, int threads, int handlerThreads,
+                       int maxBatchSize, long maxDelayNanos, SolutionCache cache, long timeoutNanos)
+            throws IOException {
+        if (handlerThreads < 1) {
+            throw new IllegalArgumentException("Handler threads must be at least 1");
+        }
+        if (timeoutNanos < 1) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+        this.timeoutNanos = timeoutNanos;
+        batcher = new RequestBatcher(algorithmName, threads, maxBatchSize, maxDelayNanos, cache, metrics);
+        handlers = createHandlerExecutor(handlerThreads);
+        try {
+            server = HttpServer.create(address, 0);
+        } catch (IOException e) {
+            batcher.close();
+            handlers.shutdownNow();
+            throw e;
+        }
+        server.setExecutor(handlers);
+        server.createContext("/solve", this::handleSolve);
+        server.createContext("/metrics", this::handleMetrics);
+        server.start();
+    }
+
+    /**
+     * Entry point of the {@code --serve} mode, runs until the process is stopped.
+     * <p>
+     * Options: {@code --host} (default 127.0.0.1), {@code --port} (default 8080), {@code --algorithm} (default
+     * dlx), {@code --threads} (default: number of processors), {@code --handlers} (request threads without
+     * virtual threads, default 64), {@code --batch-size} (default 256), {@code --batch-delay-us} (default 200),
+     * {@code --cache} (number of solutions kept in a {@link SolutionCache}, disabled by default) and
+     * {@code --timeout-ms} (default 10000).
+     */
+    public static void runFromCommandLine(CommandLineOptions options) throws IOException {
+        String host = options.get("host", "127.0.0.1");
+        int port = options.getInt("port", 8080);
+        String algorithmName = options.get("algorithm", "dlx");
+        int threads = options.getInt("threads", Runtime.getRuntime().availableProcessors());
+        int handlerThreads = options.getInt("handlers", 64);
+        int batchSize = options.getInt("batch-size", 256);
+        long delayMicros = options.getLong("batch-delay-us", 200);
+        if (delayMicros < 0) {
+            throw new IllegalArgumentException("Option --batch-delay-us can't be negative");
+        }
+        int cacheCapacity = options.getInt("cache", 0);
+        SolutionCache cache = cacheCapacity > 0 ? new SolutionCache(cacheCapacity) : null;
+        long timeoutMillis = options.getLong("timeout-ms", 10_000);
+
+        SolveServer server = new SolveServer(new InetSocketAddress(host, port), algorithmName, threads,
+                handlerThreads, batchSize, TimeUnit.MICROSECONDS.toNanos(delayMicros), cache,
+                TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.err.printf("Listening on http://%s:%d (%s, %d threads)%n", host, server.getPort(), algorithmName,
+                threads);
+    }
+
+    /**
+     * @return The port the server listens on, useful when created with port 0.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.shutdownNow();
+        batcher.close();
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "Use POST to solve puzzles");
+                return;
+            }
+
+            SolveRequest request;
+            try {
+                request = SolveRequest.parse(readBody(exchange.getRequestBody()));
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            } catch (BodyTooLargeException e) {
+                sendError(exchange, 413, "Request body is larger than " + MAX_BODY_BYTES + " bytes");
+                return;
+            }
+
+            List<PuzzleResult> results;
+            CompletableFuture<List<PuzzleResult>> future = batcher.submit(request.getPuzzles());
+            try {
+                results = future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Skip the puzzles not started yet
+                future.cancel(false);
+                sendError(exchange, 504, "Solving took longer than " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos)
+                        + " ms");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                sendError(exchange, 503, "Server is shutting down");
+                return;
+            } catch (ExecutionException e) {
+                sendError(exchange, 500, "Solving failed: " + e.getCause());
+                return;
+            }
+
+            StringBuilder sb = new StringBuilder(128 * results.size() + 16);
+            if (request.isSingle()) {
+                results.get(0).appendJson(sb);
+            } else {
+                sb.append("{\"results\":[");
+                for (int i = 0; i < results.size(); i++) {
+                    if (i > 0) sb.append(',');
+                    results.get(i).appendJson(sb);
+                }
+                sb.append("]}");
+            }
+            send(exchange, 200, "application/json", sb.toString());
+            metrics.recordRequest(System.nanoTime() - start);
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendError(exchange, 405, "Use GET to read metrics");
+                return;
+            }
+            send(exchange, 200, "text/plain; version=0.0.4", metrics.toPrometheus());
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        metrics.recordRejectedRequest();
+        StringBuilder sb = new StringBuilder("{\"error\":");
+        PuzzleResult.appendString(sb, message);
+        send(exchange, status, "application/json", sb.append('}').toString());
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String readBody(InputStream in) throws IOException, BodyTooLargeException {
+        byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+        if (bytes.length > MAX_BODY_BYTES) {
+            throw new BodyTooLargeException();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class BodyTooLargeException extends Exception {
+    }
+
+    /**
+     * Virtual threads are looked up by reflection so the server still builds and runs on Java 17.
+     */
+    private static ExecutorService createHandlerExecutor(int handlerThreads) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(handlerThreads, runnable -> {
+                Thread thread = new Thread(runnable, "solve-handler");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package ca.poum.sudokusolver.ui;
 
+import ca.poum.sudokusolver.io.PuzzleCodec;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.datatransfer.StringSelection;
 import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
-import java.util.Base64;
 
 public class B64Popup {
     static class FocusTextArea extends JTextArea {
@@ -29,14 +30,7 @@ public class B64Popup {
     public B64Popup(Component parent, SudokuPanel panel) {
         final Object[] buttonsText = {"Ok", "Copy"};
 
-        int[][] gridVal = panel.toIntMatrix();
-        StringBuilder sb = new StringBuilder();
-        for (int[] row : gridVal) {
-            for (int i : row) {
-                sb.append(i);
-            }
-        }
-        String b64 = new String(Base64.getEncoder().encode(sb.toString().getBytes()));
+        String b64 = PuzzleCodec.toBase64(panel.toIntMatrix());
 
         int res = JOptionPane.showOptionDialog(parent, this.createPanel(b64), "Export the Sudoku grid",
                 JOptionPane.YES_NO_OPTION, JOptionPane.PLAIN_MESSAGE, null, buttonsText, null);
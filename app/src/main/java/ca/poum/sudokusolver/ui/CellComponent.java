@@ -0,0 +1,104 @@
+package ca.poum.sudokusolver.ui;
+
+import ca.poum.sudokusolver.Candidates;
+import ca.poum.sudokusolver.io.PuzzleCodec;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Custom painted cell of a {@link SudokuPanel}, showing either the value of the cell or its pencil markings on a
+ * boxSize x boxSize grid. The component keeps the state it displays, so {@link #update(int, long)} only repaints
+ * it when the cell actually changed.
+ */
+public class CellComponent extends JComponent {
+    private final int boxSize;
+    private int value;
+    private long candidates;
+
+    // Fonts derived from the height of the cell, recreated when the cell is resized
+    private int fontHeight = -1;
+    private Font valueFont;
+    private Font pencilFont;
+
+    public CellComponent(int boxSize) {
+        this.boxSize = boxSize;
+        setOpaque(true);
+        setBackground(Color.WHITE);
+    }
+
+    /**
+     * @param value      The value of the cell, 0 if empty.
+     * @param candidates The candidate mask of the cell, see {@link Candidates}.
+     * @return True if the state changed and the cell will be repainted.
+     */
+    public boolean update(int value, long candidates) {
+        if (value == this.value && candidates == this.candidates) {
+            return false;
+        }
+        this.value = value;
+        this.candidates = candidates;
+        repaint();
+        return true;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        Graphics2D g = (Graphics2D) graphics.create();
+        try {
+            Insets insets = getInsets();
+            int x = insets.left;
+            int y = insets.top;
+            int width = getWidth() - insets.left - insets.right;
+            int height = getHeight() - insets.top - insets.bottom;
+
+            g.setColor(getBackground());
+            g.fillRect(x, y, width, height);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            updateFonts(height);
+
+            if (value != 0) {
+                // Cell has value assigned, display big digit
+                g.setColor(Color.BLACK);
+                g.setFont(valueFont);
+                drawCentered(g, PuzzleCodec.symbolOf(value), x, y, width, height);
+                return;
+            }
+
+            // No value assigned, use small digits for pencil markings
+            g.setColor(Color.GRAY);
+            g.setFont(pencilFont);
+            int size = boxSize * boxSize;
+            for (int digit = 1; digit <= size; digit++) {
+                if (!Candidates.contains(candidates, digit)) continue;
+                int column = (digit - 1) % boxSize;
+                int row = (digit - 1) / boxSize;
+                int left = x + column * width / boxSize;
+                int top = y + row * height / boxSize;
+                drawCentered(g, PuzzleCodec.symbolOf(digit), left, top,
+                        x + (column + 1) * width / boxSize - left, y + (row + 1) * height / boxSize - top);
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private void updateFonts(int height) {
+        if (height == fontHeight) return;
+        fontHeight = height;
+        valueFont = new Font("Arial", Font.BOLD, Math.max(6, height * 2 / 3));
+        pencilFont = new Font("Arial", Font.PLAIN, Math.max(4, height / (boxSize + 1)));
+    }
+
+    private static void drawCentered(Graphics2D g, char symbol, int x, int y, int width, int height) {
+        FontMetrics metrics = g.getFontMetrics();
+        String text = String.valueOf(symbol);
+        int textX = x + (width - metrics.stringWidth(text)) / 2;
+        int textY = y + (height - metrics.getHeight()) / 2 + metrics.getAscent();
+        g.drawString(text, textX, textY);
+    }
+}
@@ -0,0 +1,140 @@
+package ca.poum.sudokusolver.ui;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.BoardSnapshot;
+import ca.poum.sudokusolver.algorithms.Algorithm;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Solves a board on a background thread so the event dispatch thread never blocks. The worker solves a private
+ * copy of the board, snapshots of the copy are published and copied back into the displayed board on the event
+ * dispatch thread, so the UI never reads a board being modified.
+ * <p>
+ * With a step delay, the board is solved one cell at a time ({@link Algorithm#solveCell(Board)}) and every step
+ * is shown. Without one, it is solved as fast as possible ({@link Algorithm#solveIteration(Board)}) and the
+ * display is refreshed at most every {@value #PUBLISH_INTERVAL_MILLIS} ms.
+ */
+public class SolveWorker extends SwingWorker<SolveWorker.Outcome, SolveWorker.Progress> {
+    public enum Outcome {
+        SOLVED,
+        /**
+         * The algorithm couldn't change anything and the board isn't solved.
+         */
+        STUCK,
+        /**
+         * The maximum number of steps was reached.
+         */
+        STOPPED,
+        CANCELLED
+    }
+
+    /**
+     * Receives the progress of a worker, always on the event dispatch thread.
+     */
+    public interface Listener {
+        /**
+         * Called once the displayed board has been updated.
+         *
+         * @param steps Number of steps done so far.
+         */
+        void progressed(int steps);
+
+        /**
+         * Called once the worker is done. The displayed board holds the last state of the solve, the last
+         * published one if the worker was cancelled.
+         */
+        void finished(Outcome outcome);
+    }
+
+    static final class Progress {
+        private final BoardSnapshot snapshot;
+        private final int steps;
+
+        private Progress(BoardSnapshot snapshot, int steps) {
+            this.snapshot = snapshot;
+            this.steps = steps;
+        }
+    }
+
+    private static final long PUBLISH_INTERVAL_MILLIS = 50;
+
+    private final Board board;
+    private final Board working;
+    private final Algorithm algorithm;
+    private final int maxSteps;
+    private final long stepDelayMillis;
+    private final Listener listener;
+
+    /**
+     * Must be created on the event dispatch thread, the board is copied by the constructor.
+     *
+     * @param board           The displayed board, only modified on the event dispatch thread.
+     * @param maxSteps        Maximum number of steps, 1 to solve a single cell.
+     * @param stepDelayMillis Pause after each step, 0 to solve as fast as possible.
+     */
+    public SolveWorker(Board board, Algorithm algorithm, int maxSteps, long stepDelayMillis, Listener listener) {
+        if (maxSteps < 1 || stepDelayMillis < 0) {
+            throw new IllegalArgumentException("Steps must be at least 1 and the delay can't be negative");
+        }
+        this.board = board;
+        this.working = new Board(board.getSize());
+        this.working.copyFrom(board);
+        this.algorithm = algorithm;
+        this.maxSteps = maxSteps;
+        this.stepDelayMillis = stepDelayMillis;
+        this.listener = listener;
+    }
+
+    @Override
+    protected Outcome doInBackground() throws InterruptedException {
+        boolean singleCells = maxSteps == 1 || stepDelayMillis > 0;
+        long lastPublish = System.nanoTime();
+        for (int steps = 1; steps <= maxSteps && !isCancelled(); steps++) {
+            boolean changed = singleCells ? algorithm.solveCell(working) : algorithm.solveIteration(working);
+            if (!changed) {
+                return working.isSolved() ? Outcome.SOLVED : Outcome.STUCK;
+            }
+
+            long now = System.nanoTime();
+            if (stepDelayMillis > 0 || now - lastPublish >= PUBLISH_INTERVAL_MILLIS * 1_000_000) {
+                publish(new Progress(working.snapshot(), steps));
+                lastPublish = now;
+            }
+            if (stepDelayMillis > 0) {
+                Thread.sleep(stepDelayMillis);
+            }
+        }
+        if (isCancelled()) return Outcome.CANCELLED;
+        return working.isSolved() ? Outcome.SOLVED : Outcome.STOPPED;
+    }
+
+    @Override
+    protected void process(List<Progress> chunks) {
+        if (isCancelled()) return;
+        // Only the latest state is worth showing
+        Progress latest = chunks.get(chunks.size() - 1);
+        board.restore(latest.snapshot);
+        listener.progressed(latest.steps);
+    }
+
+    @Override
+    protected void done() {
+        if (isCancelled()) {
+            listener.finished(Outcome.CANCELLED);
+            return;
+        }
+        try {
+            Outcome outcome = get();
+            board.copyFrom(working);
+            listener.finished(outcome);
+        } catch (InterruptedException | CancellationException e) {
+            listener.finished(Outcome.CANCELLED);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Solving the board failed", e.getCause());
+        }
+    }
+}
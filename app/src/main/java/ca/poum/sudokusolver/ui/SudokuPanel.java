@@ -2,41 +2,61 @@ package ca.poum.sudokusolver.ui;
 
 import ca.poum.sudokusolver.Board;
 import ca.poum.sudokusolver.Cell;
+import ca.poum.sudokusolver.io.PuzzleCodec;
 
 import javax.swing.*;
 import javax.swing.border.Border;
 import javax.swing.border.MatteBorder;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 
 public class SudokuPanel extends SquareJPanel {
     private final Board board;
-    private final JButton[][] gridButtons = new JButton[9][9];
+    private final int size;
+    // Persistent cell components, only repainted when their cell changes
+    private final CellComponent[][] gridCells;
     private boolean inSetupMode = true;
     private Integer activeX, activeY;
 
     public SudokuPanel(Board board) {
-        setLayout(new GridLayout(9, 9));
         this.board = board;
+        this.size = board.getSize();
+        this.gridCells = new CellComponent[size][size];
+        setLayout(new GridLayout(size, size));
         populatePanelGrid();
+        updateGridValues();
     }
 
     private void populatePanelGrid() {
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
                 int finalRow = row;
                 int finalCol = col;
-                JButton button = board.getCell(col, row).toJButton(e -> setActiveCell(finalCol, finalRow));
-                button.setBorder(createSudokuCellBorder(col, row, Color.BLACK));
-                gridButtons[row][col] = button;
-                this.add(button);
+                CellComponent cell = new CellComponent(board.getBoxSize());
+                cell.addMouseListener(new MouseAdapter() {
+                    @Override
+                    public void mousePressed(MouseEvent e) {
+                        setActiveCell(finalCol, finalRow);
+                    }
+                });
+                cell.setBorder(createSudokuCellBorder(col, row, Color.BLACK));
+                gridCells[row][col] = cell;
+                this.add(cell);
             }
         }
     }
 
+    /**
+     * Shows the current state of the board, only the cells whose value or markings changed are repainted.
+     */
     public void updateGridValues() {
-        this.removeAll();  // Remove existing grid components
-        populatePanelGrid();  // Re-add grid components using new values
-        this.validate();  // Refresh panel
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                Cell cell = board.getCell(col, row);
+                gridCells[row][col].update(cell.getValue(), cell.getCandidates());
+            }
+        }
     }
 
     public void exitSetupMode() {
@@ -45,8 +65,8 @@ public class SudokuPanel extends SquareJPanel {
         // De-select currently active button
         if (activeX != null && activeY != null) {
             Border border = createSudokuCellBorder(activeX, activeY, Color.BLACK);
-            gridButtons[activeY][activeX].setBorder(border);
-            gridButtons[activeY][activeX].setBackground(Color.white);
+            gridCells[activeY][activeX].setBorder(border);
+            gridCells[activeY][activeX].setBackground(Color.white);
         }
     }
 
@@ -55,13 +75,13 @@ public class SudokuPanel extends SquareJPanel {
 
         if (activeX != null && activeY != null) {
             Border border = createSudokuCellBorder(activeX, activeY, Color.BLACK);
-            gridButtons[activeY][activeX].setBorder(border);
-            gridButtons[activeY][activeX].setBackground(Color.WHITE);
+            gridCells[activeY][activeX].setBorder(border);
+            gridCells[activeY][activeX].setBackground(Color.WHITE);
         }
 
         Border border = createSudokuCellBorder(x, y, Color.BLUE);
-        gridButtons[y][x].setBorder(border);
-        gridButtons[y][x].setBackground(Color.LIGHT_GRAY);
+        gridCells[y][x].setBorder(border);
+        gridCells[y][x].setBackground(Color.LIGHT_GRAY);
         activeX = x;
         activeY = y;
     }
@@ -81,7 +101,7 @@ public class SudokuPanel extends SquareJPanel {
             }
             case "DOWN" -> {
                 // Only move if not already at bottom
-                if (activeY < 8) {
+                if (activeY < size - 1) {
                     setActiveCell(activeX, activeY + 1);
                 }
             }
@@ -93,7 +113,7 @@ public class SudokuPanel extends SquareJPanel {
             }
             case "RIGHT" -> {
                 // Only move if not already at rightmost pos
-                if (activeX < 8) {
+                if (activeX < size - 1) {
                     setActiveCell(activeX + 1, activeY);
                 }
             }
@@ -103,53 +123,45 @@ public class SudokuPanel extends SquareJPanel {
     public void writeToActiveCell(String s) {
         if (activeX == null || activeY == null) return;  // Can't write if no active cell
 
-        // Clear cell and generate pencil markings
+        // Clear cell, setCell recalculates the pencil markings of the cell and its peers
         Cell c = this.board.getCell(activeX, activeY);
         int previousVal = c.getValue();
         board.setCell(activeX, activeY, 0);
-        board.calculateCellPencilMarkings(activeX, activeY);
-        c = this.board.getCell(activeX, activeY);
 
         if (s.equals("-1")) {
             // Clear cell
+            this.updateGridValues();
             return;
         }
 
         // Writing new value, check if actually valid
-        int newValue = Integer.parseInt(s);
+        int newValue = PuzzleCodec.valueOf(s.charAt(0));
 
-        if (c.getPencilMarkings().contains(newValue)) {
+        if (newValue <= size && c.getPencilMarkings().contains(newValue)) {
             board.setCell(activeX, activeY, newValue);
         } else {
             // Invalid value entered, change color to red & reset cell value to value before change
             board.setCell(activeX, activeY, previousVal);
             Border border = createSudokuCellBorder(activeX, activeY, Color.RED);
-            gridButtons[activeY][activeX].setBorder(border);
+            gridCells[activeY][activeX].setBorder(border);
             return;
         }
 
-
-        this.board.calculatePencilMarkings();
         this.updateGridValues();
 
-        // updateGridValues clears active cell border, reset it as active
+        // Replace a red border left by a previous invalid value
         this.setActiveCell(activeX, activeY);
     }
 
+    /**
+     * @return The values of the board, indexed as [row][column], 0 for empty cells.
+     */
     public int[][] toIntMatrix() {
-        int[][] val = new int[9][9];
-
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
-                Component component = gridButtons[row][col].getComponent(0);
-                if (gridButtons[row][col].getComponents().length == 1) {
-                    // 1 component means big number, value defined
-                    JLabel label = (JLabel) component;
-                    val[row][col] = Integer.parseInt(label.getText());
-                } else {
-                    // More than 1 component, no value defined
-                    val[row][col] = 0;
-                }
+        int[][] val = new int[size][size];
+
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                val[row][col] = board.getCell(col, row).getValue();
             }
         }
         return val;
@@ -164,10 +176,11 @@ public class SudokuPanel extends SquareJPanel {
      * @return Returns a border with some sides thicker than the others to represent edge or box delimitation.
      */
     private Border createSudokuCellBorder(int x, int y, Color color) {
-        int top = (y == 0 || y == 3 || y == 6) ? 2 : 1;
-        int left = (x == 0 || x == 3 || x == 6) ? 2 : 1;
-        int bottom = (y == 2 || y == 5 || y == 8) ? 2 : 1;
-        int right = (x == 2 || x == 5 || x == 8) ? 2 : 1;
+        int boxSize = board.getBoxSize();
+        int top = (y % boxSize == 0) ? 2 : 1;
+        int left = (x % boxSize == 0) ? 2 : 1;
+        int bottom = (y % boxSize == boxSize - 1) ? 2 : 1;
+        int right = (x % boxSize == boxSize - 1) ? 2 : 1;
         return new MatteBorder(top, left, bottom, right, color);
     }
 }
@@ -0,0 +1,142 @@
+package ca.poum.sudokusolver.cli;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRaterTest {
+    private static final String[] PUZZLES = {
+            "......5.......2.....7.9..6....5.......6....79.8.1.........7.....4....1...5....8.2",
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......",
+            "...5.....8.5.2.9..97.....1......32...14.6..7..9.....8..6..........354...34...1...",
+            "11..............................................................................."
+    };
+    // More than 3 chunks of puzzles
+    private static final int LINE_COUNT = 900;
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Stops the job with an exception after the given number of chunks, like a job killed right after saving a
+     * checkpoint.
+     */
+    private static final class KilledRater extends BatchRater {
+        private final int chunksBeforeKill;
+        private int chunks;
+
+        private KilledRater(int chunksBeforeKill) {
+            super("bitboard", 2, 1, 0);
+            this.chunksBeforeKill = chunksBeforeKill;
+        }
+
+        @Override
+        public void run(BufferedReader in, Writer out, ChunkListener afterChunk) throws IOException {
+            super.run(in, out, () -> {
+                afterChunk.chunkWritten();
+                if (++chunks == chunksBeforeKill) {
+                    throw new IOException("Killed");
+                }
+            });
+        }
+    }
+
+    @Test
+    void resumesFromCheckpoint() throws IOException {
+        Path input = writeInput();
+        Path expected = directory.resolve("expected.tsv");
+        Path expectedCheckpoint = directory.resolve("expected.tsv.checkpoint");
+        new BatchRater("bitboard", 2, 1, 0).runWithCheckpoints(input, expected, expectedCheckpoint, 0);
+        assertFalse(Files.exists(expectedCheckpoint));
+        assertEquals(LINE_COUNT - LINE_COUNT / 10, Files.readAllLines(expected).size());
+
+        Path output = directory.resolve("output.tsv");
+        Path checkpoint = directory.resolve("output.tsv.checkpoint");
+        IOException killed = assertThrows(IOException.class,
+                () -> new KilledRater(2).runWithCheckpoints(input, output, checkpoint, 0));
+        assertEquals("Killed", killed.getMessage());
+
+        // The checkpoint covers the first two chunks
+        Properties properties = new Properties();
+        try (BufferedReader reader = Files.newBufferedReader(checkpoint, StandardCharsets.ISO_8859_1)) {
+            properties.load(reader);
+        }
+        long outputBytes = Long.parseLong(properties.getProperty("output.bytes"));
+        assertEquals(outputBytes, Files.size(output));
+        assertEquals(512, Files.readAllLines(output).size());
+        assertTrue(Long.parseLong(properties.getProperty("input.lines")) < LINE_COUNT);
+
+        // Ratings written after the checkpoint, including a partial line, are dropped when resuming
+        Files.writeString(output, PUZZLES[0] + "\teasy\t0\n" + PUZZLES[1], StandardOpenOption.APPEND);
+
+        BatchRater resumed = new BatchRater("bitboard", 2, 1, 0);
+        resumed.runWithCheckpoints(input, output, checkpoint, 0);
+        assertFalse(Files.exists(checkpoint));
+        assertArrayEquals(Files.readAllBytes(expected), Files.readAllBytes(output));
+        assertTrue(resumed.getSummary().contains((LINE_COUNT - LINE_COUNT / 10) + " rated in total"),
+                resumed.getSummary());
+    }
+
+    @Test
+    void rejectsCheckpointOfAnotherInput() throws IOException {
+        Path input = writeInput();
+        Path output = directory.resolve("output.tsv");
+        Path checkpoint = directory.resolve("output.tsv.checkpoint");
+        assertThrows(IOException.class, () -> new KilledRater(1).runWithCheckpoints(input, output, checkpoint, 0));
+        long outputSize = Files.size(output);
+
+        Files.writeString(input, PUZZLES[0] + '\n', StandardOpenOption.APPEND);
+        assertThrows(IllegalStateException.class,
+                () -> new BatchRater("bitboard", 2, 1, 0).runWithCheckpoints(input, output, checkpoint, 0));
+
+        Path other = Files.copy(input, directory.resolve("other.txt"));
+        assertThrows(IllegalStateException.class,
+                () -> new BatchRater("bitboard", 2, 1, 0).runWithCheckpoints(other, output, checkpoint, 0));
+
+        // Nothing was touched
+        assertTrue(Files.exists(checkpoint));
+        assertEquals(outputSize, Files.size(output));
+    }
+
+    @Test
+    void rejectsOutputShorterThanCheckpoint() throws IOException {
+        Path input = writeInput();
+        Path output = directory.resolve("output.tsv");
+        Path checkpoint = directory.resolve("output.tsv.checkpoint");
+        assertThrows(IOException.class, () -> new KilledRater(1).runWithCheckpoints(input, output, checkpoint, 0));
+
+        byte[] bytes = Files.readAllBytes(output);
+        Files.write(output, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IllegalStateException.class,
+                () -> new BatchRater("bitboard", 2, 1, 0).runWithCheckpoints(input, output, checkpoint, 0));
+
+        Files.delete(output);
+        assertThrows(IllegalStateException.class,
+                () -> new BatchRater("bitboard", 2, 1, 0).runWithCheckpoints(input, output, checkpoint, 0));
+        assertTrue(Files.exists(checkpoint));
+    }
+
+    /**
+     * Writes the puzzles in turn, with a comment every 10 lines.
+     */
+    private Path writeInput() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < LINE_COUNT; i++) {
+            lines.add(i % 10 == 0 ? "# Line " + i : PUZZLES[i % PUZZLES.length]);
+        }
+        return Files.write(directory.resolve("input.txt"), lines, StandardCharsets.US_ASCII);
+    }
+}
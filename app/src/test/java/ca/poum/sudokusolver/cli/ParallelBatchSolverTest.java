@@ -0,0 +1,66 @@
+package ca.poum.sudokusolver.cli;
+
+import ca.poum.sudokusolver.algorithms.Algorithms;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelBatchSolverTest {
+    private static final String[] HARD = {
+            "1....7.9..3..2...8..96..5....53..9...1..8...26....4...3......1..4......7..7...3..",
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......",
+            "6......97.2.5.............6..4...85.......2......37...3...6.......8..4..9........"
+    };
+    private static final String[] EASY = {
+            "..2......2.1.4..",
+            "......5.......2.....7.9..6....5.......6....79.8.1.........7.....4....1...5....8.2",
+            "11...............................................................................",
+            "not a puzzle"
+    };
+    // More than 4 chunks, the first one slower than the others so later chunks finish first
+    private static final int LINE_COUNT = 1200;
+
+    @Test
+    void writesInInputOrder() throws IOException {
+        String input = input();
+        String expected = solve(new BatchSolver(Algorithms.create("bitboard")), input);
+
+        for (int pending : new int[]{1, 3, 16}) {
+            ParallelBatchSolver solver = new ParallelBatchSolver("bitboard", 4, pending, false, null);
+            StringWriter out = new StringWriter();
+            solver.run(new BufferedReader(new StringReader(input)), out);
+            assertEquals(expected, out.toString(), "pending " + pending);
+        }
+    }
+
+    @Test
+    void emptyInput() throws IOException {
+        ParallelBatchSolver solver = new ParallelBatchSolver("bitboard", 2, 2, false, null);
+        StringWriter out = new StringWriter();
+        solver.run(new BufferedReader(new StringReader("# comment\n\n")), out);
+        assertEquals("", out.toString());
+    }
+
+    private static String input() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < LINE_COUNT; i++) {
+            if (i % 100 == 0) {
+                sb.append("# skipped\n\n");
+            }
+            String[] puzzles = i < 256 ? HARD : EASY;
+            sb.append(puzzles[i % puzzles.length]).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String solve(BatchSolver solver, String input) throws IOException {
+        StringWriter out = new StringWriter();
+        solver.run(new BufferedReader(new StringReader(input)), out);
+        return out.toString();
+    }
+}
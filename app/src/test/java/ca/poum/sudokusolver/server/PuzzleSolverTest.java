@@ -0,0 +1,67 @@
+package ca.poum.sudokusolver.server;
+
+import ca.poum.sudokusolver.algorithms.BitboardAlgorithm;
+import ca.poum.sudokusolver.algorithms.DancingLinksAlgorithm;
+import ca.poum.sudokusolver.algorithms.TechniqueAlgorithm;
+import ca.poum.sudokusolver.cache.SolutionCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuzzleSolverTest {
+    private static final String UNIQUE =
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......";
+    private static final String SOLUTION =
+            "743629185268451973951387642185763429394512768672948351819276534536894217427135896";
+    // The puzzle above without its last clue
+    private static final String NOT_UNIQUE =
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4........";
+    private static final String CONTRADICTORY =
+            "4.5.6....9.....7........8.1...7..1.2.......5.6.........2.1.........4..95.8.......";
+    // 25x25 puzzle the dancing links search can't solve within the node limit
+    private static final String LARGE =
+            ".L.9KG....EH.B2O7...54...13.68.C7..D.NOL.PHM..E.AJ....E..FDL...1G8.J..P.2....PB...8...5.JC...D6K9.."
+                    + "I2...FP.E4J76.9MK.5.........2.ML....F.C.1.5..OA7.KE..E..HK.NC92.3.I4..M..8...K7....GA.8L5DH9.EP"
+                    + "...3.6F.91.O..6.........K...J..H..LO..4.3MB.....D.FI........D.5J..KO..4.F...1.6.M....2.B........"
+                    + "6.L.89J..F.E...C9.G.......I.J5.KLPBO.....N...5...8..C..........J.D...HL.9...1...3.C..3...JI.A..."
+                    + "..M....EBH..........M.F.B..5..D..16.....N..L..C1.48.K..9IF...DBO...2.5G.9.6CFAPMJO.4............"
+                    + ".B8...ID7N..C.FE4....O..D.....EH3..7...G..2C.......2GJP.7F1.4.D.........P8.HCK......E9...1.F5G.."
+                    + "FN....O..I...C3.LJ.A.D6...I....BOM.G.FK...C.PL.";
+
+    @Test
+    void dancingLinksAnswersUniqueness() {
+        PuzzleSolver solver = new PuzzleSolver(new DancingLinksAlgorithm(), null);
+        assertEquals("{\"status\":\"solved\",\"solution\":\"" + SOLUTION + "\",\"unique\":true",
+                withoutStats(solver.solve(UNIQUE)));
+        assertTrue(withoutStats(solver.solve(NOT_UNIQUE)).endsWith("\"unique\":false"));
+        assertEquals("{\"status\":\"unsolved\",\"board\":\"" + CONTRADICTORY + "\",\"unique\":false",
+                withoutStats(solver.solve(CONTRADICTORY)));
+        // A full grid isn't searched
+        assertTrue(withoutStats(solver.solve(SOLUTION)).endsWith("\"unique\":true"));
+    }
+
+    @Test
+    void otherAlgorithmsUseTheChecker() {
+        PuzzleSolver solver = new PuzzleSolver(new BitboardAlgorithm(), null);
+        assertTrue(withoutStats(solver.solve(UNIQUE)).endsWith("\"unique\":true"));
+        assertTrue(withoutStats(solver.solve(NOT_UNIQUE)).endsWith("\"unique\":false"));
+
+        // Techniques get stuck on the puzzle, which still is unique
+        solver = new PuzzleSolver(new TechniqueAlgorithm(), new SolutionCache(16));
+        assertTrue(withoutStats(solver.solve(UNIQUE)).endsWith("\"unique\":true"));
+    }
+
+    @Test
+    void searchStopsAtTheNodeLimit() {
+        PuzzleResult result = new PuzzleSolver(new DancingLinksAlgorithm(), null).solve(LARGE);
+        assertEquals(PuzzleResult.Status.UNSOLVED, result.getStatus());
+        assertTrue(withoutStats(result).endsWith("\"unique\":null"));
+        assertEquals(PuzzleSolver.SEARCH_NODE_LIMIT, result.getCounters().getSearchNodes());
+    }
+
+    private static String withoutStats(PuzzleResult result) {
+        StringBuilder sb = new StringBuilder();
+        result.appendJson(sb);
+        return sb.substring(0, sb.indexOf(",\"stats\""));
+    }
+}
@@ -0,0 +1,103 @@
+package ca.poum.sudokusolver.server;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.algorithms.DancingLinksAlgorithm;
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestBatcherTest {
+    private static final String[] PUZZLES = {
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......",
+            "......5.......2.....7.9..6....5.......6....79.8.1.........7.....4....1...5....8.2",
+            "...5.....8.5.2.9..97.....1......32...14.6..7..9.....8..6..........354...34...1...",
+            ".....27.348......2..39185......91......5...4...23..9.5.1.8496......3.8..9........",
+            "..2......2.1.4..",
+            "11..............................................................................."
+    };
+
+    @Test
+    void resultsInRequestOrder() throws Exception {
+        // The 20 puzzles are batched together and split into chunks of 5 over 4 threads
+        ServerMetrics metrics = new ServerMetrics();
+        try (RequestBatcher batcher = new RequestBatcher("dlx", 4, 1000, TimeUnit.MILLISECONDS.toNanos(50),
+                null, metrics)) {
+            List<List<String>> requests = new ArrayList<>();
+            List<CompletableFuture<List<PuzzleResult>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                List<String> request = new ArrayList<>();
+                for (int j = 0; j <= i % 4; j++) {
+                    request.add(PUZZLES[(i + 3 * j) % PUZZLES.length]);
+                }
+                requests.add(request);
+                futures.add(batcher.submit(request));
+            }
+
+            for (int i = 0; i < requests.size(); i++) {
+                List<PuzzleResult> results = futures.get(i).get(10, TimeUnit.SECONDS);
+                assertEquals(requests.get(i).size(), results.size());
+                for (int j = 0; j < results.size(); j++) {
+                    assertEquals(expectedJson(requests.get(i).get(j)), withoutStats(results.get(j)));
+                }
+            }
+            assertTrue(metrics.toPrometheus().contains("sudoku_server_batches_total 1\n"),
+                    metrics.toPrometheus());
+        }
+    }
+
+    @Test
+    void emptyRequest() throws Exception {
+        try (RequestBatcher batcher = new RequestBatcher("dlx", 1, 10, 0, null, new ServerMetrics())) {
+            assertEquals(List.of(), batcher.submit(List.of()).get(1, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void skipsCancelledRequests() throws Exception {
+        ServerMetrics metrics = new ServerMetrics();
+        try (RequestBatcher batcher = new RequestBatcher("dlx", 1, 1000, TimeUnit.MILLISECONDS.toNanos(100),
+                null, metrics)) {
+            // Both requests share a batch, the first one is cancelled while the batch is collected
+            CompletableFuture<List<PuzzleResult>> cancelled = batcher.submit(List.of(PUZZLES[0], PUZZLES[1]));
+            cancelled.cancel(false);
+            List<PuzzleResult> results = batcher.submit(List.of(PUZZLES[2])).get(10, TimeUnit.SECONDS);
+            assertEquals(PuzzleResult.Status.SOLVED, results.get(0).getStatus());
+
+            String prometheus = metrics.toPrometheus();
+            assertTrue(prometheus.contains("sudoku_server_puzzles_total{status=\"unsolved\"} 2\n"), prometheus);
+            assertTrue(prometheus.contains("sudoku_server_puzzles_total{status=\"solved\"} 1\n"), prometheus);
+        }
+    }
+
+    private static String expectedJson(String puzzle) {
+        int[][] grid;
+        try {
+            grid = PuzzleCodec.parse(puzzle);
+        } catch (IllegalArgumentException e) {
+            return "invalid";
+        }
+        Board board;
+        try {
+            board = new Board(grid);
+        } catch (IllegalArgumentException e) {
+            return "invalid";
+        }
+        DancingLinksAlgorithm dlx = new DancingLinksAlgorithm();
+        boolean unique = dlx.countSolutions(board, 2) == 1;
+        dlx.solveIteration(board);
+        return "{\"status\":\"solved\",\"solution\":\"" + PuzzleCodec.toLine(board) + "\",\"unique\":" + unique;
+    }
+
+    private static String withoutStats(PuzzleResult result) {
+        if (result.getStatus() == PuzzleResult.Status.INVALID) return "invalid";
+        StringBuilder sb = new StringBuilder();
+        result.appendJson(sb);
+        return sb.substring(0, sb.indexOf(",\"stats\""));
+    }
+}
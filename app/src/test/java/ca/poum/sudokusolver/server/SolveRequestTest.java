@@ -0,0 +1,60 @@
+package ca.poum.sudokusolver.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolveRequestTest {
+    private static final String PUZZLE =
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......";
+
+    @Test
+    void singlePuzzle() {
+        SolveRequest request = SolveRequest.parse(" {\"puzzle\": \"" + PUZZLE + "\"}\n");
+        assertTrue(request.isSingle());
+        assertEquals(List.of(PUZZLE), request.getPuzzles());
+    }
+
+    @Test
+    void puzzleArray() {
+        SolveRequest request = SolveRequest.parse("{\n  \"puzzles\" : [\"" + PUZZLE + "\", \"1.\\u002e\\/\" ]\n}");
+        assertFalse(request.isSingle());
+        assertEquals(List.of(PUZZLE, "1../"), request.getPuzzles());
+
+        assertEquals(List.of(), SolveRequest.parse("{\"puzzles\": []}").getPuzzles());
+    }
+
+    @Test
+    void plainText() {
+        SolveRequest request = SolveRequest.parse("# Comment\r\n" + PUZZLE + "\r\n\n  " + PUZZLE + "  \n");
+        assertFalse(request.isSingle());
+        assertEquals(List.of(PUZZLE, PUZZLE), request.getPuzzles());
+        assertEquals(List.of(), SolveRequest.parse("").getPuzzles());
+    }
+
+    @Test
+    void rejectsMalformedJson() {
+        String[] bodies = {
+                "{}",
+                "{\"puzzle\": \"1\", \"puzzles\": [\"2\"]}",
+                "{\"board\": \"1\"}",
+                "{\"puzzle\": \"1\"} {",
+                "{\"puzzle\": \"1",
+                "{\"puzzle\": \"\\x\"}",
+                "{\"puzzle\": \"\\u12\"}",
+                "{\"puzzle\": 12}",
+                "{\"puzzles\": [\"1\", 2]}",
+                "{\"puzzles\": [\"1\"}",
+                "{\"puzzle\" \"1\"}"
+        };
+        for (String body : bodies) {
+            assertThrows(IllegalArgumentException.class, () -> SolveRequest.parse(body), body);
+        }
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> SolveRequest.parse("{\"board\": \"1\"}"));
+        assertEquals("Unknown field \"board\" at position 9", e.getMessage());
+    }
+}
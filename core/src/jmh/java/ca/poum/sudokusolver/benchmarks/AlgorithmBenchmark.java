@@ -0,0 +1,58 @@
+package ca.poum.sudokusolver.benchmarks;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.algorithms.Algorithm;
+import ca.poum.sudokusolver.algorithms.Algorithms;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the solve path of every algorithm, without loading the board. The board is loaded once and
+ * every solve is rolled back with the undo log, so {@code gc.alloc.rate.norm} only reports what solving
+ * allocates. That should be nothing, except for {@code sat}, whose solver allocates the clauses it learns on each
+ * board.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AlgorithmBenchmark {
+    @Param({"bruteforce", "dlx", "techniques", "bitboard", "backtracking", "sat"})
+    public String algorithmName;
+
+    @Param({"easy", "medium", "hard"})
+    public String difficulty;
+
+    private Algorithm algorithm;
+    private Board board;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        algorithm = Algorithms.create(algorithmName);
+        board = new Board(BenchmarkPuzzles.get(difficulty));
+    }
+
+    @Benchmark
+    public Board solveToFixpoint() {
+        int mark = board.getUndoMark();
+        while (true) {
+            if (!algorithm.solveIteration(board)) break;
+        }
+        board.undo(mark);
+        return board;
+    }
+}
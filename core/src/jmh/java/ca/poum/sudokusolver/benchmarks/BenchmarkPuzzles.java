@@ -0,0 +1,69 @@
+package ca.poum.sudokusolver.benchmarks;
+
+import ca.poum.sudokusolver.io.PuzzleCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed corpus of puzzles shared by the benchmarks, so results stay comparable between runs.
+ */
+public final class BenchmarkPuzzles {
+    /**
+     * Solved by naked and hidden singles only.
+     */
+    public static final String EASY =
+            "..3.2.6..9..3.5..1..18.64....81.29..7.......8..67.82....26.95..8..2.3..9..5.1.3..";
+    /**
+     * 17 clues puzzle, still solved by singles but with many more steps.
+     */
+    public static final String MEDIUM =
+            "..............3.85..1.2.......5.7.....4...1...9.......5......73..2.1........4...9";
+    /**
+     * Needs guessing, BruteforceAlgorithm gets stuck on it.
+     */
+    public static final String HARD =
+            "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..";
+
+    /**
+     * Puzzles that need guessing, for comparing search heuristics: two well known hard puzzles, {@link #HARD} and
+     * 17 clues puzzles that singles don't solve.
+     */
+    public static final String[] HARD_CORPUS = {
+            "1....7.9..3..2...8..96..5....53..9...1..8...26....4...3......1..4......7..7...3..",  // AI Escargot
+            "1.......2.9.4...5...6...7...5.9.3.......7.......85..4.7.....6...3...9.8...2.....1",  // Easter Monster
+            HARD,
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......",
+            "1.....2.8.6..........3......7.....9.....2.1......5....8..7........9.6.3.5.1......",
+            "82...5.........3.46...........7..9...........5......8..749.........6..2...93.....",
+            "3......91.8.2.............3..6...52.....71.........8.....5..6..7...3....9........",
+            "5.....4.2.1..........8.........4.5...7.....9.....6.......9.1.8.2..7.....6.5......",
+            "89...5.........6.74...........1..3..5......8...........173.........4..9...36.....",
+            "7.....1..3.5.4..........6.2...1..2.8.......5.4.........8.2.........3..7..6.......",
+            "6......97.2.5.............6..4...85.......2......37...3...6.......8..4..9........",
+            "4......85.7.1.............4..3...21.....95.........7..9...4.......2..3..8........"
+    };
+
+    private BenchmarkPuzzles() {
+    }
+
+    /**
+     * @param difficulty One of "easy", "medium" or "hard".
+     */
+    public static int[][] get(String difficulty) {
+        return PuzzleCodec.parseDigits(switch (difficulty) {
+            case "easy" -> EASY;
+            case "medium" -> MEDIUM;
+            case "hard" -> HARD;
+            default -> throw new IllegalArgumentException("Unknown difficulty " + difficulty);
+        });
+    }
+
+    public static List<int[][]> hardCorpus() {
+        List<int[][]> grids = new ArrayList<>(HARD_CORPUS.length);
+        for (String puzzle : HARD_CORPUS) {
+            grids.add(PuzzleCodec.parseDigits(puzzle));
+        }
+        return grids;
+    }
+}
@@ -0,0 +1,110 @@
+package ca.poum.sudokusolver.benchmarks;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.BoardSnapshot;
+import ca.poum.sudokusolver.SnapshotPool;
+import ca.poum.sudokusolver.algorithms.Algorithm;
+import ca.poum.sudokusolver.algorithms.BruteforceAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the board model and of BruteforceAlgorithm. Run with {@code ./gradlew jmh}, the gc profiler
+ * is enabled in the build so every result comes with its allocation rate ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardBenchmark {
+    @Param({"easy", "medium", "hard"})
+    public String difficulty;
+
+    private int[][] grid;
+    private Board board;
+    private Board solvingBoard;
+    private Board copyBoard;
+    private final Algorithm algorithm = new BruteforceAlgorithm();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        grid = BenchmarkPuzzles.get(difficulty);
+        board = new Board(grid);
+        solvingBoard = new Board();
+        copyBoard = new Board();
+    }
+
+    @Benchmark
+    public Board constructBoard() {
+        // Includes the validation of the state and the initial markings
+        return new Board(grid);
+    }
+
+    @Benchmark
+    public Board calculatePencilMarkings() {
+        board.calculatePencilMarkings();
+        return board;
+    }
+
+    @Benchmark
+    public void calculateCellPencilMarkings(Blackhole blackhole) {
+        for (int y = 0; y < 9; y++) {
+            for (int x = 0; x < 9; x++) {
+                board.calculateCellPencilMarkings(x, y);
+            }
+        }
+        blackhole.consume(board);
+    }
+
+    /**
+     * Copy on branch with the cell objects: a new board for each copy, as the search would need without snapshots.
+     */
+    @Benchmark
+    public Board copyToNewBoard() {
+        Board copy = new Board(board.getSize());
+        copy.copyFrom(board);
+        return copy;
+    }
+
+    @Benchmark
+    public Board copyToExistingBoard() {
+        copyBoard.copyFrom(board);
+        return copyBoard;
+    }
+
+    /**
+     * Copy on branch with a pooled flat snapshot: save before the branch, restore after it.
+     */
+    @Benchmark
+    public Board saveAndRestoreSnapshot() {
+        BoardSnapshot snapshot = SnapshotPool.current().get(0, board.getSize());
+        board.saveTo(snapshot);
+        copyBoard.restore(snapshot);
+        return copyBoard;
+    }
+
+    @Benchmark
+    public Board solveIterationToFixpoint() {
+        // The board is reloaded every time, since solving modifies it
+        solvingBoard.load(grid);
+        while (true) {
+            if (!algorithm.solveIteration(solvingBoard)) break;
+        }
+        return solvingBoard;
+    }
+}
@@ -0,0 +1,78 @@
+package ca.poum.sudokusolver.benchmarks;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.algorithms.BacktrackingAlgorithm;
+import ca.poum.sudokusolver.algorithms.search.SearchHeuristics;
+import ca.poum.sudokusolver.metrics.SolveCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the branch selectors and value orders of BacktrackingAlgorithm on {@link BenchmarkPuzzles#HARD_CORPUS}.
+ * One operation solves the whole corpus, and every solve is rolled back with the undo log like in
+ * {@link AlgorithmBenchmark}. The number of search nodes doesn't vary between runs, it is printed once per trial
+ * as "nodes per corpus" in the benchmark output.
+ * <p>
+ * The row-major selector is left out of the default parameters, it is about 40 times slower than the others on
+ * this corpus. Pass {@code -p selector=row-major} to include it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BranchingBenchmark {
+    @Param({"mrv", "mrv-degree", "cell-or-unit"})
+    public String selector;
+
+    @Param({"ascending", "least-constraining"})
+    public String valueOrder;
+
+    private BacktrackingAlgorithm algorithm;
+    private Board[] boards;
+    private final SolveCounters counters = new SolveCounters();
+    private long solves;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        algorithm = new BacktrackingAlgorithm(SearchHeuristics.selector(selector),
+                SearchHeuristics.valueOrder(valueOrder));
+        List<int[][]> grids = BenchmarkPuzzles.hardCorpus();
+        boards = new Board[grids.size()];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = new Board(grids.get(i));
+            boards[i].setCounters(counters);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void printNodes() {
+        System.out.println("nodes per corpus: " + counters.getSearchNodes() / Math.max(1, solves));
+    }
+
+    @Benchmark
+    public Board[] solveCorpus() {
+        for (Board board : boards) {
+            int mark = board.getUndoMark();
+            algorithm.solveIteration(board);
+            board.undo(mark);
+        }
+        solves++;
+        return boards;
+    }
+}
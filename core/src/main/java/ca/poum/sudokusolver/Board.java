@@ -0,0 +1,623 @@
+package ca.poum.sudokusolver;
+
+import ca.poum.sudokusolver.metrics.SolveCounters;
+
+import java.util.Arrays;
+
+public class Board {
+
+    // Number of digits, rows and columns, and width of a square
+    private final int size;
+    private final int boxSize;
+    private final Units units;
+    private final long allCandidates;
+
+    private final Cell[][] gameState;
+    // Cells of each unit, in the order of Units, built once since cells are never replaced
+    private final Cell[][] unitCells;
+    // Masks of the digits already placed in each row, column and square
+    private final long[] rowMasks;
+    private final long[] columnMasks;
+    private final long[] squareMasks;
+
+    // Undo log, 3 longs per entry: index of the changed cell, its previous value and its previous candidates
+    private long[] undoLog;
+    private int undoLogSize = 0;
+    // Cells left with a single candidate during the current propagation, waiting to be placed
+    private final int[] pendingSingles;
+    private int pendingSinglesCount = 0;
+    // Optional instrumentation, null when disabled
+    private SolveCounters counters;
+
+    public Board() {
+        this(9);
+    }
+
+    /**
+     * Creates an empty board.
+     *
+     * @param size Number of digits of the board, the square of the width of its squares (4, 9, 16, 25...
+     *             up to 64).
+     * @throws IllegalArgumentException If the size isn't supported.
+     */
+    public Board(int size) {
+        this.units = Units.forSize(size);
+        this.size = size;
+        this.boxSize = units.getBoxSize();
+        this.allCandidates = Candidates.all(size);
+
+        gameState = new Cell[size][size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                gameState[y][x] = new Cell();
+                gameState[y][x].setCandidates(allCandidates);
+            }
+        }
+        unitCells = new Cell[units.getUnitCount()][];
+        for (int unit = 0; unit < unitCells.length; unit++) {
+            int[] indexes = units.cells(unit);
+            unitCells[unit] = new Cell[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                unitCells[unit][i] = cellAt(indexes[i]);
+            }
+        }
+        rowMasks = new long[size];
+        columnMasks = new long[size];
+        squareMasks = new long[size];
+        undoLog = new long[3 * size * size];
+        pendingSingles = new int[size * size];
+    }
+
+    /**
+     * @param existingState The values of the cells, indexed as [row][column], 0 for empty cells. The size of
+     *                      the board is the number of rows.
+     */
+    public Board(int[][] existingState) {
+        this(existingState.length);
+        load(existingState);
+    }
+
+    /**
+     * @return The number of digits, rows and columns of the board.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return The width and height of the board's squares.
+     */
+    public int getBoxSize() {
+        return boxSize;
+    }
+
+    /**
+     * @return The number of cells of the board.
+     */
+    public int getCellCount() {
+        return size * size;
+    }
+
+    /**
+     * @return The index tables of the board's units.
+     */
+    public Units getUnits() {
+        return units;
+    }
+
+    /**
+     * @return The mask of every digit of the board.
+     */
+    public long getAllCandidates() {
+        return allCandidates;
+    }
+
+    /**
+     * Replaces the whole board with the given state, reusing the existing cells. This lets a thread solve
+     * many puzzles with a single board. Values are checked and the row, column and square masks built in a
+     * single pass, the markings of the empty cells are then derived from the masks.
+     *
+     * @param existingState The values of the cells, indexed as [row][column], 0 for empty cells.
+     * @throws IllegalArgumentException If the state isn't the size of the board.
+     * @throws InvalidBoardException    If a value is out of range or breaks a row, column or square constraint,
+     *                                  the exception lists every conflict. The board must then be loaded again
+     *                                  before being used.
+     */
+    public void load(int[][] existingState) {
+        if (existingState.length != size) {
+            throw new IllegalArgumentException("Expected " + size + " rows, got " + existingState.length);
+        }
+        for (int y = 0; y < size; y++) {
+            if (existingState[y].length != size) {
+                throw new IllegalArgumentException("Expected " + size + " columns in row " + y);
+            }
+        }
+
+        undoLogSize = 0;
+        if (counters != null) {
+            counters.countMarkingRecalculation();
+        }
+        Arrays.fill(rowMasks, 0);
+        Arrays.fill(columnMasks, 0);
+        Arrays.fill(squareMasks, 0);
+
+        for (int y = 0; y < size; y++) {
+            int[] values = existingState[y];
+            long row = 0;
+            for (int x = 0; x < size; x++) {
+                int value = values[x];
+                gameState[y][x].setValue(value);
+                if (value == 0) continue;
+                if (value < 0 || value > size) {
+                    throw new InvalidBoardException(BoardValidator.validate(existingState));
+                }
+
+                long bit = Candidates.of(value);
+                int square = getSquare(x, y);
+                if (((row | columnMasks[x] | squareMasks[square]) & bit) != 0) {
+                    throw new InvalidBoardException(BoardValidator.validate(existingState));
+                }
+                row |= bit;
+                columnMasks[x] |= bit;
+                squareMasks[square] |= bit;
+            }
+            rowMasks[y] = row;
+        }
+
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                calculateCellPencilMarkings(x, y);
+            }
+        }
+    }
+
+    /**
+     * Replaces the values, markings and placed digit masks of this board with those of the other board. Lets
+     * a background thread solve a private copy while the UI keeps its own board. The undo log is discarded and
+     * counters aren't copied.
+     *
+     * @throws IllegalArgumentException If the boards have different sizes.
+     */
+    public void copyFrom(Board other) {
+        if (other.size != size) {
+            throw new IllegalArgumentException("Expected a board of size " + size + ", got " + other.size);
+        }
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                Cell source = other.gameState[y][x];
+                Cell cell = gameState[y][x];
+                cell.setValue(source.getValue());
+                cell.setCandidates(source.getCandidates());
+            }
+        }
+        System.arraycopy(other.rowMasks, 0, rowMasks, 0, size);
+        System.arraycopy(other.columnMasks, 0, columnMasks, 0, size);
+        System.arraycopy(other.squareMasks, 0, squareMasks, 0, size);
+        undoLogSize = 0;
+        pendingSinglesCount = 0;
+    }
+
+    /**
+     * @return A new snapshot of the board, see {@link #saveTo(BoardSnapshot)} to reuse one.
+     */
+    public BoardSnapshot snapshot() {
+        BoardSnapshot snapshot = new BoardSnapshot(size);
+        saveTo(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Copies the values, markings and placed digit masks of the board into the snapshot, without allocating.
+     *
+     * @throws IllegalArgumentException If the snapshot is for another size.
+     */
+    public void saveTo(BoardSnapshot snapshot) {
+        checkSnapshotSize(snapshot);
+        byte[] values = snapshot.values;
+        long[] candidates = snapshot.candidates;
+        int index = 0;
+        for (Cell[] row : gameState) {
+            for (Cell cell : row) {
+                values[index] = (byte) cell.getValue();
+                candidates[index] = cell.getCandidates();
+                index++;
+            }
+        }
+        long[] placed = snapshot.placedMasks;
+        System.arraycopy(rowMasks, 0, placed, 0, size);
+        System.arraycopy(columnMasks, 0, placed, size, size);
+        System.arraycopy(squareMasks, 0, placed, 2 * size, size);
+    }
+
+    /**
+     * Puts back the state saved in the snapshot, without allocating. Like {@link #copyFrom(Board)}, the undo log is
+     * discarded and counters are left unchanged.
+     *
+     * @throws IllegalArgumentException If the snapshot is for another size.
+     */
+    public void restore(BoardSnapshot snapshot) {
+        checkSnapshotSize(snapshot);
+        byte[] values = snapshot.values;
+        long[] candidates = snapshot.candidates;
+        int index = 0;
+        for (Cell[] row : gameState) {
+            for (Cell cell : row) {
+                cell.setValue(values[index]);
+                cell.setCandidates(candidates[index]);
+                index++;
+            }
+        }
+        long[] placed = snapshot.placedMasks;
+        System.arraycopy(placed, 0, rowMasks, 0, size);
+        System.arraycopy(placed, size, columnMasks, 0, size);
+        System.arraycopy(placed, 2 * size, squareMasks, 0, size);
+        undoLogSize = 0;
+        pendingSinglesCount = 0;
+    }
+
+    private void checkSnapshotSize(BoardSnapshot snapshot) {
+        if (snapshot.getSize() != size) {
+            throw new IllegalArgumentException("Expected a snapshot of size " + size + ", got " + snapshot.getSize());
+        }
+    }
+
+    public Cell getCell(int x, int y) {
+        return gameState[y][x];
+    }
+
+    /**
+     * @param index Index of the cell, y * size + x.
+     */
+    public Cell getCell(int index) {
+        return gameState[index / size][index % size];
+    }
+
+    /**
+     * Attaches counters updated on every placement, candidate elimination and marking recalculation.
+     * Algorithms solving the board also report their own work to them.
+     *
+     * @param counters The counters to update, or null to disable instrumentation.
+     */
+    public void setCounters(SolveCounters counters) {
+        this.counters = counters;
+    }
+
+    /**
+     * @return The attached counters, or null if instrumentation is disabled.
+     */
+    public SolveCounters getCounters() {
+        return counters;
+    }
+
+    public int getSquare(int x, int y) {
+        return (y / boxSize) * boxSize + x / boxSize;
+    }
+
+    /**
+     * Sets the value of a cell and updates the markings of its peers. Setting a value removes it from
+     * the markings of the peers (20 on a standard board), clearing or replacing a value recalculates the cell and its peers.
+     * Every change is recorded in the undo log.
+     */
+    public void setCell(int x, int y, int value) {
+        int index = y * size + x;
+        int previous = gameState[y][x].getValue();
+
+        if (previous == 0 && value != 0) {
+            assign(index, value, false);
+            return;
+        }
+
+        // Clearing or replacing a value, peers may get candidates back
+        Cell cell = gameState[y][x];
+        recordUndo(index, cell);
+        unmarkPlaced(index, previous);
+        cell.setValue(value);
+        markPlaced(index, value);
+        recalculate(index);
+        for (int peer : units.peers(index)) {
+            recalculate(peer);
+        }
+    }
+
+    /**
+     * Places a value and propagates it. The value is removed from the markings of every peer, and any
+     * peer left with a single marking is placed in turn (naked singles), until nothing changes.
+     * Every change is recorded in the undo log.
+     *
+     * @return False if the value isn't a marking of the cell or if the propagation left a cell without
+     * markings. The board may then be partially propagated and should be rolled back with {@link #undo(int)}.
+     */
+    public boolean place(int x, int y, int value) {
+        int index = y * size + x;
+        Cell cell = gameState[y][x];
+        if (cell.getValue() != 0 || !Candidates.contains(cell.getCandidates(), value)) {
+            return false;
+        }
+
+        pendingSinglesCount = 0;
+        if (!assign(index, value, true)) {
+            return false;
+        }
+
+        while (pendingSinglesCount > 0) {
+            int single = pendingSingles[--pendingSinglesCount];
+            Cell singleCell = cellAt(single);
+            long candidates = singleCell.getCandidates();
+            if (singleCell.getValue() != 0) continue;
+            if (candidates == 0) {
+                return false;
+            }
+            if (!assign(single, Candidates.lowestDigit(candidates), true)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes candidates from an empty cell, recording the change in the undo log.
+     *
+     * @param index Index of the cell, y * size + x.
+     * @param mask  The candidates to remove.
+     * @return True if at least one candidate was removed.
+     */
+    public boolean removeCandidates(int index, long mask) {
+        Cell cell = cellAt(index);
+        long candidates = cell.getCandidates();
+        if ((candidates & mask) == 0) {
+            return false;
+        }
+        recordUndo(index, cell);
+        cell.setCandidates(candidates & ~mask);
+        if (counters != null) {
+            counters.countEliminations(Candidates.count(candidates & mask));
+        }
+        return true;
+    }
+
+    /**
+     * @return The current position in the undo log, to pass to {@link #undo(int)}.
+     */
+    public int getUndoMark() {
+        return undoLogSize;
+    }
+
+    /**
+     * Rolls back every change recorded since the given mark was taken.
+     *
+     * @param mark A position obtained from {@link #getUndoMark()}.
+     */
+    public void undo(int mark) {
+        while (undoLogSize > mark) {
+            undoLogSize -= 3;
+            int index = (int) undoLog[undoLogSize];
+            int value = (int) undoLog[undoLogSize + 1];
+            Cell cell = cellAt(index);
+
+            int current = cell.getValue();
+            if (current != value) {
+                unmarkPlaced(index, current);
+                markPlaced(index, value);
+            }
+            cell.setValue(value);
+            cell.setCandidates(undoLog[undoLogSize + 2]);
+        }
+    }
+
+    /**
+     * Sets the value of an empty cell and removes it from the markings of its peers.
+     *
+     * @param collectSingles If true, peers left with a single marking are pushed to pendingSingles.
+     * @return False if a peer was left without any marking.
+     */
+    private boolean assign(int index, int value, boolean collectSingles) {
+        Cell cell = cellAt(index);
+        recordUndo(index, cell);
+        cell.setValue(value);
+        markPlaced(index, value);
+
+        long bit = Candidates.of(value);
+        boolean consistent = true;
+        int eliminations = 0;
+        for (int peer : units.peers(index)) {
+            Cell peerCell = cellAt(peer);
+            long candidates = peerCell.getCandidates();
+            if ((candidates & bit) == 0) continue;
+
+            recordUndo(peer, peerCell);
+            candidates &= ~bit;
+            peerCell.setCandidates(candidates);
+            eliminations++;
+            if (candidates == 0) {
+                consistent = false;
+            } else if (collectSingles && (candidates & (candidates - 1)) == 0) {
+                pendingSingles[pendingSinglesCount++] = peer;
+            }
+        }
+
+        if (counters != null) {
+            counters.countPlacement();
+            counters.countEliminations(eliminations);
+        }
+        return consistent;
+    }
+
+    private void recalculate(int index) {
+        Cell cell = cellAt(index);
+        if (cell.getValue() != 0) return;
+        recordUndo(index, cell);
+        calculateCellPencilMarkings(index % size, index / size);
+    }
+
+    private void recordUndo(int index, Cell cell) {
+        if (undoLogSize == undoLog.length) {
+            undoLog = Arrays.copyOf(undoLog, 2 * undoLog.length);
+        }
+        undoLog[undoLogSize++] = index;
+        undoLog[undoLogSize++] = cell.getValue();
+        undoLog[undoLogSize++] = cell.getCandidates();
+    }
+
+    private void markPlaced(int index, int value) {
+        if (value == 0) return;
+        int x = index % size;
+        int y = index / size;
+        long bit = Candidates.of(value);
+        rowMasks[y] |= bit;
+        columnMasks[x] |= bit;
+        squareMasks[getSquare(x, y)] |= bit;
+    }
+
+    private void unmarkPlaced(int index, int value) {
+        if (value == 0) return;
+        int x = index % size;
+        int y = index / size;
+        long cleared = ~Candidates.of(value);
+        rowMasks[y] &= cleared;
+        columnMasks[x] &= cleared;
+        squareMasks[getSquare(x, y)] &= cleared;
+    }
+
+    private Cell cellAt(int index) {
+        return gameState[index / size][index % size];
+    }
+
+    /**
+     * @param unit Index of a row, column or square, see {@link Units}.
+     * @return The cells of the unit, in row-major order. The array is shared and must not be modified.
+     */
+    public Cell[] getUnit(int unit) {
+        return unitCells[unit];
+    }
+
+    /**
+     * @return The cells of the row. The array is shared and must not be modified.
+     */
+    public Cell[] getRow(int row) {
+        return unitCells[units.getFirstRow() + row];
+    }
+
+    /**
+     * Calculates every missing number from a row.
+     *
+     * @param row The index of the row to use.
+     * @return An array of cells constituting every missing number.
+     */
+    public Cell[] getMissingFromRow(int row) {
+        return toCells(allCandidates & ~rowMasks[row]);
+    }
+
+    /**
+     * @param row The index of the row to use.
+     * @return The mask of every digit missing from the row.
+     */
+    public long getMissingMaskFromRow(int row) {
+        return allCandidates & ~rowMasks[row];
+    }
+
+    /**
+     * @return The cells of the column, from top to bottom. The array is shared and must not be modified.
+     */
+    public Cell[] getColumn(int column) {
+        return unitCells[units.getFirstColumn() + column];
+    }
+
+    public Cell[] getMissingFromColumn(int column) {
+        return toCells(allCandidates & ~columnMasks[column]);
+    }
+
+    public long getMissingMaskFromColumn(int column) {
+        return allCandidates & ~columnMasks[column];
+    }
+
+    /**
+     * @return The cells of the square, in row-major order. The array is shared and must not be modified.
+     */
+    public Cell[] getSquare(int square) {
+        return unitCells[units.getFirstSquare() + square];
+    }
+
+    public Cell[] getMissingFromSquare(int square) {
+        return toCells(allCandidates & ~squareMasks[square]);
+    }
+
+    public long getMissingMaskFromSquare(int square) {
+        return allCandidates & ~squareMasks[square];
+    }
+
+    private Cell[] toCells(long mask) {
+        Cell[] cells = new Cell[Candidates.count(mask)];
+        for (int i = 0; mask != 0; i++) {
+            cells[i] = new Cell(Candidates.lowestDigit(mask));
+            mask &= mask - 1;
+        }
+        return cells;
+    }
+
+    public void calculateCellPencilMarkings(int x, int y) {
+        Cell cell = getCell(x, y);
+        if (cell.getValue() != 0) {
+            // No markings for cells with values
+            return;
+        }
+
+        // A digit is a candidate if it is missing from the row, the column and the square
+        long used = rowMasks[y] | columnMasks[x] | squareMasks[getSquare(x, y)];
+        cell.setCandidates(allCandidates & ~used);
+    }
+
+    /**
+     * Rebuilds the row, column and square masks from the cell values, then recalculates the
+     * markings of every empty cell. This can't be rolled back, so the undo log is discarded.
+     */
+    public void calculatePencilMarkings() {
+        undoLogSize = 0;
+        if (counters != null) {
+            counters.countMarkingRecalculation();
+        }
+        Arrays.fill(rowMasks, 0);
+        Arrays.fill(columnMasks, 0);
+        Arrays.fill(squareMasks, 0);
+
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int value = gameState[y][x].getValue();
+                if (value == 0) continue;
+                long placed = Candidates.of(value);
+                rowMasks[y] |= placed;
+                columnMasks[x] |= placed;
+                squareMasks[getSquare(x, y)] |= placed;
+            }
+        }
+
+        // Iterate over every cell
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                calculateCellPencilMarkings(x, y);
+            }
+        }
+    }
+
+    public int solvedCellCount() {
+        int count = 0;
+        for (Cell[] row : gameState) {
+            for (Cell cell : row) {
+                if (cell.getValue() != 0) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    public boolean isSolved() {
+        for (Cell[] row : gameState) {
+            for (Cell cell : row) {
+                if (cell.getValue() == 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
\ No newline at end of file
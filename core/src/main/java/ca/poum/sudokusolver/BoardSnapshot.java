@@ -0,0 +1,49 @@
+package ca.poum.sudokusolver;
+
+/**
+ * Flat copy of the state of a {@link Board}: the value and candidates of every cell and the masks of the digits
+ * placed in each unit, in primitive arrays indexed like {@link Units}. Taken with {@link Board#saveTo(BoardSnapshot)}
+ * and put back with {@link Board#restore(BoardSnapshot)}, neither of which allocates, so a caller can keep states
+ * without a board for each (see {@link SnapshotPool} for when to prefer the undo log or copying boards).
+ * <p>
+ * Candidates are kept as {@code long} masks like in {@link Cell}, boards larger than 16x16 don't fit in a
+ * {@code short}.
+ */
+public final class BoardSnapshot {
+    final int size;
+    // Value of each cell, 0 if empty, at most 64
+    final byte[] values;
+    final long[] candidates;
+    // Placed digits of the rows, then the columns, then the squares
+    final long[] placedMasks;
+
+    /**
+     * Creates an empty snapshot for boards of the given size.
+     */
+    public BoardSnapshot(int size) {
+        this.size = size;
+        this.values = new byte[size * size];
+        this.candidates = new long[size * size];
+        this.placedMasks = new long[3 * size];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @param index Index of the cell, y * size + x.
+     * @return The value of the cell when the snapshot was taken, 0 if empty.
+     */
+    public int getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * @param index Index of the cell, y * size + x.
+     * @return The candidates of the cell when the snapshot was taken, see {@link Candidates}.
+     */
+    public long getCandidates(int index) {
+        return candidates[index];
+    }
+}
@@ -0,0 +1,154 @@
+package ca.poum.sudokusolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Validates raw board states without building {@link Cell} objects. States are given in row-major order,
+ * index y * size + x, with 0 for empty cells.
+ * <p>
+ * {@link #isValid(int[], int)} is a single pass over the cells keeping a digit mask per row, column and square,
+ * it stops at the first problem. {@link #validate(int[], int)} is only needed to report what is wrong.
+ */
+public final class BoardValidator {
+    private BoardValidator() {
+    }
+
+    /**
+     * @param values Values of the cells, size * size of them.
+     * @param size   Number of digits of the board.
+     * @return True if every value is between 0 and size and no digit appears twice in a unit.
+     * @throws IllegalArgumentException If the size isn't supported or doesn't match the number of values.
+     */
+    public static boolean isValid(int[] values, int size) {
+        checkShape(values.length, size);
+        return isValid(i -> values[i], size);
+    }
+
+    /**
+     * Same as {@link #isValid(int[], int)} for values stored as bytes, such as canonical forms or unpacked
+     * binary records.
+     */
+    public static boolean isValid(byte[] values, int size) {
+        checkShape(values.length, size);
+        return isValid(i -> values[i], size);
+    }
+
+    /**
+     * @param values Values of the cells, size * size of them.
+     * @param size   Number of digits of the board.
+     * @return Every conflict of the state, out of range values first, then duplicates by unit and digit.
+     * Empty if the state is valid.
+     * @throws IllegalArgumentException If the size isn't supported or doesn't match the number of values.
+     */
+    public static List<Conflict> validate(int[] values, int size) {
+        checkShape(values.length, size);
+        return collect(i -> values[i], size);
+    }
+
+    /**
+     * Same as {@link #validate(int[], int)} for values stored as bytes.
+     */
+    public static List<Conflict> validate(byte[] values, int size) {
+        checkShape(values.length, size);
+        return collect(i -> values[i], size);
+    }
+
+    /**
+     * @param grid Values of the cells, indexed as [row][column]. The size of the board is the number of rows.
+     * @see #validate(int[], int)
+     */
+    public static List<Conflict> validate(int[][] grid) {
+        int size = grid.length;
+        checkShape(size * size, size);
+        for (int y = 0; y < size; y++) {
+            if (grid[y].length != size) {
+                throw new IllegalArgumentException("Expected " + size + " columns in row " + y);
+            }
+        }
+        return collect(i -> grid[i / size][i % size], size);
+    }
+
+    /**
+     * Single pass over the cells in row-major order, keeping a digit mask per row, column and square.
+     * {@link Board#load(int[][])} inlines the same loop, fused with setting the values, so the per-puzzle load
+     * path doesn't go through a call per cell.
+     *
+     * @param values Value of a cell by index.
+     */
+    private static boolean isValid(IntUnaryOperator values, int size) {
+        int boxSize = Units.forSize(size).getBoxSize();
+        long[] columns = new long[size];
+        long[] squares = new long[size];
+        int index = 0;
+        for (int y = 0; y < size; y++) {
+            long row = 0;
+            int firstSquare = (y / boxSize) * boxSize;
+            for (int x = 0; x < size; x++) {
+                int value = values.applyAsInt(index++);
+                if (value == 0) continue;
+                if (value < 0 || value > size) return false;
+
+                long bit = Candidates.of(value);
+                int square = firstSquare + x / boxSize;
+                if (((row | columns[x] | squares[square]) & bit) != 0) return false;
+                row |= bit;
+                columns[x] |= bit;
+                squares[square] |= bit;
+            }
+        }
+        return true;
+    }
+
+    private static List<Conflict> collect(IntUnaryOperator values, int size) {
+        Units units = Units.forSize(size);
+        List<Conflict> conflicts = new ArrayList<>();
+        for (int index = 0; index < units.getCellCount(); index++) {
+            int value = values.applyAsInt(index);
+            if (value < 0 || value > size) {
+                conflicts.add(new Conflict(Conflict.Type.OUT_OF_RANGE, size, -1, value, new int[]{index}));
+            }
+        }
+
+        for (int unit = 0; unit < units.getUnitCount(); unit++) {
+            int[] cells = units.cells(unit);
+            long seen = 0;
+            long duplicated = 0;
+            for (int index : cells) {
+                int value = values.applyAsInt(index);
+                if (value <= 0 || value > size) continue;
+                long bit = Candidates.of(value);
+                duplicated |= seen & bit;
+                seen |= bit;
+            }
+
+            while (duplicated != 0) {
+                int digit = Candidates.lowestDigit(duplicated);
+                duplicated &= duplicated - 1;
+
+                int[] positions = new int[cells.length];
+                int count = 0;
+                for (int index : cells) {
+                    if (values.applyAsInt(index) == digit) {
+                        positions[count++] = index;
+                    }
+                }
+                conflicts.add(new Conflict(Conflict.Type.DUPLICATE, size, unit, digit,
+                        Arrays.copyOf(positions, count)));
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * @throws IllegalArgumentException If the size isn't supported or doesn't match the number of values.
+     */
+    private static void checkShape(int length, int size) {
+        Units.forSize(size);
+        if (length != size * size) {
+            throw new IllegalArgumentException("Expected " + size * size + " cells, got " + length);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ca.poum.sudokusolver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Static helpers for the candidate masks used by {@link Cell} and {@link Board}.
+ * A mask is a primitive long where bit (d - 1) is set if digit d is a candidate, which supports boards of up
+ * to 64 digits.
+ */
+public final class Candidates {
+    /**
+     * Maximum number of digits a mask can hold.
+     */
+    public static final int MAX_DIGITS = 64;
+
+    /**
+     * Mask with every digit from 1 to 9 set, for standard boards.
+     */
+    public static final long ALL = 0x1FF;
+
+    private Candidates() {
+    }
+
+    /**
+     * @param size Number of digits of the board.
+     * @return Mask with every digit from 1 to size set.
+     */
+    public static long all(int size) {
+        return size == MAX_DIGITS ? -1L : (1L << size) - 1;
+    }
+
+    public static long of(int digit) {
+        return 1L << (digit - 1);
+    }
+
+    public static boolean contains(long mask, int digit) {
+        return (mask & of(digit)) != 0;
+    }
+
+    public static int count(long mask) {
+        return Long.bitCount(mask);
+    }
+
+    /**
+     * @param mask A non-empty candidate mask.
+     * @return The smallest digit contained in the mask.
+     */
+    public static int lowestDigit(long mask) {
+        return Long.numberOfTrailingZeros(mask) + 1;
+    }
+
+    public static long fromList(List<Integer> digits) {
+        long mask = 0;
+        for (int digit : digits) {
+            mask |= of(digit);
+        }
+        return mask;
+    }
+
+    public static List<Integer> toList(long mask) {
+        List<Integer> digits = new ArrayList<>(count(mask));
+        while (mask != 0) {
+            digits.add(lowestDigit(mask));
+            mask &= mask - 1;  // Clear lowest set bit
+        }
+        return digits;
+    }
+}
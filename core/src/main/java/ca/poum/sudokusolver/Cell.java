@@ -0,0 +1,117 @@
+package ca.poum.sudokusolver;
+
+import java.util.AbstractList;
+import java.util.List;
+
+public class Cell {
+    /**
+     * Read-only list view over the candidate mask, so callers of {@link #getPencilMarkings()}
+     * always see the current markings without any copying.
+     */
+    private class PencilMarkingsView extends AbstractList<Integer> {
+        @Override
+        public Integer get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            long mask = candidates;
+            for (int i = 0; i < index; i++) {
+                mask &= mask - 1;  // Drop the lowest digits until reaching index
+            }
+            return Candidates.lowestDigit(mask);
+        }
+
+        @Override
+        public int size() {
+            return Candidates.count(candidates);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer digit && digit >= 1 && digit <= Candidates.MAX_DIGITS
+                    && Candidates.contains(candidates, digit);
+        }
+    }
+
+    private int value;
+    private long candidates;
+    private List<Integer> pencilMarkingsView;
+
+    // Constructors
+    public Cell() {
+        this.value = 0;
+        this.candidates = Candidates.ALL;  // Replaced by the board's markings for non standard sizes
+    }
+
+    public Cell(int value) {
+        this.value = value;
+        this.candidates = 0;
+    }
+
+    // Getters
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * @return The candidate mask of the cell, see {@link Candidates}. Always 0 for cells with a value.
+     */
+    public long getCandidates() {
+        return candidates;
+    }
+
+    public int getCandidateCount() {
+        return Candidates.count(candidates);
+    }
+
+    /**
+     * @return A live, read-only view of the candidate mask. Empty for cells with a value.
+     */
+    public List<Integer> getPencilMarkings() {
+        if (pencilMarkingsView == null) {
+            pencilMarkingsView = new PencilMarkingsView();
+        }
+        return pencilMarkingsView;
+    }
+
+    // Setters
+
+    /**
+     * Sets the value of the cell and clears its markings. This does not update the masks kept by
+     * the {@link Board}, prefer {@link Board#setCell(int, int, int)}.
+     */
+    public void setValue(int value) {
+        this.value = value;
+        this.candidates = 0;  // Clear markings when value set
+    }
+
+    public void setCandidates(long candidates) {
+        this.candidates = candidates;
+    }
+
+    public void setPencilMarkings(List<Integer> pencilMarkings) {
+        this.candidates = Candidates.fromList(pencilMarkings);
+    }
+
+    public String toString() {
+        return String.valueOf(value);
+    }
+
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        Cell other = (Cell) obj;
+        return this.value == other.value && this.candidates == other.candidates;
+    }
+
+    public int hashCode() {
+        return 31 * value + Long.hashCode(candidates);
+    }
+}
@@ -0,0 +1,100 @@
+package ca.poum.sudokusolver;
+
+import java.util.Arrays;
+
+/**
+ * A problem found by {@link BoardValidator}: either a digit appearing more than once in a unit, or a value
+ * that isn't a digit of the board.
+ */
+public final class Conflict {
+    public enum Type {
+        /**
+         * The digit appears in every cell of the conflict, which all belong to the unit.
+         */
+        DUPLICATE,
+        /**
+         * The single cell of the conflict holds a value outside of 0 to size, there is no unit.
+         */
+        OUT_OF_RANGE
+    }
+
+    private final Type type;
+    private final int size;
+    private final int unit;
+    private final int digit;
+    private final int[] cells;
+
+    Conflict(Type type, int size, int unit, int digit, int[] cells) {
+        this.type = type;
+        this.size = size;
+        this.unit = unit;
+        this.digit = digit;
+        this.cells = cells;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return Index of the row, column or square, see {@link Units}, or -1 for an out of range value.
+     */
+    public int getUnit() {
+        return unit;
+    }
+
+    /**
+     * @return The duplicated digit, or the out of range value.
+     */
+    public int getDigit() {
+        return digit;
+    }
+
+    /**
+     * @return Indexes of the cells involved, y * size + x, in increasing order.
+     */
+    public int[] getCells() {
+        return cells.clone();
+    }
+
+    /**
+     * @return A description of the conflict, cells are written as (row, column).
+     */
+    @Override
+    public String toString() {
+        if (type == Type.OUT_OF_RANGE) {
+            return "Value " + digit + " at " + describeCell(cells[0]) + " isn't between 0 and " + size;
+        }
+        StringBuilder builder = new StringBuilder();
+        builder.append("Digit ").append(digit).append(" appears ").append(cells.length).append(" times in ")
+                .append(describeUnit()).append(" at ");
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) builder.append(", ");
+            builder.append(describeCell(cells[i]));
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Conflict other)) return false;
+        return type == other.type && size == other.size && unit == other.unit && digit == other.digit
+                && Arrays.equals(cells, other.cells);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * type.hashCode() + unit) + digit) + Arrays.hashCode(cells);
+    }
+
+    private String describeUnit() {
+        if (unit < size) return "row " + unit;
+        if (unit < 2 * size) return "column " + (unit - size);
+        return "square " + (unit - 2 * size);
+    }
+
+    private String describeCell(int index) {
+        return "(" + index / size + ", " + index % size + ")";
+    }
+}
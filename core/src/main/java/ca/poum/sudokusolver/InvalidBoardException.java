@@ -0,0 +1,34 @@
+package ca.poum.sudokusolver;
+
+import java.util.List;
+
+/**
+ * Thrown when a board is loaded from a state breaking its constraints. It is an
+ * {@link IllegalArgumentException}, so existing handlers of invalid input still catch it.
+ */
+public class InvalidBoardException extends IllegalArgumentException {
+    private final List<Conflict> conflicts;
+
+    /**
+     * @param conflicts Every conflict of the state, at least one.
+     */
+    public InvalidBoardException(List<Conflict> conflicts) {
+        super(describe(conflicts));
+        this.conflicts = List.copyOf(conflicts);
+    }
+
+    /**
+     * @return Every conflict of the state, in the order of {@link BoardValidator#validate(int[], int)}.
+     */
+    public List<Conflict> getConflicts() {
+        return conflicts;
+    }
+
+    private static String describe(List<Conflict> conflicts) {
+        String message = "Invalid board state: " + conflicts.get(0);
+        if (conflicts.size() > 1) {
+            message += " and " + (conflicts.size() - 1) + " more conflicts";
+        }
+        return message;
+    }
+}
@@ -0,0 +1,50 @@
+package ca.poum.sudokusolver;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread {@link BoardSnapshot} buffers indexed by search depth. A search saves the board in the snapshot of
+ * its depth before branching and restores it after each branch, so once the deepest depth has been reached once,
+ * searching doesn't allocate. Snapshots are replaced when a board of another size asks for them.
+ * <p>
+ * A pool must only be used by the thread that got it from {@link #current()}, and a snapshot only until the same
+ * depth is asked for again.
+ * <p>
+ * This is an opt-in API for callers that want to keep states apart from their board, no algorithm of the library
+ * uses it. Searches should roll back with {@link Board#getUndoMark()} and {@link Board#undo(int)}, which only
+ * touch the cells that changed, and copy whole boards with {@link Board#copyFrom(Board)}, which is faster than
+ * {@link Board#saveTo(BoardSnapshot)} followed by {@link Board#restore(BoardSnapshot)} (see
+ * {@code BoardBenchmark}).
+ */
+public final class SnapshotPool {
+    private static final ThreadLocal<SnapshotPool> CURRENT = ThreadLocal.withInitial(SnapshotPool::new);
+
+    private BoardSnapshot[] snapshots = new BoardSnapshot[16];
+
+    private SnapshotPool() {
+    }
+
+    /**
+     * @return The pool of the current thread.
+     */
+    public static SnapshotPool current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @param depth Depth of the search, from 0.
+     * @param size  Size of the board saved in the snapshot.
+     * @return The snapshot of that depth, its content is whatever was last saved in it.
+     */
+    public BoardSnapshot get(int depth, int size) {
+        if (depth >= snapshots.length) {
+            snapshots = Arrays.copyOf(snapshots, Math.max(depth + 1, 2 * snapshots.length));
+        }
+        BoardSnapshot snapshot = snapshots[depth];
+        if (snapshot == null || snapshot.getSize() != size) {
+            snapshot = new BoardSnapshot(size);
+            snapshots[depth] = snapshot;
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,135 @@
+package ca.poum.sudokusolver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed cell index tables for the units of a board of a given size. Cells are indexed as
+ * {@code y * size + x}. Units 0 to size - 1 are the rows, size to 2 * size - 1 the columns and the
+ * next size units the squares.
+ * <p>
+ * Instances are immutable and shared, get them with {@link #forSize(int)} or {@link Board#getUnits()}.
+ * The returned arrays must not be modified.
+ */
+public final class Units {
+    /**
+     * Tables of the standard 9x9 board.
+     */
+    public static final Units STANDARD;
+
+    private static final Map<Integer, Units> CACHE = new ConcurrentHashMap<>();
+
+    static {
+        STANDARD = forSize(9);
+    }
+
+    private final int size;
+    private final int boxSize;
+    private final int[][] cells;
+    private final int[][] peers;
+
+    private Units(int size, int boxSize) {
+        this.size = size;
+        this.boxSize = boxSize;
+
+        cells = new int[3 * size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                cells[getFirstRow() + i][j] = i * size + j;
+                cells[getFirstColumn() + i][j] = j * size + i;
+                int y = boxSize * (i / boxSize) + j / boxSize;
+                int x = boxSize * (i % boxSize) + j % boxSize;
+                cells[getFirstSquare() + i][j] = y * size + x;
+            }
+        }
+
+        int cellCount = size * size;
+        int peerCount = 3 * (size - 1) - 2 * (boxSize - 1);
+        peers = new int[cellCount][peerCount];
+        for (int index = 0; index < cellCount; index++) {
+            int count = 0;
+            for (int other = 0; other < cellCount; other++) {
+                if (arePeers(index, other)) {
+                    peers[index][count++] = other;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param size Number of digits of the board, the square of the width of its squares.
+     * @throws IllegalArgumentException If the size isn't a square between 4 and {@link Candidates#MAX_DIGITS}.
+     */
+    public static Units forSize(int size) {
+        int boxSize = (int) Math.round(Math.sqrt(size));
+        if (size < 4 || size > Candidates.MAX_DIGITS || boxSize * boxSize != size) {
+            throw new IllegalArgumentException("Unsupported board size " + size
+                    + ", expected a square between 4 and " + Candidates.MAX_DIGITS);
+        }
+        return CACHE.computeIfAbsent(size, s -> new Units(s, boxSize));
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getBoxSize() {
+        return boxSize;
+    }
+
+    public int getCellCount() {
+        return size * size;
+    }
+
+    /**
+     * @return The number of units, rows, columns and squares included.
+     */
+    public int getUnitCount() {
+        return 3 * size;
+    }
+
+    public int getFirstRow() {
+        return 0;
+    }
+
+    public int getFirstColumn() {
+        return size;
+    }
+
+    public int getFirstSquare() {
+        return 2 * size;
+    }
+
+    /**
+     * @return The indexes of the cells of the unit, in row-major order.
+     */
+    public int[] cells(int unit) {
+        return cells[unit];
+    }
+
+    /**
+     * @return The indexes of the cells sharing a row, column or square with the cell.
+     */
+    public int[] peers(int index) {
+        return peers[index];
+    }
+
+    /**
+     * @return True if both cells are different and share a row, column or square.
+     */
+    public boolean arePeers(int a, int b) {
+        return a != b && (rowOf(a) == rowOf(b) || columnOf(a) == columnOf(b) || squareOf(a) == squareOf(b));
+    }
+
+    public int rowOf(int index) {
+        return index / size;
+    }
+
+    public int columnOf(int index) {
+        return index % size;
+    }
+
+    public int squareOf(int index) {
+        return (rowOf(index) / boxSize) * boxSize + columnOf(index) / boxSize;
+    }
+}
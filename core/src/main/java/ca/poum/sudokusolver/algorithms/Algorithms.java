@@ -0,0 +1,42 @@
+package ca.poum.sudokusolver.algorithms;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Creates {@link Algorithm} instances from their name, for command line options and configuration.
+ */
+public final class Algorithms {
+    private static final Map<String, Supplier<Algorithm>> FACTORIES = new LinkedHashMap<>();
+
+    static {
+        FACTORIES.put("bruteforce", BruteforceAlgorithm::new);
+        FACTORIES.put("dlx", DancingLinksAlgorithm::new);
+        FACTORIES.put("techniques", TechniqueAlgorithm::new);
+        FACTORIES.put("bitboard", BitboardAlgorithm::new);
+        FACTORIES.put("backtracking", BacktrackingAlgorithm::new);
+        FACTORIES.put("sat", SatAlgorithm::new);
+    }
+
+    private Algorithms() {
+    }
+
+    /**
+     * @param name Name of the algorithm, see {@link #names()}.
+     * @return A new instance of the algorithm.
+     * @throws IllegalArgumentException If no algorithm has that name.
+     */
+    public static Algorithm create(String name) {
+        Supplier<Algorithm> factory = FACTORIES.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown algorithm '" + name + "', expected one of " + names());
+        }
+        return factory.get();
+    }
+
+    public static Set<String> names() {
+        return FACTORIES.keySet();
+    }
+}
@@ -0,0 +1,129 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+import ca.poum.sudokusolver.algorithms.search.Branch;
+import ca.poum.sudokusolver.algorithms.search.BranchSelector;
+import ca.poum.sudokusolver.algorithms.search.CellOrUnitSelector;
+import ca.poum.sudokusolver.algorithms.search.LeastConstrainingValueOrder;
+import ca.poum.sudokusolver.algorithms.search.ValueOrder;
+
+import java.util.Arrays;
+
+/**
+ * Complete solver searching depth-first on the cells of the board, with pluggable heuristics: a
+ * {@link BranchSelector} chooses the cell, or the digit of a unit, to branch on at each node, and a
+ * {@link ValueOrder} the order in which the candidates of a cell are tried. Every guess is propagated with
+ * {@link Board#place(int, int, int)} and rolled back with the undo log.
+ * <p>
+ * The search runs on a private copy of the board, kept for the next boards of the same size. Like
+ * {@link DancingLinksAlgorithm}, {@link #solveIteration(Board)} fills the whole board at once, and the nodes of
+ * the search are reported to the board's counters. Instances are not thread-safe, use one instance per thread.
+ */
+public class BacktrackingAlgorithm extends CompleteAlgorithm {
+    private final BranchSelector selector;
+    private final ValueOrder valueOrder;
+
+    private Board working;
+    // Branch of every depth, allocated when the search first reaches it
+    private Branch[] branches = new Branch[0];
+    private long searchNodes;
+
+    /**
+     * Uses the heuristics with the fewest search nodes and the shortest time on hard puzzles, see
+     * {@code BranchingBenchmark}.
+     */
+    public BacktrackingAlgorithm() {
+        this(new CellOrUnitSelector(), new LeastConstrainingValueOrder());
+    }
+
+    public BacktrackingAlgorithm(BranchSelector selector, ValueOrder valueOrder) {
+        this.selector = selector;
+        this.valueOrder = valueOrder;
+    }
+
+    public BranchSelector getSelector() {
+        return selector;
+    }
+
+    public ValueOrder getValueOrder() {
+        return valueOrder;
+    }
+
+    /**
+     * Searches for a solution of the board, leaving it in the working board.
+     *
+     * @return False if the board has no solution.
+     */
+    @Override
+    boolean findSolution(Board board) {
+        if (working == null || working.getSize() != board.getSize()) {
+            working = new Board(board.getSize());
+        }
+        working.copyFrom(board);
+
+        searchNodes = 0;
+        boolean solved = consistent(working) && search(0);
+        if (board.getCounters() != null) {
+            board.getCounters().countSearchNodes(searchNodes);
+        }
+        return solved;
+    }
+
+    private boolean search(int depth) {
+        searchNodes++;
+        Branch branch = branch(depth);
+        branch.clear();
+        selector.select(working, branch);
+        if (branch.isEmpty()) return true;
+
+        int size = working.getSize();
+        int mark = working.getUndoMark();
+        if (branch.isCell()) {
+            int cell = branch.getCell();
+            long remaining = branch.getCandidates();
+            while (remaining != 0) {
+                int digit = valueOrder.next(working, cell, remaining);
+                remaining &= ~Candidates.of(digit);
+                if (working.place(cell % size, cell / size, digit) && search(depth + 1)) return true;
+                working.undo(mark);
+            }
+        } else {
+            int[] cells = branch.getUnitCells();
+            int digit = branch.getDigit();
+            for (long positions = branch.getPositions(); positions != 0; positions &= positions - 1) {
+                int cell = cells[Long.numberOfTrailingZeros(positions)];
+                if (working.place(cell % size, cell / size, digit) && search(depth + 1)) return true;
+                working.undo(mark);
+            }
+        }
+        return false;
+    }
+
+    private Branch branch(int depth) {
+        if (depth >= branches.length) {
+            branches = Arrays.copyOf(branches, Math.max(depth + 1, 2 * branches.length));
+        }
+        if (branches[depth] == null) {
+            branches[depth] = new Branch();
+        }
+        return branches[depth];
+    }
+
+    @Override
+    int solutionValue(int index) {
+        return working.getCell(index).getValue();
+    }
+
+    /**
+     * @return False if an empty cell has no candidates, the search relies on place() catching the next ones.
+     */
+    private static boolean consistent(Board board) {
+        for (int i = 0; i < board.getCellCount(); i++) {
+            if (board.getCell(i).getValue() == 0 && board.getCell(i).getCandidates() == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
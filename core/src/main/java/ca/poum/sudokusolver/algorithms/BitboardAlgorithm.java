@@ -0,0 +1,362 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Units;
+
+import java.util.Arrays;
+
+/**
+ * Complete solver working on digit planes: one bitboard per digit holding the cells where the digit is still a
+ * candidate, one per digit holding the cells where it is placed, and one holding the empty cells. Bit i of a plane
+ * is cell i, so a standard board fits in 2 longs per plane and larger boards in more words.
+ * <p>
+ * Every deduction is done on whole words instead of cell by cell:
+ * <ul>
+ *     <li>Placing a digit clears the cell from every plane, then clears all its peers from the digit's plane with
+ *     a precomputed peer mask.</li>
+ *     <li>Naked singles are the empty cells set in exactly one plane, found by accumulating the planes into
+ *     "seen once" and "seen twice" masks. Empty cells in no plane are contradictions.</li>
+ *     <li>Hidden singles are the units where a digit's plane, masked by the unit, has a single bit. After the first
+ *     scan, only the units of cells whose candidates changed are scanned again.</li>
+ * </ul>
+ * When singles don't finish the board, the search guesses the candidates of the empty cell with the fewest, on a
+ * copy of the planes. The planes of a depth are allocated the first time the search reaches it and kept for the
+ * next boards of the same size.
+ * <p>
+ * The planes are plain {@code long} arrays rather than {@code jdk.incubator.vector} vectors: the incubator module
+ * needs {@code --add-modules} to compile and run, and a plane of a standard board is only 2 words, less than a
+ * vector lane count. The word loops are short and regular enough to be unrolled by the JIT.
+ * <p>
+ * Like {@link DancingLinksAlgorithm}, {@link #solveIteration(Board)} fills the whole board at once. Instances are
+ * not thread-safe, use one instance per thread.
+ */
+public class BitboardAlgorithm extends CompleteAlgorithm {
+    private int size = -1;
+    private int cellCount;
+    private int words;
+    private int unitCount;
+    private int stateSize;
+    // Offset of the empty cells plane in a state, the placed planes start at size * words
+    private int emptyOffset;
+
+    // Peers of each cell and cells of each unit, words per cell or unit
+    private long[] peerMasks;
+    private long[] unitMasks;
+    // Row, column and square of each cell
+    private int[] cellUnits;
+
+    // Planes of every search depth, allocated when the search first reaches it
+    private long[][] states;
+    // Candidate planes at the last hidden single scan, only the units of cells changed since then are scanned again
+    private long[] scannedPlanes;
+    private long[] unitFlags;
+    private int[] solution;
+    private long searchNodes;
+
+    /**
+     * Precomputes the masks for boards of the given size.
+     */
+    private void build(int size) {
+        Units units = Units.forSize(size);
+        this.size = size;
+        cellCount = size * size;
+        words = (cellCount + 63) >>> 6;
+        unitCount = units.getUnitCount();
+        emptyOffset = 2 * size * words;
+        stateSize = emptyOffset + words;
+
+        peerMasks = new long[cellCount * words];
+        for (int cell = 0; cell < cellCount; cell++) {
+            for (int peer : units.peers(cell)) {
+                peerMasks[cell * words + (peer >>> 6)] |= 1L << peer;
+            }
+        }
+        unitMasks = new long[unitCount * words];
+        for (int unit = 0; unit < unitCount; unit++) {
+            for (int cell : units.cells(unit)) {
+                unitMasks[unit * words + (cell >>> 6)] |= 1L << cell;
+            }
+        }
+
+        cellUnits = new int[3 * cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            cellUnits[3 * cell] = units.getFirstRow() + units.rowOf(cell);
+            cellUnits[3 * cell + 1] = units.getFirstColumn() + units.columnOf(cell);
+            cellUnits[3 * cell + 2] = units.getFirstSquare() + units.squareOf(cell);
+        }
+
+        states = new long[cellCount + 1][];
+        states[0] = new long[stateSize];
+        scannedPlanes = new long[size * words];
+        unitFlags = new long[(unitCount + 63) >>> 6];
+        solution = new int[cellCount];
+    }
+
+    /**
+     * Searches for a solution of the board, the board itself is not modified.
+     *
+     * @return True if a solution was found and stored in {@link #solution}.
+     */
+    @Override
+    boolean findSolution(Board board) {
+        if (board.getSize() != size) {
+            build(board.getSize());
+        }
+        searchNodes = 0;
+        boolean solved = load(board) && search(0);
+
+        if (board.getCounters() != null) {
+            board.getCounters().countSearchNodes(searchNodes);
+        }
+        return solved;
+    }
+
+    @Override
+    int solutionValue(int index) {
+        return solution[index];
+    }
+
+    /**
+     * Fills the planes of depth 0 from the values and candidates of the board.
+     *
+     * @return False if a value of the board contradicts another one.
+     */
+    private boolean load(Board board) {
+        long[] state = states[0];
+        Arrays.fill(state, 0);
+        for (int cell = 0; cell < cellCount; cell++) {
+            int w = cell >>> 6;
+            long bit = 1L << cell;
+            int value = board.getCell(cell).getValue();
+            if (value != 0) {
+                state[(size + value - 1) * words + w] |= bit;
+                continue;
+            }
+            state[emptyOffset + w] |= bit;
+            long candidates = board.getCell(cell).getCandidates();
+            for (int digit = 0; digit < size; digit++) {
+                if ((candidates >>> digit & 1) != 0) {
+                    state[digit * words + w] |= bit;
+                }
+            }
+        }
+
+        // The board keeps its candidates up to date, this only guards against values set without updating them
+        for (int cell = 0; cell < cellCount; cell++) {
+            int value = board.getCell(cell).getValue();
+            if (value == 0) continue;
+            int digit = value - 1;
+            for (int k = 0; k < words; k++) {
+                long peers = peerMasks[cell * words + k];
+                if ((state[(size + digit) * words + k] & peers) != 0) {
+                    return false;
+                }
+                state[digit * words + k] &= ~peers;
+            }
+        }
+        return true;
+    }
+
+    private boolean search(int depth) {
+        searchNodes++;
+        long[] state = states[depth];
+        if (!propagate(state, depth == 0)) {
+            return false;
+        }
+
+        // Branch on the empty cell with the fewest candidates, two can't be beaten
+        int chosen = -1;
+        int chosenCount = Integer.MAX_VALUE;
+        for (int w = 0; w < words && chosenCount > 2; w++) {
+            for (long empty = state[emptyOffset + w]; empty != 0 && chosenCount > 2; empty &= empty - 1) {
+                int bitIndex = Long.numberOfTrailingZeros(empty);
+                int count = 0;
+                for (int digit = 0; digit < size; digit++) {
+                    count += (int) (state[digit * words + w] >>> bitIndex) & 1;
+                }
+                if (count < chosenCount) {
+                    chosen = (w << 6) + bitIndex;
+                    chosenCount = count;
+                }
+            }
+        }
+
+        if (chosen < 0) {
+            // No empty cell left, read the solution from the placed planes
+            for (int digit = 0; digit < size; digit++) {
+                for (int w = 0; w < words; w++) {
+                    for (long placed = state[(size + digit) * words + w]; placed != 0; placed &= placed - 1) {
+                        solution[(w << 6) + Long.numberOfTrailingZeros(placed)] = digit + 1;
+                    }
+                }
+            }
+            return true;
+        }
+
+        if (states[depth + 1] == null) {
+            states[depth + 1] = new long[stateSize];
+        }
+        long[] next = states[depth + 1];
+        int w = chosen >>> 6;
+        long bit = 1L << chosen;
+        for (int digit = 0; digit < size; digit++) {
+            if ((state[digit * words + w] & bit) == 0) continue;
+            System.arraycopy(state, 0, next, 0, stateSize);
+            // The next depth only scans the units changed from here, and those of the cell in case wrong guesses
+            // left hidden singles
+            System.arraycopy(state, 0, scannedPlanes, 0, size * words);
+            for (int other = 0; other < size; other++) {
+                scannedPlanes[other * words + w] |= bit;
+            }
+            place(next, chosen, digit);
+            if (search(depth + 1)) {
+                return true;
+            }
+            // Wrong guess, later guesses don't need to try it again
+            state[digit * words + w] &= ~bit;
+        }
+        return false;
+    }
+
+    /**
+     * Places naked and hidden singles until none are left.
+     *
+     * @param scanAll True to scan every unit for hidden singles, false to only scan the units of the cells whose
+     *                candidates differ from {@link #scannedPlanes}.
+     * @return False on a contradiction: an empty cell without candidates, or a digit with no place in a unit.
+     */
+    private boolean propagate(long[] state, boolean scanAll) {
+        boolean changed;
+        do {
+            changed = false;
+
+            // Naked singles, word by word
+            for (int w = 0; w < words; w++) {
+                long once = 0;
+                long twice = 0;
+                for (int digit = 0; digit < size; digit++) {
+                    long plane = state[digit * words + w];
+                    twice |= once & plane;
+                    once |= plane;
+                }
+                long empty = state[emptyOffset + w];
+                if ((empty & ~once) != 0) {
+                    return false;
+                }
+                for (long singles = once & ~twice & empty; singles != 0; singles &= singles - 1) {
+                    int cell = (w << 6) + Long.numberOfTrailingZeros(singles);
+                    // A single placed earlier in this pass may have removed the last candidate
+                    int digit = singleDigit(state, cell);
+                    if (digit < 0) {
+                        return false;
+                    }
+                    place(state, cell, digit);
+                    changed = true;
+                }
+            }
+            if (changed) continue;
+
+            // Hidden singles, digit by digit, in the units of changed cells
+            for (int digit = 0; digit < size; digit++) {
+                int plane = digit * words;
+                if (!flagUnits(state, plane, scanAll)) continue;
+                System.arraycopy(state, plane, scannedPlanes, plane, words);
+
+                int placed = (size + digit) * words;
+                for (int f = 0; f < unitFlags.length; f++) {
+                    for (long flags = unitFlags[f]; flags != 0; flags &= flags - 1) {
+                        int unitOffset = ((f << 6) + Long.numberOfTrailingZeros(flags)) * words;
+                        int count = 0;
+                        int cell = -1;
+                        for (int w = 0; w < words; w++) {
+                            long cells = state[plane + w] & unitMasks[unitOffset + w];
+                            if (cells != 0) {
+                                count += Long.bitCount(cells);
+                                cell = (w << 6) + Long.numberOfTrailingZeros(cells);
+                            }
+                        }
+                        if (count > 1 || isPlacedInUnit(state, placed, unitOffset)) continue;
+                        if (count == 0) {
+                            return false;
+                        }
+                        place(state, cell, digit);
+                        changed = true;
+                    }
+                }
+            }
+            scanAll = false;
+        } while (changed);
+        return true;
+    }
+
+    /**
+     * Sets {@link #unitFlags} to the units to scan for a digit: every unit, or the units of the cells whose
+     * candidates changed since the digit was last scanned.
+     *
+     * @return False if there is no unit to scan.
+     */
+    private boolean flagUnits(long[] state, int plane, boolean all) {
+        if (all) {
+            Arrays.fill(unitFlags, -1L);
+            if ((unitCount & 63) != 0) {
+                unitFlags[unitFlags.length - 1] = (1L << unitCount) - 1;
+            }
+            return true;
+        }
+
+        Arrays.fill(unitFlags, 0);
+        boolean any = false;
+        for (int w = 0; w < words; w++) {
+            for (long diff = state[plane + w] ^ scannedPlanes[plane + w]; diff != 0; diff &= diff - 1) {
+                int units = 3 * ((w << 6) + Long.numberOfTrailingZeros(diff));
+                for (int i = units; i < units + 3; i++) {
+                    unitFlags[cellUnits[i] >>> 6] |= 1L << cellUnits[i];
+                }
+                any = true;
+            }
+        }
+        return any;
+    }
+
+    private boolean isPlacedInUnit(long[] state, int placed, int unitOffset) {
+        for (int w = 0; w < words; w++) {
+            if ((state[placed + w] & unitMasks[unitOffset + w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The only candidate digit (0 based) of the cell, or -1 if it has none.
+     */
+    private int singleDigit(long[] state, int cell) {
+        int w = cell >>> 6;
+        long bit = 1L << cell;
+        for (int digit = 0; digit < size; digit++) {
+            if ((state[digit * words + w] & bit) != 0) {
+                return digit;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Places a candidate digit (0 based) in an empty cell and removes it from the cell's peers.
+     */
+    private void place(long[] state, int cell, int digit) {
+        int w = cell >>> 6;
+        long bit = 1L << cell;
+        for (int other = 0; other < size; other++) {
+            state[other * words + w] &= ~bit;
+        }
+        state[(size + digit) * words + w] |= bit;
+        state[emptyOffset + w] &= ~bit;
+
+        int plane = digit * words;
+        int peers = cell * words;
+        for (int k = 0; k < words; k++) {
+            state[plane + k] &= ~peerMasks[peers + k];
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+import ca.poum.sudokusolver.Cell;
+
+public class BruteforceAlgorithm implements Algorithm {
+
+    /**
+     * Checks a cell array and returns the smallest marking that appears in a single cell of the array.
+     *
+     * @param array the cell array to check
+     * @return The marking seen once, or 0 if every marking appears at least twice
+     */
+    private int getDigitAppearsOnce(Cell[] array) {
+        // Markings seen at least once, and at least twice
+        long once = 0;
+        long twice = 0;
+        for (Cell c : array) {
+            if (c.getValue() == 0) { // Check if cell has no value
+                long markings = c.getCandidates();
+                twice |= once & markings;
+                once |= markings;
+            }
+        }
+
+        long unique = once & ~twice;
+        return unique == 0 ? 0 : Candidates.lowestDigit(unique);
+    }
+
+    /**
+     * @return The position in the array of the first empty cell having the marking, or -1 if there is none
+     */
+    private int indexOfMarking(Cell[] array, int digit) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i].getValue() == 0 && Candidates.contains(array[i].getCandidates(), digit)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean solveCell(Board board) {
+        if (board.isSolved()) {
+            return false;
+        }
+        if (board.getCounters() != null) {
+            board.getCounters().countSolveCellPass();
+        }
+
+        int size = board.getSize();
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                Cell cell = board.getCell(x, y);
+                // If only 1 pencil marking, set cell's value to marking
+                if (cell.getValue() == 0 && cell.getCandidateCount() == 1) {
+                    board.setCell(x, y, Candidates.lowestDigit(cell.getCandidates()));
+                    return true;
+                }
+            }
+        }
+
+        // Check every row for pencil marks that appear only once
+        for (int i = 0; i < size; i++) {
+            Cell[] row = board.getRow(i);
+            int value = getDigitAppearsOnce(row);
+            if (value != 0) {
+                board.setCell(indexOfMarking(row, value), i, value);
+                return true;
+            }
+        }
+
+        // Do the same with every column
+        for (int i = 0; i < size; i++) {
+            Cell[] column = board.getColumn(i);
+            int value = getDigitAppearsOnce(column);
+            if (value != 0) {
+                board.setCell(i, indexOfMarking(column, value), value);
+                return true;
+            }
+        }
+
+        // Do the same with every subsquare
+        for (int i = 0; i < size; i++) {
+            Cell[] square = board.getSquare(i);
+            int value = getDigitAppearsOnce(square);
+            if (value != 0) {
+                int pos = indexOfMarking(square, value);
+                int boxSize = board.getBoxSize();
+                int xPos = (boxSize * (i % boxSize)) + (pos % boxSize);
+                int yPos = (boxSize * (i / boxSize)) + (pos / boxSize);
+                board.setCell(xPos, yPos, value);
+                return true;
+            }
+        }
+
+        // Didn't fill in any cells
+        return false;
+    }
+
+    @Override
+    public boolean solveIteration(Board board) {
+        if (board.isSolved()) {
+            return false;
+        }
+
+        if (solveSingleMarkingCells(board)) {
+            // At least 1 cell filled, stop here
+            return true;
+        }
+
+        // Board#setCell keeps the markings up to date, no need to recalculate them
+        return solveCell(board);
+    }
+
+
+    /**
+     * Iterates over the whole board, and fills in the value for cells that only contain
+     * a single pencil marking value.
+     * @param board The board to iterate over.
+     * @return True if one or more cells were filled, false otherwise.
+     */
+    private boolean solveSingleMarkingCells(Board board) {
+        boolean filled = false;
+
+        int size = board.getSize();
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                Cell c = board.getCell(x, y);
+                if (c.getValue() == 0 && c.getCandidateCount() == 1) {
+                    board.setCell(x, y, Candidates.lowestDigit(c.getCandidates()));  // Set cell value to only marking
+                    filled = true;
+                }
+            }
+        }
+        return filled;
+    }
+}
@@ -0,0 +1,77 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.cache.CanonicalForm;
+import ca.poum.sudokusolver.cache.SolutionCache;
+
+/**
+ * Looks up the board in a {@link SolutionCache} before solving it with another algorithm. Puzzles equivalent
+ * by symmetry or relabeling share their cache entry, the cached solution being converted back to the board's
+ * orientation and digits.
+ * <p>
+ * On a miss, {@link #solveIteration(Board)} runs the other algorithm until it can't change the board, and
+ * caches the result if the board is solved. Boards other than 9x9 bypass the cache.
+ */
+public class CachingAlgorithm implements Algorithm {
+    private final Algorithm algorithm;
+    private final SolutionCache cache;
+
+    /**
+     * @param algorithm Algorithm used on cache misses, which doesn't need to be thread-safe.
+     * @param cache     Cache, which may be shared with other threads.
+     */
+    public CachingAlgorithm(Algorithm algorithm, SolutionCache cache) {
+        this.algorithm = algorithm;
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean solveCell(Board board) {
+        if (board.isSolved()) {
+            return false;
+        }
+        if (board.getSize() != 9) {
+            return algorithm.solveCell(board);
+        }
+
+        CanonicalForm form = CanonicalForm.of(board);
+        byte[] solution = cache.get(form.getKey());
+        if (solution == null) {
+            return algorithm.solveCell(board);
+        }
+
+        // Fill in the first empty cell from the cached solution
+        for (int index = 0; index < board.getCellCount(); index++) {
+            if (board.getCell(index).getValue() == 0) {
+                board.setCell(index % 9, index / 9, form.valueAt(solution, index));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean solveIteration(Board board) {
+        if (board.isSolved()) {
+            return false;
+        }
+        if (board.getSize() != 9) {
+            return algorithm.solveIteration(board);
+        }
+
+        CanonicalForm form = CanonicalForm.of(board);
+        byte[] solution = cache.get(form.getKey());
+        if (solution != null) {
+            return form.fromCanonical(solution, board) > 0;
+        }
+
+        boolean changed = false;
+        while (algorithm.solveIteration(board)) {
+            changed = true;
+        }
+        if (board.isSolved()) {
+            cache.put(form.getKey(), form.toCanonical(board));
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,58 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+
+/**
+ * Base of the complete solvers, which search for a whole solution and then fill the board from it: one cell for
+ * {@link #solveCell(Board)}, every empty cell at once for {@link #solveIteration(Board)}. With multiple solutions,
+ * the first one found is used.
+ */
+abstract class CompleteAlgorithm implements Algorithm {
+    /**
+     * Searches for a solution of the board, without modifying it, and reports the search nodes to its counters.
+     *
+     * @return False if no solution was found, {@link #solutionValue(int)} is then undefined.
+     */
+    abstract boolean findSolution(Board board);
+
+    /**
+     * @return The digit of the cell at the index in the solution last found for the board.
+     */
+    abstract int solutionValue(int index);
+
+    @Override
+    public boolean solveCell(Board board) {
+        if (board.getCounters() != null) {
+            board.getCounters().countSolveCellPass();
+        }
+        if (board.isSolved() || !findSolution(board)) {
+            return false;
+        }
+
+        // Fill in the first empty cell from the solution found
+        int size = board.getSize();
+        for (int i = 0; i < board.getCellCount(); i++) {
+            if (board.getCell(i).getValue() == 0) {
+                board.setCell(i % size, i / size, solutionValue(i));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean solveIteration(Board board) {
+        if (board.isSolved() || !findSolution(board)) {
+            return false;
+        }
+
+        // Fill in every empty cell at once
+        int size = board.getSize();
+        for (int i = 0; i < board.getCellCount(); i++) {
+            if (board.getCell(i).getValue() == 0) {
+                board.setCell(i % size, i / size, solutionValue(i));
+            }
+        }
+        return true;
+    }
+}
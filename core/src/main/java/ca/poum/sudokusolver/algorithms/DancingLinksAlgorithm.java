@@ -0,0 +1,302 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+
+/**
+ * Complete solver using Knuth's Algorithm X with dancing links. The board is represented as an exact
+ * cover problem of one row per cell and digit (729 for a standard board) and one column per cell, row/digit,
+ * column/digit and square/digit constraint (324 for a standard board).
+ * <p>
+ * The links are built for the size of the first board solved and restored after every search, so solving
+ * doesn't allocate until a board of another size is given. Instances are not thread-safe, use one instance per
+ * thread.
+ */
+public class DancingLinksAlgorithm extends CompleteAlgorithm implements SolutionCounter {
+    private static final int ROOT = 0;
+
+    private int size;
+    private int cellCount;
+    private int columns;
+
+    // Nodes 1 to columns are the column headers, followed by 4 nodes for each row
+    private int[] left;
+    private int[] right;
+    private int[] up;
+    private int[] down;
+    private int[] column;
+    private int[] columnSize;
+
+    // Rows selected by the search, by depth
+    private int[] selectedRows;
+    // Columns covered by the board's existing values, in covering order
+    private int[] clueColumns;
+    private int[] solution;
+
+    private int solutionsFound;
+    private long searchNodes;
+    private int solutionLimit;
+    private long nodeLimit = Long.MAX_VALUE;
+    private boolean nodeLimitReached;
+    private SolveResult lastResult;
+
+    public DancingLinksAlgorithm() {
+        build(9);
+    }
+
+    /**
+     * Allocates and links the exact cover matrix for boards of the given size.
+     */
+    private void build(int size) {
+        int boxSize = (int) Math.sqrt(size);
+        int cellCount = size * size;
+        int columns = 4 * cellCount;
+        int rows = size * cellCount;
+
+        this.size = size;
+        this.cellCount = cellCount;
+        this.columns = columns;
+        left = new int[1 + columns + 4 * rows];
+        right = new int[left.length];
+        up = new int[left.length];
+        down = new int[left.length];
+        column = new int[left.length];
+        columnSize = new int[1 + columns];
+        selectedRows = new int[cellCount];
+        clueColumns = new int[columns];
+        solution = new int[cellCount];
+
+        // Column headers in a circular list starting at the root
+        for (int header = 0; header <= columns; header++) {
+            left[header] = header == 0 ? columns : header - 1;
+            right[header] = header == columns ? 0 : header + 1;
+            up[header] = header;
+            down[header] = header;
+            column[header] = header;
+        }
+
+        int[] headers = new int[4];
+        for (int row = 0; row < rows; row++) {
+            int cell = row / size;
+            int digit = row % size;
+            int x = cell % size;
+            int y = cell / size;
+            int square = (y / boxSize) * boxSize + x / boxSize;
+            headers[0] = 1 + cell;
+            headers[1] = 1 + cellCount + y * size + digit;
+            headers[2] = 1 + 2 * cellCount + x * size + digit;
+            headers[3] = 1 + 3 * cellCount + square * size + digit;
+
+            int first = firstNode(row);
+            for (int i = 0; i < 4; i++) {
+                int node = first + i;
+                int header = headers[i];
+
+                // Append node at the bottom of its column
+                column[node] = header;
+                up[node] = up[header];
+                down[node] = header;
+                down[up[header]] = node;
+                up[header] = node;
+                columnSize[header]++;
+
+                // Link node in its row
+                left[node] = first + (i + 3) % 4;
+                right[node] = first + (i + 1) % 4;
+            }
+        }
+    }
+
+    /**
+     * Searches for the solutions of the board, stopping after 2 are found. The board itself is not modified.
+     *
+     * @return Whether the board has zero, one or more solutions. With a node limit, zero and one only hold if
+     * {@link #isNodeLimitReached()} is false.
+     */
+    public SolveResult solve(Board board) {
+        int count = countSolutions(board, 2);
+        lastResult = switch (count) {
+            case 0 -> SolveResult.NO_SOLUTION;
+            case 1 -> SolveResult.UNIQUE_SOLUTION;
+            default -> SolveResult.MULTIPLE_SOLUTIONS;
+        };
+        return lastResult;
+    }
+
+    @Override
+    public int countSolutions(Board board, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Solution limit must be at least 1");
+        }
+        return search(board, limit);
+    }
+
+    /**
+     * Stops every following search after the given number of nodes, so that boards needing a huge search (large
+     * boards with few clues) can't hold the thread. A search stopped early reports the solutions found so far, see
+     * {@link #isNodeLimitReached()}.
+     *
+     * @param nodeLimit Maximum number of search nodes per search, Long.MAX_VALUE (the default) for no limit.
+     */
+    public void setNodeLimit(long nodeLimit) {
+        if (nodeLimit < 1) {
+            throw new IllegalArgumentException("Node limit must be at least 1");
+        }
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * @return True if the last search was stopped by the node limit before finding the solutions it looked for.
+     * Its count of solutions is then only a lower bound, and its result can't be trusted.
+     */
+    public boolean isNodeLimitReached() {
+        return nodeLimitReached;
+    }
+
+    /**
+     * @return The result of the last search, or null if no search was done yet.
+     */
+    public SolveResult getLastResult() {
+        return lastResult;
+    }
+
+    @Override
+    boolean findSolution(Board board) {
+        return solve(board) != SolveResult.NO_SOLUTION;
+    }
+
+    @Override
+    int solutionValue(int index) {
+        return solution[index];
+    }
+
+    /**
+     * Covers the rows of the board's values, then runs Algorithm X. The first solution found is stored in
+     * {@link #solution}. Every link is restored before returning.
+     *
+     * @param limit Number of solutions after which the search stops.
+     * @return The number of solutions found, at most limit.
+     */
+    private int search(Board board, int limit) {
+        if (board.getSize() != size) {
+            build(board.getSize());
+        }
+        solutionsFound = 0;
+        solutionLimit = limit;
+        searchNodes = 0;
+        nodeLimitReached = false;
+
+        int coveredCount = 0;
+        boolean conflict = false;
+        for (int i = 0; i < cellCount && !conflict; i++) {
+            int value = board.getCell(i).getValue();
+            if (value == 0) continue;
+
+            solution[i] = value;
+            int first = firstNode(i * size + value - 1);
+            for (int node = first; node < first + 4; node++) {
+                int header = column[node];
+                if (isCovered(header)) {
+                    // Another value already fills this constraint, the board is invalid
+                    conflict = true;
+                    break;
+                }
+                cover(header);
+                clueColumns[coveredCount++] = header;
+            }
+        }
+
+        if (!conflict) {
+            search(0);
+        }
+
+        // Restore the links in reverse covering order
+        while (coveredCount > 0) {
+            uncover(clueColumns[--coveredCount]);
+        }
+
+        if (board.getCounters() != null) {
+            board.getCounters().countSearchNodes(searchNodes);
+        }
+        return solutionsFound;
+    }
+
+    private void search(int depth) {
+        if (searchNodes == nodeLimit) {
+            nodeLimitReached = true;
+            return;
+        }
+        searchNodes++;
+        if (right[ROOT] == ROOT) {
+            // Every constraint is satisfied
+            if (solutionsFound == 0) {
+                for (int i = 0; i < depth; i++) {
+                    int row = rowOf(selectedRows[i]);
+                    solution[row / size] = row % size + 1;
+                }
+            }
+            solutionsFound++;
+            return;
+        }
+
+        // Branch on the column with the fewest remaining rows, a forced or dead column can't be beaten
+        int chosen = right[ROOT];
+        for (int header = right[chosen]; header != ROOT && columnSize[chosen] > 1; header = right[header]) {
+            if (columnSize[header] < columnSize[chosen]) {
+                chosen = header;
+            }
+        }
+        if (columnSize[chosen] == 0) {
+            return;
+        }
+
+        cover(chosen);
+        for (int node = down[chosen]; node != chosen && solutionsFound < solutionLimit && !nodeLimitReached;
+             node = down[node]) {
+            selectedRows[depth] = node;
+            for (int other = right[node]; other != node; other = right[other]) {
+                cover(column[other]);
+            }
+            search(depth + 1);
+            for (int other = left[node]; other != node; other = left[other]) {
+                uncover(column[other]);
+            }
+        }
+        uncover(chosen);
+    }
+
+    private void cover(int header) {
+        right[left[header]] = right[header];
+        left[right[header]] = left[header];
+        for (int row = down[header]; row != header; row = down[row]) {
+            for (int node = right[row]; node != row; node = right[node]) {
+                down[up[node]] = down[node];
+                up[down[node]] = up[node];
+                columnSize[column[node]]--;
+            }
+        }
+    }
+
+    private void uncover(int header) {
+        for (int row = up[header]; row != header; row = up[row]) {
+            for (int node = left[row]; node != row; node = left[node]) {
+                columnSize[column[node]]++;
+                down[up[node]] = node;
+                up[down[node]] = node;
+            }
+        }
+        right[left[header]] = header;
+        left[right[header]] = header;
+    }
+
+    private boolean isCovered(int header) {
+        return right[left[header]] != header;
+    }
+
+    private int firstNode(int row) {
+        return 1 + columns + 4 * row;
+    }
+
+    private int rowOf(int node) {
+        return (node - 1 - columns) / 4;
+    }
+}
@@ -0,0 +1,63 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.algorithms.sat.CdclSolver;
+import ca.poum.sudokusolver.algorithms.sat.SudokuCnf;
+
+/**
+ * Complete solver giving the {@link SudokuCnf} encoding of the board to a {@link CdclSolver}. The rules are
+ * added once per board size, and the filled cells of each board are given as assumptions, so the rules are not
+ * rebuilt for every board. Learnt clauses depend on the clues and are dropped after each board. Search nodes
+ * reported to the board's counters are the decisions of the solver.
+ * <p>
+ * Clause learning makes it slower than {@link BitboardAlgorithm} on ordinary puzzles, but it doesn't repeat the
+ * same failed search in different branches, which makes it the safer choice for adversarial puzzles and for rules
+ * only expressed as clauses. Like {@link DancingLinksAlgorithm}, {@link #solveIteration(Board)} fills the whole
+ * board at once. Instances are not thread-safe, use one instance per thread.
+ */
+public class SatAlgorithm extends CompleteAlgorithm {
+    private int size = -1;
+    private CdclSolver solver;
+    private int[] assumptions;
+
+    /**
+     * @return The solver for boards of the current size, null before the first board.
+     */
+    public CdclSolver getSolver() {
+        return solver;
+    }
+
+    @Override
+    boolean findSolution(Board board) {
+        if (board.getSize() != size) {
+            size = board.getSize();
+            solver = new CdclSolver(SudokuCnf.variableCount(size));
+            SudokuCnf.encodeRules(board.getUnits(), solver);
+            assumptions = new int[board.getCellCount()];
+        }
+
+        int count = 0;
+        for (int i = 0; i < board.getCellCount(); i++) {
+            int value = board.getCell(i).getValue();
+            if (value != 0) {
+                assumptions[count++] = SudokuCnf.variable(size, i, value);
+            }
+        }
+        long decisions = solver.getDecisions();
+        boolean solved = solver.solve(assumptions, count);
+        if (board.getCounters() != null) {
+            board.getCounters().countSearchNodes(solver.getDecisions() - decisions);
+        }
+        return solved;
+    }
+
+    @Override
+    int solutionValue(int index) {
+        for (int digit = 1; digit <= size; digit++) {
+            if (solver.getModelValue(SudokuCnf.variable(size, index, digit))) {
+                return digit;
+            }
+        }
+        return 0;
+    }
+}
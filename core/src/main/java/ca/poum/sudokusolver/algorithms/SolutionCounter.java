@@ -0,0 +1,24 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+
+/**
+ * Capability of algorithms running a complete search, which can count the solutions of a board.
+ */
+public interface SolutionCounter {
+    /**
+     * Counts the solutions of the board, stopping as soon as limit solutions are found. The board itself
+     * is not modified.
+     *
+     * @param limit Maximum number of solutions to look for, at least 1.
+     * @return The number of solutions found, at most limit.
+     */
+    int countSolutions(Board board, int limit);
+
+    /**
+     * @return True if the board has exactly one solution. Only searches for up to 2 solutions.
+     */
+    default boolean hasUniqueSolution(Board board) {
+        return countSolutions(board, 2) == 1;
+    }
+}
@@ -0,0 +1,245 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy enumeration of every solution of a board, for boards with too many solutions to collect, such as an empty
+ * board. Solutions are produced on demand as grids indexed as [row][column].
+ * <p>
+ * The search is a depth-first search over a private copy of the board, always branching on the empty cell with the
+ * fewest candidates and propagating every placement with {@link Board#place(int, int, int)}. The search stack is
+ * explicit, one frame per depth holding the cell, its candidates left to try and an undo mark, so memory doesn't
+ * depend on the number of solutions and the search can stop and resume between two solutions.
+ * <p>
+ * {@link #trySplit()} hands half of the untried candidates of the shallowest frame to a new spliterator, which
+ * replays the decisions above that frame on its own copy of the board. Parallel streams therefore split the search
+ * tree near its root and enumerate the subtrees on different threads. Solutions aren't in any particular order.
+ */
+public final class SolutionSpliterator implements Spliterator<int[][]> {
+    // State before the first frame, the start of every split
+    private final Board root;
+    private final Board board;
+    private final int size;
+
+    // Search stack, frame d branches on cells[d]
+    private final int[] cells;
+    private final long[] remaining;
+    private final int[] marks;
+    private int depth;
+
+    // Cell and candidates of the first frame when created by a split, -1 to let the search choose
+    private final int forcedCell;
+    private final long forcedCandidates;
+
+    // Unknown, halved on every split so parallel streams stop splitting after a few levels
+    private long estimate = Long.MAX_VALUE;
+    private boolean started;
+    private boolean exhausted;
+    // True when the board holds a solution found by trySplit before the search started
+    private boolean pendingSolution;
+
+    /**
+     * @param board A loaded board, it is copied and never modified.
+     */
+    public SolutionSpliterator(Board board) {
+        this(copy(board), -1, 0);
+    }
+
+    private SolutionSpliterator(Board root, int forcedCell, long forcedCandidates) {
+        this.root = root;
+        this.board = copy(root);
+        this.size = root.getSize();
+        this.forcedCell = forcedCell;
+        this.forcedCandidates = forcedCandidates;
+        int maxDepth = root.getCellCount();
+        cells = new int[maxDepth];
+        remaining = new long[maxDepth];
+        marks = new int[maxDepth];
+    }
+
+    /**
+     * @return A sequential stream of the solutions of the board, see {@link #SolutionSpliterator(Board)}.
+     */
+    public static Stream<int[][]> stream(Board board) {
+        return StreamSupport.stream(new SolutionSpliterator(board), false);
+    }
+
+    /**
+     * @return A parallel stream of the solutions of the board, splitting the search tree between threads.
+     */
+    public static Stream<int[][]> parallelStream(Board board) {
+        return StreamSupport.stream(new SolutionSpliterator(board), true);
+    }
+
+    public static Iterator<int[][]> iterator(Board board) {
+        return Spliterators.iterator(new SolutionSpliterator(board));
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super int[][]> action) {
+        if (!advance()) return false;
+        action.accept(toGrid());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super int[][]> action) {
+        while (advance()) {
+            action.accept(toGrid());
+        }
+    }
+
+    @Override
+    public Spliterator<int[][]> trySplit() {
+        if (exhausted || pendingSolution) return null;
+        if (!started) {
+            started = true;
+            if (start()) {
+                pendingSolution = true;
+                return null;
+            }
+        }
+
+        for (int d = 0; d < depth; d++) {
+            long untried = remaining[d];
+            int count = Candidates.count(untried);
+            // A frame without a value placed yet must keep a candidate to try
+            boolean placed = board.getUndoMark() > marks[d];
+            if (count == 0 || (!placed && count < 2)) continue;
+
+            // Hand over the highest half of the untried candidates, at least one
+            long given = untried;
+            for (int i = 0; i < count / 2; i++) {
+                given &= given - 1;
+            }
+            remaining[d] = untried & ~given;
+
+            // Replay the decisions of the frames above, which all have a value placed
+            Board prefix = copy(root);
+            for (int i = 0; i < d; i++) {
+                int cell = cells[i];
+                prefix.place(cell % size, cell / size, board.getCell(cell).getValue());
+            }
+            SolutionSpliterator split = new SolutionSpliterator(prefix, cells[d], given);
+            estimate >>>= 1;
+            split.estimate = estimate;
+            return split;
+        }
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return exhausted ? 0 : estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return DISTINCT | NONNULL;
+    }
+
+    /**
+     * Moves the search to the next solution.
+     *
+     * @return False once every solution has been found.
+     */
+    private boolean advance() {
+        if (exhausted) return false;
+        if (pendingSolution) {
+            pendingSolution = false;
+            return true;
+        }
+        if (!started) {
+            started = true;
+            if (start()) return true;
+        }
+
+        while (depth > 0) {
+            int d = depth - 1;
+            board.undo(marks[d]);
+            long untried = remaining[d];
+            if (untried == 0) {
+                depth--;
+                continue;
+            }
+            remaining[d] = untried & (untried - 1);
+
+            int cell = cells[d];
+            if (!board.place(cell % size, cell / size, Candidates.lowestDigit(untried))) continue;
+            if (branchOrSolve()) return true;
+        }
+        exhausted = true;
+        return false;
+    }
+
+    /**
+     * @return True if the starting board is already solved.
+     */
+    private boolean start() {
+        if (forcedCell >= 0) {
+            push(forcedCell, forcedCandidates);
+            return false;
+        }
+        if (branchOrSolve()) return true;
+        if (depth == 0) {
+            // A cell has no candidates, there is no solution
+            exhausted = true;
+        }
+        return false;
+    }
+
+    /**
+     * Pushes a frame for the empty cell with the fewest candidates.
+     *
+     * @return True if the board has no empty cell and holds a solution. False if a frame was pushed, or if an
+     * empty cell has no candidates, leaving the current frame to try its next candidate.
+     */
+    private boolean branchOrSolve() {
+        int chosen = -1;
+        int chosenCount = Integer.MAX_VALUE;
+        for (int index = 0; index < board.getCellCount(); index++) {
+            if (board.getCell(index).getValue() != 0) continue;
+            int count = board.getCell(index).getCandidateCount();
+            if (count < chosenCount) {
+                if (count == 0) return false;
+                chosen = index;
+                chosenCount = count;
+            }
+        }
+        if (chosen < 0) return true;
+
+        push(chosen, board.getCell(chosen).getCandidates());
+        return false;
+    }
+
+    private void push(int cell, long candidates) {
+        cells[depth] = cell;
+        remaining[depth] = candidates;
+        marks[depth] = board.getUndoMark();
+        depth++;
+    }
+
+    private int[][] toGrid() {
+        int[][] grid = new int[size][size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                grid[y][x] = board.getCell(x, y).getValue();
+            }
+        }
+        return grid;
+    }
+
+    private static Board copy(Board board) {
+        Board copy = new Board(board.getSize());
+        copy.copyFrom(board);
+        return copy;
+    }
+}
@@ -0,0 +1,10 @@
+package ca.poum.sudokusolver.algorithms;
+
+/**
+ * Outcome of a complete search over a board.
+ */
+public enum SolveResult {
+    NO_SOLUTION,
+    UNIQUE_SOLUTION,
+    MULTIPLE_SOLUTIONS
+}
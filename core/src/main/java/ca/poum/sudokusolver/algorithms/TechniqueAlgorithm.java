@@ -0,0 +1,148 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.algorithms.techniques.BoxLineReduction;
+import ca.poum.sudokusolver.algorithms.techniques.Difficulty;
+import ca.poum.sudokusolver.algorithms.techniques.Fish;
+import ca.poum.sudokusolver.algorithms.techniques.HiddenSingle;
+import ca.poum.sudokusolver.algorithms.techniques.HiddenSubset;
+import ca.poum.sudokusolver.algorithms.techniques.NakedSingle;
+import ca.poum.sudokusolver.algorithms.techniques.NakedSubset;
+import ca.poum.sudokusolver.algorithms.techniques.PointingPairs;
+import ca.poum.sudokusolver.algorithms.techniques.SimpleColoring;
+import ca.poum.sudokusolver.algorithms.techniques.Technique;
+import ca.poum.sudokusolver.algorithms.techniques.XYWing;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Solves like a human would, with an ordered pipeline of {@link Technique}s. Every step tries the techniques
+ * cheapest-first and restarts from the cheapest one as soon as one of them changes the board, so harder
+ * techniques are only used when needed.
+ * <p>
+ * The techniques used are recorded, which grades the difficulty of a puzzle, see {@link #grade(Board)}.
+ */
+public class TechniqueAlgorithm implements Algorithm {
+    private final List<Technique> techniques;
+    // Number of times each technique changed the board, by position in the pipeline
+    private final int[] useCounts;
+
+    public TechniqueAlgorithm() {
+        this(defaultTechniques());
+    }
+
+    /**
+     * @param techniques The techniques to use, from cheapest to most expensive.
+     */
+    public TechniqueAlgorithm(List<Technique> techniques) {
+        this.techniques = List.copyOf(techniques);
+        this.useCounts = new int[techniques.size()];
+    }
+
+    public static List<Technique> defaultTechniques() {
+        return List.of(
+                new NakedSingle(),
+                new HiddenSingle(),
+                new PointingPairs(),
+                new BoxLineReduction(),
+                new NakedSubset(2),
+                new HiddenSubset(2),
+                new NakedSubset(3),
+                new HiddenSubset(3),
+                new Fish(2),
+                new Fish(3),
+                new XYWing(),
+                new SimpleColoring()
+        );
+    }
+
+    @Override
+    public boolean solveCell(Board board) {
+        if (board.isSolved()) {
+            return false;
+        }
+        if (board.getCounters() != null) {
+            board.getCounters().countSolveCellPass();
+        }
+
+        // Eliminate candidates until a technique fills in a cell
+        int solved = board.solvedCellCount();
+        while (step(board)) {
+            if (board.solvedCellCount() != solved) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean solveIteration(Board board) {
+        if (board.isSolved()) {
+            return false;
+        }
+        return step(board);
+    }
+
+    /**
+     * Solves the board as far as the techniques allow, starting from fresh statistics.
+     *
+     * @return The difficulty of the hardest technique needed, or {@link Difficulty#NEEDS_GUESSING} if the
+     * techniques weren't enough to solve the board.
+     */
+    public Difficulty grade(Board board) {
+        resetStatistics();
+        while (true) {
+            // Exit loop once algorithm can't change anything
+            if (!solveIteration(board)) break;
+        }
+        return board.isSolved() ? getHardestDifficulty() : Difficulty.NEEDS_GUESSING;
+    }
+
+    /**
+     * @return The difficulty of the hardest technique used since the statistics were reset.
+     */
+    public Difficulty getHardestDifficulty() {
+        Difficulty hardest = Difficulty.EASY;
+        for (int i = 0; i < techniques.size(); i++) {
+            Difficulty difficulty = techniques.get(i).getDifficulty();
+            if (useCounts[i] > 0 && difficulty.compareTo(hardest) > 0) {
+                hardest = difficulty;
+            }
+        }
+        return hardest;
+    }
+
+    /**
+     * @return The number of times each technique changed the board since the statistics were reset, in
+     * pipeline order.
+     */
+    public Map<String, Integer> getTechniqueUsage() {
+        Map<String, Integer> usage = new LinkedHashMap<>();
+        for (int i = 0; i < techniques.size(); i++) {
+            usage.merge(techniques.get(i).getName(), useCounts[i], Integer::sum);
+        }
+        return usage;
+    }
+
+    public void resetStatistics() {
+        Arrays.fill(useCounts, 0);
+    }
+
+    /**
+     * Applies the cheapest technique that changes the board.
+     *
+     * @return False if no technique could change the board.
+     */
+    private boolean step(Board board) {
+        for (int i = 0; i < techniques.size(); i++) {
+            if (techniques.get(i).apply(board)) {
+                useCounts[i]++;
+                return true;
+            }
+        }
+        return false;
+    }
+}
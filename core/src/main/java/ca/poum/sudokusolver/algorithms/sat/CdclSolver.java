@@ -0,0 +1,678 @@
+package ca.poum.sudokusolver.algorithms.sat;
+
+import java.util.Arrays;
+
+/**
+ * Small conflict-driven clause learning SAT solver, in the style of MiniSat:
+ * <ul>
+ *     <li>Unit propagation with two watched literals per clause, so clauses are only visited when one of their
+ *     two watched literals becomes false. Each watch also keeps another literal of the clause, and the clause
+ *     isn't read when that literal is true.</li>
+ *     <li>Every conflict is analysed up to its first unique implication point, and the clause learnt is minimized,
+ *     added to the formula and used to jump back to the level where it propagates.</li>
+ *     <li>Decisions pick the unassigned variable with the highest activity (VSIDS), bumped on every conflict it
+ *     takes part in, with the polarity it last had (phase saving, false at first).</li>
+ *     <li>The search restarts after a number of conflicts following the Luby sequence, and half of the learnt
+ *     clauses, the least active ones, are dropped when there are too many.</li>
+ * </ul>
+ * Clauses are added with {@link #addClause(int[], int)} in DIMACS form, then {@link #solve(int[], int)} can be
+ * called any number of times with different assumptions, so the rules of a puzzle are added once and every puzzle
+ * is solved with its clues as assumptions. The assumptions are all assigned at level 1, the root of the search,
+ * and the literals of that level are left out of learnt clauses like those of level 0. Learnt clauses stay short,
+ * but they only hold under the assumptions, so they are dropped when the call returns.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class CdclSolver implements ClauseSink<RuntimeException> {
+    private static final int RESTART_CONFLICTS = 100;
+    private static final double VARIABLE_DECAY = 0.95;
+    private static final double CLAUSE_DECAY = 0.999;
+    private static final int NO_REASON = -1;
+    // Level of the assumptions, restarts go back to it
+    private static final int ROOT = 1;
+
+    private static final int SATISFIABLE = 1;
+    private static final int UNSATISFIABLE = 2;
+    private static final int RESTART = 3;
+
+    private final int variableCount;
+
+    // Literal 2 * (v - 1) is variable v true, literal 2 * (v - 1) + 1 is v false. Per literal: 1 true, -1 false
+    private final byte[] values;
+    // Per variable, indexed from 0
+    private final int[] levels;
+    private final int[] reasons;
+    private final boolean[] phases;
+    private final double[] activity;
+    private final boolean[] seen;
+    private final boolean[] model;
+
+    // Assigned literals in order, levelStarts[l] is where decision level l + 1 starts
+    private final int[] trail;
+    private int trailSize;
+    private int propagated;
+    private int[] levelStarts = new int[64];
+    private int level;
+
+    // Clause literals, the first two are the watched ones. A clause propagating a literal has it first. The clauses
+    // learnt by the current call start at firstLearnt.
+    private int[][] clauses = new int[1024][];
+    private double[] clauseActivity = new double[1024];
+    private int clauseCount;
+    private int firstLearnt;
+
+    // Clauses watching each literal, visited when the literal becomes false: pairs of clause index and blocker
+    private final int[][] watches;
+    private final int[] watchSizes;
+
+    // Unassigned variables by activity, a binary max-heap
+    private final int[] heap;
+    private final int[] heapIndex;
+    private int heapSize;
+
+    private double variableIncrement = 1;
+    private double clauseIncrement = 1;
+    private boolean unsatisfiable;
+
+    private int[] buffer = new int[64];
+    private int[] learntLiterals = new int[64];
+    private int[] assumptionLiterals = new int[64];
+
+    private long decisions;
+    private long conflicts;
+    private long propagations;
+
+    /**
+     * @param variableCount Number of variables, numbered from 1.
+     */
+    public CdclSolver(int variableCount) {
+        this.variableCount = variableCount;
+        values = new byte[2 * variableCount];
+        levels = new int[variableCount];
+        reasons = new int[variableCount];
+        phases = new boolean[variableCount];
+        activity = new double[variableCount];
+        seen = new boolean[variableCount];
+        model = new boolean[variableCount];
+        trail = new int[variableCount];
+        watches = new int[2 * variableCount][];
+        watchSizes = new int[2 * variableCount];
+        for (int literal = 0; literal < watches.length; literal++) {
+            watches[literal] = new int[4];
+        }
+        heap = new int[variableCount];
+        heapIndex = new int[variableCount];
+        for (int variable = 0; variable < variableCount; variable++) {
+            reasons[variable] = NO_REASON;
+            heap[variable] = variable;
+            heapIndex[variable] = variable;
+        }
+        heapSize = variableCount;
+    }
+
+    public int getVariableCount() {
+        return variableCount;
+    }
+
+    /**
+     * Adds a clause of the formula. Literals false because of earlier clauses are dropped, and clauses already
+     * satisfied by them are ignored.
+     *
+     * @throws IllegalArgumentException If a literal is 0 or not a variable of the solver.
+     */
+    @Override
+    public void addClause(int[] literals, int length) {
+        cancelUntil(0);
+        if (unsatisfiable) return;
+
+        int[] clause = ensureCapacity(buffer, length);
+        buffer = clause;
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            int literal = toInternal(literals[i]);
+            int value = values[literal];
+            if (value > 0 || (seen[literal >> 1] && contains(clause, size, literal ^ 1))) {
+                // Satisfied or tautology
+                clearSeen(clause, size);
+                return;
+            }
+            if (value < 0 || (seen[literal >> 1] && contains(clause, size, literal))) continue;
+            seen[literal >> 1] = true;
+            clause[size++] = literal;
+        }
+        clearSeen(clause, size);
+
+        if (size == 0) {
+            unsatisfiable = true;
+        } else if (size == 1) {
+            assign(clause[0], NO_REASON);
+            if (propagate() != NO_REASON) {
+                unsatisfiable = true;
+            }
+        } else {
+            attach(Arrays.copyOf(clause, size));
+            firstLearnt = clauseCount;
+        }
+    }
+
+    /**
+     * Searches for an assignment satisfying every clause and the assumptions, see {@link #getModelValue(int)}.
+     *
+     * @param assumptions Literals in DIMACS form that must hold.
+     * @param count       Number of assumptions used from the start of the array.
+     * @return False if there is none, either because the clauses can't be satisfied or because of the assumptions.
+     */
+    public boolean solve(int[] assumptions, int count) {
+        cancelUntil(0);
+        if (unsatisfiable) return false;
+        assumptionLiterals = ensureCapacity(assumptionLiterals, count);
+        for (int i = 0; i < count; i++) {
+            assumptionLiterals[i] = toInternal(assumptions[i]);
+        }
+
+        newLevel();
+        boolean satisfiable = assume(count) && propagate() == NO_REASON;
+        int maxLearnts = Math.max(clauseCount / 3, 1000);
+        for (int restart = 0; satisfiable; restart++) {
+            if (clauseCount - firstLearnt >= maxLearnts) {
+                reduceLearnts();
+                maxLearnts += maxLearnts / 10;
+            }
+            int status = search(luby(restart) * RESTART_CONFLICTS);
+            if (status == RESTART) continue;
+            satisfiable = status == SATISFIABLE;
+            if (satisfiable) {
+                for (int variable = 0; variable < variableCount; variable++) {
+                    model[variable] = values[2 * variable] > 0;
+                }
+            }
+            break;
+        }
+        cancelUntil(0);
+        dropLearnts();
+        return satisfiable;
+    }
+
+    /**
+     * @param variable Variable from 1.
+     * @return Its value in the assignment found by the last successful {@link #solve(int[], int)}.
+     */
+    public boolean getModelValue(int variable) {
+        return model[variable - 1];
+    }
+
+    public long getDecisions() {
+        return decisions;
+    }
+
+    public long getConflicts() {
+        return conflicts;
+    }
+
+    public long getPropagations() {
+        return propagations;
+    }
+
+    /**
+     * @return False if an assumption is already false.
+     */
+    private boolean assume(int count) {
+        for (int i = 0; i < count; i++) {
+            int literal = assumptionLiterals[i];
+            if (values[literal] < 0) return false;
+            if (values[literal] == 0) {
+                assign(literal, NO_REASON);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Runs from the root level until a solution, a contradiction or the conflict budget.
+     */
+    private int search(long conflictBudget) {
+        long conflictsLeft = conflictBudget;
+        while (true) {
+            int conflict = propagate();
+            if (conflict != NO_REASON) {
+                conflicts++;
+                conflictsLeft--;
+                if (level == ROOT) return UNSATISFIABLE;
+
+                int length = analyze(conflict);
+                cancelUntil(backjumpLevel(length));
+                if (length == 1) {
+                    assign(learntLiterals[0], NO_REASON);
+                } else {
+                    int index = attach(Arrays.copyOf(learntLiterals, length));
+                    bumpClause(index);
+                    assign(learntLiterals[0], index);
+                }
+                variableIncrement /= VARIABLE_DECAY;
+                clauseIncrement /= CLAUSE_DECAY;
+                continue;
+            }
+
+            if (conflictsLeft <= 0) {
+                cancelUntil(ROOT);
+                return RESTART;
+            }
+            int next = pickBranch();
+            if (next < 0) return SATISFIABLE;
+            decisions++;
+            newLevel();
+            assign(next, NO_REASON);
+        }
+    }
+
+    /**
+     * Propagates every literal of the trail not propagated yet.
+     *
+     * @return The index of a clause with every literal false, or NO_REASON.
+     */
+    private int propagate() {
+        while (propagated < trailSize) {
+            int falseLiteral = trail[propagated++] ^ 1;
+            propagations++;
+            int[] watching = watches[falseLiteral];
+            int end = watchSizes[falseLiteral];
+            int kept = 0;
+            for (int i = 0; i < end; i += 2) {
+                int index = watching[i];
+                int blocker = watching[i + 1];
+                if (values[blocker] > 0) {
+                    // Satisfied without reading the clause
+                    watching[kept++] = index;
+                    watching[kept++] = blocker;
+                    continue;
+                }
+
+                int[] clause = clauses[index];
+                if (clause[0] == falseLiteral) {
+                    clause[0] = clause[1];
+                    clause[1] = falseLiteral;
+                }
+                int first = clause[0];
+                if (first != blocker && values[first] > 0) {
+                    watching[kept++] = index;
+                    watching[kept++] = first;
+                    continue;
+                }
+
+                // Look for another literal to watch instead
+                boolean moved = false;
+                for (int k = 2; k < clause.length; k++) {
+                    int literal = clause[k];
+                    if (values[literal] >= 0) {
+                        clause[1] = literal;
+                        clause[k] = falseLiteral;
+                        watch(literal, index, first);
+                        moved = true;
+                        break;
+                    }
+                }
+                if (moved) continue;
+
+                watching[kept++] = index;
+                watching[kept++] = first;
+                if (values[first] < 0) {
+                    // Conflict, keep the remaining watches
+                    for (i += 2; i < end; i++) {
+                        watching[kept++] = watching[i];
+                    }
+                    watchSizes[falseLiteral] = kept;
+                    propagated = trailSize;
+                    return index;
+                }
+                assign(first, index);
+            }
+            watchSizes[falseLiteral] = kept;
+        }
+        return NO_REASON;
+    }
+
+    /**
+     * Learns the first unique implication point clause of the conflict into learntLiterals, with the asserting
+     * literal first.
+     *
+     * @return The length of the clause.
+     */
+    private int analyze(int conflict) {
+        int length = 1;
+        int pending = 0;
+        int literal = -1;
+        int trailIndex = trailSize - 1;
+        int index = conflict;
+        do {
+            if (index >= firstLearnt) {
+                bumpClause(index);
+            }
+            int[] clause = clauses[index];
+            // The first literal of a reason is the one it propagated
+            for (int j = literal < 0 ? 0 : 1; j < clause.length; j++) {
+                int other = clause[j];
+                int variable = other >> 1;
+                if (seen[variable] || levels[variable] <= ROOT) continue;
+                bumpVariable(variable);
+                seen[variable] = true;
+                if (levels[variable] >= level) {
+                    pending++;
+                } else {
+                    learntLiterals = ensureCapacity(learntLiterals, length + 1);
+                    learntLiterals[length++] = other;
+                }
+            }
+
+            while (!seen[trail[trailIndex] >> 1]) {
+                trailIndex--;
+            }
+            literal = trail[trailIndex--];
+            index = reasons[literal >> 1];
+            seen[literal >> 1] = false;
+            pending--;
+        } while (pending > 0);
+        learntLiterals[0] = literal ^ 1;
+
+        // Drop literals implied by the others: every other literal of their reason is already in the clause
+        buffer = ensureCapacity(buffer, length);
+        int kept = 1;
+        int removed = 0;
+        for (int i = 1; i < length; i++) {
+            int other = learntLiterals[i];
+            int reason = reasons[other >> 1];
+            if (reason != NO_REASON && redundant(reason)) {
+                buffer[removed++] = other;
+            } else {
+                learntLiterals[kept++] = other;
+            }
+        }
+        for (int i = 1; i < kept; i++) {
+            seen[learntLiterals[i] >> 1] = false;
+        }
+        clearSeen(buffer, removed);
+        return kept;
+    }
+
+    private boolean redundant(int reason) {
+        int[] clause = clauses[reason];
+        for (int j = 1; j < clause.length; j++) {
+            int variable = clause[j] >> 1;
+            if (!seen[variable] && levels[variable] > ROOT) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Moves the literal of the highest level after the asserting one to the second position, to be watched.
+     *
+     * @return The level to jump back to, where the learnt clause propagates its first literal.
+     */
+    private int backjumpLevel(int length) {
+        if (length == 1) return ROOT;
+        int highest = 1;
+        for (int i = 2; i < length; i++) {
+            if (levels[learntLiterals[i] >> 1] > levels[learntLiterals[highest] >> 1]) {
+                highest = i;
+            }
+        }
+        int literal = learntLiterals[highest];
+        learntLiterals[highest] = learntLiterals[1];
+        learntLiterals[1] = literal;
+        return levels[literal >> 1];
+    }
+
+    /**
+     * @return The literal to decide next, or -1 if every variable is assigned.
+     */
+    private int pickBranch() {
+        while (heapSize > 0) {
+            int variable = removeMax();
+            if (values[2 * variable] == 0) {
+                return 2 * variable + (phases[variable] ? 0 : 1);
+            }
+        }
+        return -1;
+    }
+
+    private void newLevel() {
+        if (level == levelStarts.length) {
+            levelStarts = Arrays.copyOf(levelStarts, 2 * levelStarts.length);
+        }
+        levelStarts[level++] = trailSize;
+    }
+
+    private void assign(int literal, int reason) {
+        int variable = literal >> 1;
+        values[literal] = 1;
+        values[literal ^ 1] = -1;
+        levels[variable] = level;
+        reasons[variable] = reason;
+        trail[trailSize++] = literal;
+    }
+
+    private void cancelUntil(int target) {
+        if (level <= target) return;
+        int start = levelStarts[target];
+        for (int i = trailSize - 1; i >= start; i--) {
+            int literal = trail[i];
+            int variable = literal >> 1;
+            values[literal] = 0;
+            values[literal ^ 1] = 0;
+            reasons[variable] = NO_REASON;
+            phases[variable] = (literal & 1) == 0;
+            if (heapIndex[variable] < 0) {
+                insert(variable);
+            }
+        }
+        trailSize = start;
+        propagated = start;
+        level = target;
+    }
+
+    private int attach(int[] clause) {
+        if (clauseCount == clauses.length) {
+            int capacity = 2 * clauses.length;
+            clauses = Arrays.copyOf(clauses, capacity);
+            clauseActivity = Arrays.copyOf(clauseActivity, capacity);
+        }
+        int index = clauseCount++;
+        clauses[index] = clause;
+        clauseActivity[index] = 0;
+        watch(clause[0], index, clause[1]);
+        watch(clause[1], index, clause[0]);
+        return index;
+    }
+
+    /**
+     * @param blocker Another literal of the clause, if it is true the clause is skipped without being read.
+     */
+    private void watch(int literal, int index, int blocker) {
+        int size = watchSizes[literal];
+        if (size == watches[literal].length) {
+            watches[literal] = Arrays.copyOf(watches[literal], 2 * size);
+        }
+        watches[literal][size] = index;
+        watches[literal][size + 1] = blocker;
+        watchSizes[literal] = size + 2;
+    }
+
+    /**
+     * Drops the least active half of the learnt clauses longer than 2, at the root level where no clause is the
+     * reason of a literal that can be analysed. Clauses are renumbered, so every watch list is rebuilt.
+     */
+    private void reduceLearnts() {
+        cancelUntil(ROOT);
+        int candidates = 0;
+        double[] activities = new double[clauseCount - firstLearnt];
+        for (int index = firstLearnt; index < clauseCount; index++) {
+            if (clauses[index].length > 2) {
+                activities[candidates++] = clauseActivity[index];
+            }
+        }
+        Arrays.sort(activities, 0, candidates);
+        int half = candidates / 2;
+        if (half == 0) return;
+        double threshold = activities[half - 1];
+
+        int kept = firstLearnt;
+        int removed = 0;
+        for (int index = firstLearnt; index < clauseCount; index++) {
+            double score = clauseActivity[index];
+            if (clauses[index].length > 2 && (score < threshold || (score == threshold && removed < half))) {
+                removed++;
+                continue;
+            }
+            clauses[kept] = clauses[index];
+            clauseActivity[kept] = score;
+            kept++;
+        }
+        Arrays.fill(clauses, kept, clauseCount, null);
+        clauseCount = kept;
+
+        Arrays.fill(watchSizes, 0);
+        for (int index = 0; index < clauseCount; index++) {
+            int[] clause = clauses[index];
+            watch(clause[0], index, clause[1]);
+            watch(clause[1], index, clause[0]);
+        }
+        // Root level literals are never analysed, their reasons may have moved
+        for (int i = 0; i < trailSize; i++) {
+            reasons[trail[i] >> 1] = NO_REASON;
+        }
+    }
+
+    /**
+     * Removes every clause learnt by the current call from the watch lists, at level 0.
+     */
+    private void dropLearnts() {
+        if (clauseCount == firstLearnt) return;
+        for (int literal = 0; literal < watches.length; literal++) {
+            int[] watching = watches[literal];
+            int end = watchSizes[literal];
+            int kept = 0;
+            for (int i = 0; i < end; i += 2) {
+                if (watching[i] < firstLearnt) {
+                    watching[kept++] = watching[i];
+                    watching[kept++] = watching[i + 1];
+                }
+            }
+            watchSizes[literal] = kept;
+        }
+        Arrays.fill(clauses, firstLearnt, clauseCount, null);
+        clauseCount = firstLearnt;
+    }
+
+    private void bumpVariable(int variable) {
+        activity[variable] += variableIncrement;
+        if (activity[variable] > 1e100) {
+            for (int v = 0; v < variableCount; v++) {
+                activity[v] *= 1e-100;
+            }
+            variableIncrement *= 1e-100;
+        }
+        if (heapIndex[variable] >= 0) {
+            siftUp(heapIndex[variable]);
+        }
+    }
+
+    private void bumpClause(int index) {
+        clauseActivity[index] += clauseIncrement;
+        if (clauseActivity[index] > 1e20) {
+            for (int i = 0; i < clauseCount; i++) {
+                clauseActivity[i] *= 1e-20;
+            }
+            clauseIncrement *= 1e-20;
+        }
+    }
+
+    private void insert(int variable) {
+        heap[heapSize] = variable;
+        heapIndex[variable] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private int removeMax() {
+        int top = heap[0];
+        heapIndex[top] = -1;
+        int last = heap[--heapSize];
+        if (heapSize > 0) {
+            heap[0] = last;
+            heapIndex[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int position) {
+        int variable = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >> 1;
+            if (activity[heap[parent]] >= activity[variable]) break;
+            heap[position] = heap[parent];
+            heapIndex[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = variable;
+        heapIndex[variable] = position;
+    }
+
+    private void siftDown(int position) {
+        int variable = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && activity[heap[child + 1]] > activity[heap[child]]) {
+                child++;
+            }
+            if (activity[heap[child]] <= activity[variable]) break;
+            heap[position] = heap[child];
+            heapIndex[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = variable;
+        heapIndex[variable] = position;
+    }
+
+    private int toInternal(int literal) {
+        int variable = Math.abs(literal);
+        if (literal == 0 || variable > variableCount) {
+            throw new IllegalArgumentException("Literal " + literal + " is not a variable from 1 to " + variableCount);
+        }
+        return 2 * (variable - 1) + (literal < 0 ? 1 : 0);
+    }
+
+    private static boolean contains(int[] literals, int length, int literal) {
+        for (int i = 0; i < length; i++) {
+            if (literals[i] == literal) return true;
+        }
+        return false;
+    }
+
+    private void clearSeen(int[] literals, int length) {
+        for (int i = 0; i < length; i++) {
+            seen[literals[i] >> 1] = false;
+        }
+    }
+
+    private static int[] ensureCapacity(int[] array, int length) {
+        return length <= array.length ? array : Arrays.copyOf(array, Math.max(length, 2 * array.length));
+    }
+
+    /**
+     * @return Element i (from 0) of the Luby sequence 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8...
+     */
+    private static long luby(int i) {
+        int size = 1;
+        int power = 0;
+        while (size < i + 1) {
+            power++;
+            size = 2 * size + 1;
+        }
+        while (size - 1 != i) {
+            size = (size - 1) >> 1;
+            power--;
+            i %= size;
+        }
+        return 1L << power;
+    }
+}
@@ -0,0 +1,16 @@
+package ca.poum.sudokusolver.algorithms.sat;
+
+/**
+ * Receives the clauses of a CNF formula one at a time, so an encoding can be written to a file or given to a
+ * solver without being held in memory.
+ *
+ * @param <E> Exception thrown when a clause can't be accepted, such as an IOException for a file.
+ */
+public interface ClauseSink<E extends Exception> {
+    /**
+     * @param literals Clause in DIMACS form: variable v (from 1) is v when true and -v when false. The array may
+     *                 be reused by the caller once the method returns.
+     * @param length   Number of literals used from the start of the array.
+     */
+    void addClause(int[] literals, int length) throws E;
+}
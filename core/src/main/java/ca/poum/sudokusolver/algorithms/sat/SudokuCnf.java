@@ -0,0 +1,115 @@
+package ca.poum.sudokusolver.algorithms.sat;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Units;
+
+/**
+ * CNF encoding of a board, with one variable per cell and digit, true when the cell holds the digit. Variable
+ * {@code cell * size + digit} is the digit of the cell at index {@code cell = y * size + x}, so a standard board
+ * has 729 variables.
+ * <p>
+ * The rules are encoded in both directions, which is more clauses than needed but lets unit propagation find
+ * naked and hidden singles:
+ * <ul>
+ *     <li>Every cell has at least one digit, and no two digits.</li>
+ *     <li>Every digit is in at least one cell of each row, column and square, and in no two cells of one.</li>
+ * </ul>
+ * Every filled cell of the board is then a clue, a clause of a single literal. A standard board has 11988 rule
+ * clauses, 11664 of them binary.
+ */
+public final class SudokuCnf {
+    private SudokuCnf() {
+    }
+
+    /**
+     * @param cell  Index of the cell, y * size + x.
+     * @param digit Digit from 1 to size.
+     * @return The variable true when the cell holds the digit.
+     */
+    public static int variable(int size, int cell, int digit) {
+        return cell * size + digit;
+    }
+
+    public static int variableCount(int size) {
+        return size * size * size;
+    }
+
+    /**
+     * @return The number of clauses written by {@link #encodeRules(Units, ClauseSink)}.
+     */
+    public static long ruleClauseCount(int size) {
+        long constraints = (long) size * size + 3L * size * size;
+        long pairs = (long) size * (size - 1) / 2;
+        return constraints * (1 + pairs);
+    }
+
+    /**
+     * @return The number of clauses written by {@link #encode(Board, ClauseSink)}.
+     */
+    public static long clauseCount(Board board) {
+        return ruleClauseCount(board.getSize()) + board.solvedCellCount();
+    }
+
+    /**
+     * Writes the rules and the clues of the board.
+     */
+    public static <E extends Exception> void encode(Board board, ClauseSink<E> sink) throws E {
+        encodeRules(board.getUnits(), sink);
+        encodeClues(board, sink);
+    }
+
+    /**
+     * Writes the rules of an empty board of the size of the units.
+     */
+    public static <E extends Exception> void encodeRules(Units units, ClauseSink<E> sink) throws E {
+        int size = units.getSize();
+        int[] literals = new int[size];
+        int[] pair = new int[2];
+
+        for (int cell = 0; cell < units.getCellCount(); cell++) {
+            for (int digit = 1; digit <= size; digit++) {
+                literals[digit - 1] = variable(size, cell, digit);
+            }
+            exactlyOne(literals, pair, sink);
+        }
+
+        for (int unit = 0; unit < units.getUnitCount(); unit++) {
+            int[] cells = units.cells(unit);
+            for (int digit = 1; digit <= size; digit++) {
+                for (int i = 0; i < cells.length; i++) {
+                    literals[i] = variable(size, cells[i], digit);
+                }
+                exactlyOne(literals, pair, sink);
+            }
+        }
+    }
+
+    /**
+     * Writes a clause of a single literal for every filled cell of the board.
+     */
+    public static <E extends Exception> void encodeClues(Board board, ClauseSink<E> sink) throws E {
+        int size = board.getSize();
+        int[] clue = new int[1];
+        for (int cell = 0; cell < board.getCellCount(); cell++) {
+            int value = board.getCell(cell).getValue();
+            if (value != 0) {
+                clue[0] = variable(size, cell, value);
+                sink.addClause(clue, 1);
+            }
+        }
+    }
+
+    /**
+     * At least one of the literals as a single clause, at most one as a clause per pair.
+     */
+    private static <E extends Exception> void exactlyOne(int[] literals, int[] pair, ClauseSink<E> sink) throws E {
+        sink.addClause(literals, literals.length);
+        for (int i = 0; i < literals.length; i++) {
+            for (int j = i + 1; j < literals.length; j++) {
+                pair[0] = -literals[i];
+                pair[1] = -literals[j];
+                sink.addClause(pair, 2);
+            }
+        }
+    }
+}
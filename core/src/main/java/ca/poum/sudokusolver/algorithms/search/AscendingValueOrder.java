@@ -0,0 +1,19 @@
+package ca.poum.sudokusolver.algorithms.search;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+
+/**
+ * Tries the candidates from the smallest digit to the largest.
+ */
+public class AscendingValueOrder implements ValueOrder {
+    @Override
+    public String getName() {
+        return "ascending";
+    }
+
+    @Override
+    public int next(Board board, int cell, long remaining) {
+        return Candidates.lowestDigit(remaining);
+    }
+}
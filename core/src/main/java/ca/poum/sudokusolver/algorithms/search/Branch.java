@@ -0,0 +1,92 @@
+package ca.poum.sudokusolver.algorithms.search;
+
+import ca.poum.sudokusolver.Candidates;
+
+/**
+ * What a backtracking search tries at one node, chosen by a {@link BranchSelector}. Either a cell, and the search
+ * tries each of its candidates, or a digit of a row, column or square, and the search tries each cell of the unit
+ * where the digit is still a candidate. Branches are reused by the search, one per depth, so setting one doesn't
+ * allocate.
+ */
+public final class Branch {
+    private int cell = -1;
+    private long candidates;
+    private int[] unitCells;
+    private int digit;
+    private long positions;
+
+    /**
+     * Resets the branch to nothing to branch on, which tells the search the board is solved.
+     */
+    public void clear() {
+        cell = -1;
+        candidates = 0;
+        unitCells = null;
+        digit = 0;
+        positions = 0;
+    }
+
+    /**
+     * Branches on the candidates of a cell.
+     *
+     * @param cell       Index of an empty cell, y * size + x.
+     * @param candidates Candidates of the cell, see {@link Candidates}.
+     */
+    public void setCell(int cell, long candidates) {
+        clear();
+        this.cell = cell;
+        this.candidates = candidates;
+    }
+
+    /**
+     * Branches on the cells of a unit where a digit can go.
+     *
+     * @param unitCells The cells of the unit, as returned by {@link ca.poum.sudokusolver.Units#cells(int)}.
+     * @param digit     A digit not placed in the unit yet.
+     * @param positions Mask where bit i is set if the digit is a candidate of unitCells[i].
+     */
+    public void setUnit(int[] unitCells, int digit, long positions) {
+        clear();
+        this.unitCells = unitCells;
+        this.digit = digit;
+        this.positions = positions;
+    }
+
+    /**
+     * @return True if nothing was selected, the board has no empty cell.
+     */
+    public boolean isEmpty() {
+        return cell < 0 && unitCells == null;
+    }
+
+    public boolean isCell() {
+        return cell >= 0;
+    }
+
+    public int getCell() {
+        return cell;
+    }
+
+    public long getCandidates() {
+        return candidates;
+    }
+
+    public int[] getUnitCells() {
+        return unitCells;
+    }
+
+    public int getDigit() {
+        return digit;
+    }
+
+    public long getPositions() {
+        return positions;
+    }
+
+    /**
+     * @return The number of children of the branch. 0 means the board has no solution.
+     */
+    public int getOptionCount() {
+        return Long.bitCount(isCell() ? candidates : positions);
+    }
+}
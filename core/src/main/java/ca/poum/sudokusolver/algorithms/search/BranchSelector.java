@@ -0,0 +1,20 @@
+package ca.poum.sudokusolver.algorithms.search;
+
+import ca.poum.sudokusolver.Board;
+
+/**
+ * Chooses what a {@link ca.poum.sudokusolver.algorithms.BacktrackingAlgorithm} branches on. Implementations only
+ * read the board and keep no state between calls.
+ */
+public interface BranchSelector {
+    String getName();
+
+    /**
+     * Sets the branch for the next node of the search. The board has every placement propagated with
+     * {@link Board#place(int, int, int)}, so no empty cell is left without candidates.
+     *
+     * @param branch Cleared before the call. Left empty if the board has no empty cell, and set with no option if
+     *               the selector finds the board has no solution.
+     */
+    void select(Board board, Branch branch);
+}
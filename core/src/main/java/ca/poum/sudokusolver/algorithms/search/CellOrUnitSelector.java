@@ -0,0 +1,99 @@
+package ca.poum.sudokusolver.algorithms.search;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+import ca.poum.sudokusolver.Units;
+
+/**
+ * Branches on a cell or on a digit of a unit, whichever has fewer options. The cell is chosen by another selector,
+ * minimum remaining values with ties broken by degree by default. When it has more than one candidate, every digit
+ * missing from a row, column or square is counted by the cells where it can go, and the digit with the fewest
+ * places is branched on instead if it has fewer than the cell. A digit with a single place is a hidden single,
+ * which {@link Board#place(int, int, int)} doesn't propagate, and a digit with no place ends the search below
+ * this node without trying any value.
+ */
+public class CellOrUnitSelector implements BranchSelector {
+    private final BranchSelector cellSelector;
+
+    public CellOrUnitSelector() {
+        this(new MinimumRemainingValuesSelector(true));
+    }
+
+    /**
+     * @param cellSelector Selector of the cell to compare with the units, it must only set cell branches.
+     */
+    public CellOrUnitSelector(BranchSelector cellSelector) {
+        this.cellSelector = cellSelector;
+    }
+
+    @Override
+    public String getName() {
+        return "cell-or-unit";
+    }
+
+    @Override
+    public void select(Board board, Branch branch) {
+        cellSelector.select(board, branch);
+        if (branch.isEmpty()) return;
+        int best = branch.getOptionCount();
+        if (best <= 1) return;
+
+        Units units = board.getUnits();
+        long all = Candidates.all(board.getSize());
+        for (int unit = 0; unit < units.getUnitCount(); unit++) {
+            int[] cells = units.cells(unit);
+
+            // Digits placed in the unit, and candidates seen at least once and at least twice
+            long placed = 0;
+            long once = 0;
+            long twice = 0;
+            for (int index : cells) {
+                int value = board.getCell(index).getValue();
+                if (value != 0) {
+                    placed |= Candidates.of(value);
+                    continue;
+                }
+                long candidates = board.getCell(index).getCandidates();
+                twice |= once & candidates;
+                once |= candidates;
+            }
+
+            long missing = all & ~placed;
+            if ((missing & ~once) != 0) {
+                // A digit has nowhere to go in this unit
+                branch.setUnit(cells, Candidates.lowestDigit(missing & ~once), 0);
+                return;
+            }
+            long unique = missing & ~twice;
+            if (unique != 0) {
+                // A hidden single, nothing but a contradiction has fewer options
+                int digit = Candidates.lowestDigit(unique);
+                branch.setUnit(cells, digit, positions(board, cells, digit));
+                return;
+            }
+            if (best == 2) continue;
+
+            for (long digits = missing; digits != 0; digits &= digits - 1) {
+                int digit = Candidates.lowestDigit(digits);
+                long positions = positions(board, cells, digit);
+                int count = Long.bitCount(positions);
+                if (count < best) {
+                    branch.setUnit(cells, digit, positions);
+                    best = count;
+                    if (best == 2) break;
+                }
+            }
+        }
+    }
+
+    private static long positions(Board board, int[] cells, int digit) {
+        long positions = 0;
+        for (int i = 0; i < cells.length; i++) {
+            if (board.getCell(cells[i]).getValue() == 0
+                    && Candidates.contains(board.getCell(cells[i]).getCandidates(), digit)) {
+                positions |= 1L << i;
+            }
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,43 @@
+package ca.poum.sudokusolver.algorithms.search;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+import ca.poum.sudokusolver.Cell;
+
+/**
+ * Tries first the candidate that is a candidate of the fewest empty peers (least constraining value), so the
+ * first guess removes the fewest candidates and is the most likely to lead to a solution. Ties go to the smallest
+ * digit.
+ */
+public class LeastConstrainingValueOrder implements ValueOrder {
+    @Override
+    public String getName() {
+        return "least-constraining";
+    }
+
+    @Override
+    public int next(Board board, int cell, long remaining) {
+        if ((remaining & (remaining - 1)) == 0) {
+            return Candidates.lowestDigit(remaining);
+        }
+
+        int[] peers = board.getUnits().peers(cell);
+        int chosen = 0;
+        int chosenCount = Integer.MAX_VALUE;
+        for (long digits = remaining; digits != 0; digits &= digits - 1) {
+            long bit = digits & -digits;
+            int count = 0;
+            for (int peer : peers) {
+                Cell peerCell = board.getCell(peer);
+                if (peerCell.getValue() == 0 && (peerCell.getCandidates() & bit) != 0) {
+                    count++;
+                }
+            }
+            if (count < chosenCount) {
+                chosen = Candidates.lowestDigit(bit);
+                chosenCount = count;
+            }
+        }
+        return chosen;
+    }
+}
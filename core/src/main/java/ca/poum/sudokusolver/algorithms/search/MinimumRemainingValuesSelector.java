@@ -0,0 +1,68 @@
+package ca.poum.sudokusolver.algorithms.search;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Cell;
+
+/**
+ * Branches on the empty cell with the fewest candidates (minimum remaining values), the first one in row-major
+ * order unless ties are broken by degree. The degree of a cell is its number of empty peers: placing a value in
+ * the cell with the highest degree removes a candidate from the most cells, so more singles follow.
+ */
+public class MinimumRemainingValuesSelector implements BranchSelector {
+    private final boolean breakTiesByDegree;
+
+    public MinimumRemainingValuesSelector() {
+        this(false);
+    }
+
+    public MinimumRemainingValuesSelector(boolean breakTiesByDegree) {
+        this.breakTiesByDegree = breakTiesByDegree;
+    }
+
+    @Override
+    public String getName() {
+        return breakTiesByDegree ? "mrv-degree" : "mrv";
+    }
+
+    @Override
+    public void select(Board board, Branch branch) {
+        int chosen = -1;
+        int chosenCount = Integer.MAX_VALUE;
+        // Only computed when a tie needs it
+        int chosenDegree = -1;
+        for (int index = 0; index < board.getCellCount(); index++) {
+            Cell cell = board.getCell(index);
+            if (cell.getValue() != 0) continue;
+            int count = cell.getCandidateCount();
+            if (count < chosenCount) {
+                chosen = index;
+                chosenCount = count;
+                chosenDegree = -1;
+                // Nothing beats a forced cell
+                if (count <= 1) break;
+            } else if (count == chosenCount && breakTiesByDegree) {
+                if (chosenDegree < 0) {
+                    chosenDegree = degree(board, chosen);
+                }
+                int degree = degree(board, index);
+                if (degree > chosenDegree) {
+                    chosen = index;
+                    chosenDegree = degree;
+                }
+            }
+        }
+        if (chosen >= 0) {
+            branch.setCell(chosen, board.getCell(chosen).getCandidates());
+        }
+    }
+
+    private static int degree(Board board, int index) {
+        int degree = 0;
+        for (int peer : board.getUnits().peers(index)) {
+            if (board.getCell(peer).getValue() == 0) {
+                degree++;
+            }
+        }
+        return degree;
+    }
+}
@@ -0,0 +1,24 @@
+package ca.poum.sudokusolver.algorithms.search;
+
+import ca.poum.sudokusolver.Board;
+
+/**
+ * Branches on the first empty cell in row-major order, the order {@link
+ * ca.poum.sudokusolver.algorithms.BruteforceAlgorithm} scans the board in. The baseline for the other selectors.
+ */
+public class RowMajorSelector implements BranchSelector {
+    @Override
+    public String getName() {
+        return "row-major";
+    }
+
+    @Override
+    public void select(Board board, Branch branch) {
+        for (int index = 0; index < board.getCellCount(); index++) {
+            if (board.getCell(index).getValue() == 0) {
+                branch.setCell(index, board.getCell(index).getCandidates());
+                return;
+            }
+        }
+    }
+}
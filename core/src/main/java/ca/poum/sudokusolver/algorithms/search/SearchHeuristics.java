@@ -0,0 +1,61 @@
+package ca.poum.sudokusolver.algorithms.search;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Creates {@link BranchSelector} and {@link ValueOrder} instances from their name, like
+ * {@link ca.poum.sudokusolver.algorithms.Algorithms} does for algorithms.
+ */
+public final class SearchHeuristics {
+    private static final Map<String, Supplier<BranchSelector>> SELECTORS = new LinkedHashMap<>();
+    private static final Map<String, Supplier<ValueOrder>> VALUE_ORDERS = new LinkedHashMap<>();
+
+    static {
+        SELECTORS.put("row-major", RowMajorSelector::new);
+        SELECTORS.put("mrv", MinimumRemainingValuesSelector::new);
+        SELECTORS.put("mrv-degree", () -> new MinimumRemainingValuesSelector(true));
+        SELECTORS.put("cell-or-unit", CellOrUnitSelector::new);
+        VALUE_ORDERS.put("ascending", AscendingValueOrder::new);
+        VALUE_ORDERS.put("least-constraining", LeastConstrainingValueOrder::new);
+    }
+
+    private SearchHeuristics() {
+    }
+
+    /**
+     * @param name Name of the selector, see {@link #selectorNames()}.
+     * @throws IllegalArgumentException If no selector has that name.
+     */
+    public static BranchSelector selector(String name) {
+        Supplier<BranchSelector> factory = SELECTORS.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown branch selector '" + name + "', expected one of "
+                    + selectorNames());
+        }
+        return factory.get();
+    }
+
+    /**
+     * @param name Name of the value order, see {@link #valueOrderNames()}.
+     * @throws IllegalArgumentException If no value order has that name.
+     */
+    public static ValueOrder valueOrder(String name) {
+        Supplier<ValueOrder> factory = VALUE_ORDERS.get(name);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown value order '" + name + "', expected one of "
+                    + valueOrderNames());
+        }
+        return factory.get();
+    }
+
+    public static Set<String> selectorNames() {
+        return SELECTORS.keySet();
+    }
+
+    public static Set<String> valueOrderNames() {
+        return VALUE_ORDERS.keySet();
+    }
+}
@@ -0,0 +1,18 @@
+package ca.poum.sudokusolver.algorithms.search;
+
+import ca.poum.sudokusolver.Board;
+
+/**
+ * Order in which a {@link ca.poum.sudokusolver.algorithms.BacktrackingAlgorithm} tries the candidates of the cell
+ * it branches on. Only used for cell branches, the cells of a unit branch are tried in unit order.
+ */
+public interface ValueOrder {
+    String getName();
+
+    /**
+     * @param cell      Index of the cell branched on, y * size + x.
+     * @param remaining Candidates of the cell not tried yet, never empty.
+     * @return The digit to try next, one of the remaining candidates.
+     */
+    int next(Board board, int cell, long remaining);
+}
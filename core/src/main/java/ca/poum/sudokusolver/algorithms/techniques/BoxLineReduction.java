@@ -0,0 +1,52 @@
+package ca.poum.sudokusolver.algorithms.techniques;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+import ca.poum.sudokusolver.Units;
+
+/**
+ * Box/line reduction: when a digit's candidates in a row or column all lie in the same square, the digit
+ * is removed from the rest of that square.
+ */
+public class BoxLineReduction implements Technique {
+    @Override
+    public String getName() {
+        return "Box/line reduction";
+    }
+
+    @Override
+    public Difficulty getDifficulty() {
+        return Difficulty.MEDIUM;
+    }
+
+    @Override
+    public boolean apply(Board board) {
+        Units units = board.getUnits();
+        for (int line = units.getFirstRow(); line < units.getFirstSquare(); line++) {
+            boolean isRow = line < units.getFirstColumn();
+            int[] cells = units.cells(line);
+            for (int digit = 1; digit <= cells.length; digit++) {
+                long squares = 0;
+                for (int index : cells) {
+                    if (Candidates.contains(board.getCell(index).getCandidates(), digit)) {
+                        squares |= 1L << units.squareOf(index);
+                    }
+                }
+                if (Long.bitCount(squares) != 1) continue;
+
+                int square = Long.numberOfTrailingZeros(squares);
+                boolean changed = false;
+                for (int index : units.cells(units.getFirstSquare() + square)) {
+                    int lineOfCell = isRow ? units.rowOf(index) : units.getFirstColumn() + units.columnOf(index);
+                    if (lineOfCell != line) {
+                        changed |= board.removeCandidates(index, Candidates.of(digit));
+                    }
+                }
+                if (changed) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,15 @@
+package ca.poum.sudokusolver.algorithms.techniques;
+
+/**
+ * Difficulty grades, from the techniques needed to solve a puzzle.
+ */
+public enum Difficulty {
+    EASY,
+    MEDIUM,
+    HARD,
+    EXPERT,
+    /**
+     * The techniques available aren't enough, the puzzle needs trial and error.
+     */
+    NEEDS_GUESSING
+}
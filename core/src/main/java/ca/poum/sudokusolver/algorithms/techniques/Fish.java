@@ -0,0 +1,102 @@
+package ca.poum.sudokusolver.algorithms.techniques;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+
+/**
+ * X-Wing (size 2) and Swordfish (size 3): when a digit's candidates in N rows all lie in the same N columns,
+ * the digit is removed from those columns in every other row. The same applies with rows and columns swapped.
+ */
+public class Fish implements Technique {
+    private final int size;
+    // positions[line] is the mask of the cross lines where the digit is a candidate, reused between calls
+    private long[] positions = new long[0];
+
+    /**
+     * @param size 2 for X-Wing, 3 for Swordfish, 4 for Jellyfish.
+     */
+    public Fish(int size) {
+        if (size < 2 || size > 4) {
+            throw new IllegalArgumentException("Fish size must be between 2 and 4");
+        }
+        this.size = size;
+    }
+
+    @Override
+    public String getName() {
+        return size == 2 ? "X-Wing" : size == 3 ? "Swordfish" : "Jellyfish";
+    }
+
+    @Override
+    public Difficulty getDifficulty() {
+        return size == 2 ? Difficulty.HARD : Difficulty.EXPERT;
+    }
+
+    @Override
+    public boolean apply(Board board) {
+        int boardSize = board.getSize();
+        if (positions.length != boardSize) {
+            positions = new long[boardSize];
+        }
+        for (int digit = 1; digit <= boardSize; digit++) {
+            for (int rowsAsBase = 0; rowsAsBase < 2; rowsAsBase++) {
+                boolean byRow = rowsAsBase == 0;
+                for (int line = 0; line < boardSize; line++) {
+                    long mask = 0;
+                    for (int cross = 0; cross < boardSize; cross++) {
+                        int index = indexOf(boardSize, byRow, line, cross);
+                        if (Candidates.contains(board.getCell(index).getCandidates(), digit)) {
+                            mask |= 1L << cross;
+                        }
+                    }
+                    positions[line] = mask;
+                }
+                if (search(board, positions, digit, byRow, 0, 0, 0, 0)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param lines Base lines chosen so far, as a bit mask.
+     * @param union Cross lines covered by the base lines chosen so far.
+     */
+    private boolean search(Board board, long[] positions, int digit, boolean byRow,
+                           int start, int depth, long lines, long union) {
+        int boardSize = positions.length;
+        if (depth == size) {
+            if (Long.bitCount(union) != size) return false;
+
+            // Remove the digit from the cover lines, outside of the base lines
+            boolean changed = false;
+            for (int line = 0; line < boardSize; line++) {
+                if ((lines & (1L << line)) != 0) continue;
+                for (int cross = 0; cross < boardSize; cross++) {
+                    if ((union & (1L << cross)) != 0) {
+                        int index = indexOf(boardSize, byRow, line, cross);
+                        changed |= board.removeCandidates(index, Candidates.of(digit));
+                    }
+                }
+            }
+            return changed;
+        }
+
+        for (int line = start; line < boardSize; line++) {
+            int count = Long.bitCount(positions[line]);
+            if (count < 2 || count > size) continue;
+
+            long newUnion = union | positions[line];
+            if (Long.bitCount(newUnion) > size) continue;
+            if (search(board, positions, digit, byRow, line + 1, depth + 1, lines | (1L << line), newUnion)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(int boardSize, boolean byRow, int line, int cross) {
+        return byRow ? line * boardSize + cross : cross * boardSize + line;
+    }
+}
@@ -0,0 +1,50 @@
+package ca.poum.sudokusolver.algorithms.techniques;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+import ca.poum.sudokusolver.Units;
+
+/**
+ * Places a digit that is a candidate of a single cell in a row, column or square.
+ */
+public class HiddenSingle implements Technique {
+    @Override
+    public String getName() {
+        return "Hidden single";
+    }
+
+    @Override
+    public Difficulty getDifficulty() {
+        return Difficulty.EASY;
+    }
+
+    @Override
+    public boolean apply(Board board) {
+        Units units = board.getUnits();
+        int size = board.getSize();
+        for (int unit = 0; unit < units.getUnitCount(); unit++) {
+            int[] cells = units.cells(unit);
+
+            // Digits seen at least once, and at least twice in the unit
+            long once = 0;
+            long twice = 0;
+            for (int index : cells) {
+                long candidates = board.getCell(index).getCandidates();
+                twice |= once & candidates;
+                once |= candidates;
+            }
+
+            long unique = once & ~twice;
+            if (unique == 0) continue;
+
+            int digit = Candidates.lowestDigit(unique);
+            for (int index : cells) {
+                if (Candidates.contains(board.getCell(index).getCandidates(), digit)) {
+                    board.setCell(index % size, index / size, digit);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,91 @@
+package ca.poum.sudokusolver.algorithms.techniques;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+import ca.poum.sudokusolver.Units;
+
+/**
+ * Hidden pairs and triples: when N digits of a unit can only go in the same N cells, every other candidate
+ * is removed from those cells.
+ */
+public class HiddenSubset implements Technique {
+    private final int size;
+    // positions[d - 1] is the mask of the positions in the unit where digit d is a candidate, reused between calls
+    private long[] positions = new long[0];
+
+    /**
+     * @param size 2 for hidden pairs, 3 for hidden triples.
+     */
+    public HiddenSubset(int size) {
+        if (size < 2 || size > 4) {
+            throw new IllegalArgumentException("Subset size must be between 2 and 4");
+        }
+        this.size = size;
+    }
+
+    @Override
+    public String getName() {
+        return size == 2 ? "Hidden pair" : size == 3 ? "Hidden triple" : "Hidden quad";
+    }
+
+    @Override
+    public Difficulty getDifficulty() {
+        return size == 2 ? Difficulty.MEDIUM : Difficulty.HARD;
+    }
+
+    @Override
+    public boolean apply(Board board) {
+        Units units = board.getUnits();
+        if (positions.length != board.getSize()) {
+            positions = new long[board.getSize()];
+        }
+        for (int unit = 0; unit < units.getUnitCount(); unit++) {
+            int[] cells = units.cells(unit);
+            for (int digit = 1; digit <= cells.length; digit++) {
+                long mask = 0;
+                for (int i = 0; i < cells.length; i++) {
+                    if (Candidates.contains(board.getCell(cells[i]).getCandidates(), digit)) {
+                        mask |= 1L << i;
+                    }
+                }
+                positions[digit - 1] = mask;
+            }
+            if (search(board, cells, positions, 0, 0, 0, 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tries every combination of size digits appearing in between 2 and size cells.
+     *
+     * @param digits Candidate mask of the digits chosen so far.
+     * @param union  Positions in the unit of the cells containing the digits chosen so far.
+     */
+    private boolean search(Board board, int[] cells, long[] positions, int start, int depth, long digits, long union) {
+        if (depth == size) {
+            if (Long.bitCount(union) != size) return false;
+
+            boolean changed = false;
+            for (int i = 0; i < cells.length; i++) {
+                if ((union & (1L << i)) != 0) {
+                    changed |= board.removeCandidates(cells[i], board.getAllCandidates() & ~digits);
+                }
+            }
+            return changed;
+        }
+
+        for (int d = start; d < positions.length; d++) {
+            int count = Long.bitCount(positions[d]);
+            if (count < 2 || count > size) continue;
+
+            long newUnion = union | positions[d];
+            if (Long.bitCount(newUnion) > size) continue;
+            if (search(board, cells, positions, d + 1, depth + 1, digits | Candidates.of(d + 1), newUnion)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,33 @@
+package ca.poum.sudokusolver.algorithms.techniques;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+import ca.poum.sudokusolver.Cell;
+
+/**
+ * Places a digit in a cell that has a single candidate left.
+ */
+public class NakedSingle implements Technique {
+    @Override
+    public String getName() {
+        return "Naked single";
+    }
+
+    @Override
+    public Difficulty getDifficulty() {
+        return Difficulty.EASY;
+    }
+
+    @Override
+    public boolean apply(Board board) {
+        int size = board.getSize();
+        for (int index = 0; index < board.getCellCount(); index++) {
+            Cell cell = board.getCell(index);
+            if (cell.getValue() == 0 && cell.getCandidateCount() == 1) {
+                board.setCell(index % size, index / size, Candidates.lowestDigit(cell.getCandidates()));
+                return true;
+            }
+        }
+        return false;
+    }
+}
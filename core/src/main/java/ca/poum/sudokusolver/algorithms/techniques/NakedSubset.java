@@ -0,0 +1,85 @@
+package ca.poum.sudokusolver.algorithms.techniques;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+import ca.poum.sudokusolver.Units;
+
+/**
+ * Naked pairs and triples: when N cells of a unit only have the same N candidates between them, those
+ * candidates are removed from the other cells of the unit.
+ */
+public class NakedSubset implements Technique {
+    private final int size;
+    // Candidates of the cells of the unit being searched, reused between calls
+    private long[] masks = new long[0];
+
+    /**
+     * @param size 2 for naked pairs, 3 for naked triples.
+     */
+    public NakedSubset(int size) {
+        if (size < 2 || size > 4) {
+            throw new IllegalArgumentException("Subset size must be between 2 and 4");
+        }
+        this.size = size;
+    }
+
+    @Override
+    public String getName() {
+        return size == 2 ? "Naked pair" : size == 3 ? "Naked triple" : "Naked quad";
+    }
+
+    @Override
+    public Difficulty getDifficulty() {
+        return size == 2 ? Difficulty.MEDIUM : Difficulty.HARD;
+    }
+
+    @Override
+    public boolean apply(Board board) {
+        Units units = board.getUnits();
+        if (masks.length != board.getSize()) {
+            masks = new long[board.getSize()];
+        }
+        for (int unit = 0; unit < units.getUnitCount(); unit++) {
+            int[] cells = units.cells(unit);
+            for (int i = 0; i < cells.length; i++) {
+                masks[i] = board.getCell(cells[i]).getCandidates();
+            }
+            if (search(board, cells, masks, 0, 0, 0, 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tries every combination of size cells having between 2 and size candidates.
+     *
+     * @param chosen Positions in the unit of the cells chosen so far, as a bit mask.
+     * @param union  Candidates of the cells chosen so far.
+     */
+    private boolean search(Board board, int[] cells, long[] masks, int start, int depth, long chosen, long union) {
+        if (depth == size) {
+            if (Candidates.count(union) != size) return false;
+
+            boolean changed = false;
+            for (int i = 0; i < cells.length; i++) {
+                if ((chosen & (1L << i)) == 0) {
+                    changed |= board.removeCandidates(cells[i], union);
+                }
+            }
+            return changed;
+        }
+
+        for (int i = start; i < cells.length; i++) {
+            int count = Candidates.count(masks[i]);
+            if (count < 2 || count > size) continue;
+
+            long newUnion = union | masks[i];
+            if (Candidates.count(newUnion) > size) continue;
+            if (search(board, cells, masks, i + 1, depth + 1, chosen | (1L << i), newUnion)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
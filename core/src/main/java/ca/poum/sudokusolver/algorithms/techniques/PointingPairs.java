@@ -0,0 +1,64 @@
+package ca.poum.sudokusolver.algorithms.techniques;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+import ca.poum.sudokusolver.Units;
+
+/**
+ * Pointing pairs and triples: when a digit's candidates in a square all lie on the same row or column,
+ * the digit is removed from the rest of that row or column.
+ */
+public class PointingPairs implements Technique {
+    @Override
+    public String getName() {
+        return "Pointing pair";
+    }
+
+    @Override
+    public Difficulty getDifficulty() {
+        return Difficulty.MEDIUM;
+    }
+
+    @Override
+    public boolean apply(Board board) {
+        Units units = board.getUnits();
+        int size = board.getSize();
+        for (int square = 0; square < size; square++) {
+            int[] cells = units.cells(units.getFirstSquare() + square);
+            for (int digit = 1; digit <= size; digit++) {
+                long rows = 0;
+                long columns = 0;
+                for (int index : cells) {
+                    if (Candidates.contains(board.getCell(index).getCandidates(), digit)) {
+                        rows |= 1L << units.rowOf(index);
+                        columns |= 1L << units.columnOf(index);
+                    }
+                }
+
+                boolean changed = false;
+                if (Long.bitCount(rows) == 1) {
+                    int row = Long.numberOfTrailingZeros(rows);
+                    changed = removeOutsideSquare(board, units.getFirstRow() + row, square, digit);
+                } else if (Long.bitCount(columns) == 1) {
+                    int column = Long.numberOfTrailingZeros(columns);
+                    changed = removeOutsideSquare(board, units.getFirstColumn() + column, square, digit);
+                }
+                if (changed) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean removeOutsideSquare(Board board, int line, int square, int digit) {
+        Units units = board.getUnits();
+        boolean changed = false;
+        for (int index : units.cells(line)) {
+            if (units.squareOf(index) != square) {
+                changed |= board.removeCandidates(index, Candidates.of(digit));
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,146 @@
+package ca.poum.sudokusolver.algorithms.techniques;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+import ca.poum.sudokusolver.Units;
+
+import java.util.Arrays;
+
+/**
+ * Simple coloring (single digit chains). Cells linked by conjugate pairs (the only two places for a digit in
+ * a unit) are colored alternately, so exactly one of the two colors of a chain holds the digit.
+ * <ul>
+ *     <li>Color wrap: if two cells of the same color see each other, that color is false everywhere</li>
+ *     <li>Color trap: a cell outside the chain seeing both colors can't hold the digit</li>
+ * </ul>
+ */
+public class SimpleColoring implements Technique {
+    // Conjugate partners of each cell, at most one per unit
+    private int[][] links = new int[0][];
+    private int[] linkCounts;
+    // Colors: 0 for uncolored, 1 or 2 otherwise
+    private int[] colors;
+    private int[] chain;
+
+    @Override
+    public String getName() {
+        return "Simple coloring";
+    }
+
+    @Override
+    public Difficulty getDifficulty() {
+        return Difficulty.EXPERT;
+    }
+
+    @Override
+    public boolean apply(Board board) {
+        Units units = board.getUnits();
+        int cellCount = board.getCellCount();
+        if (links.length != cellCount) {
+            // Buffers are reused between calls, only reallocated for a board of another size
+            links = new int[cellCount][3];
+            linkCounts = new int[cellCount];
+            colors = new int[cellCount];
+            chain = new int[cellCount];
+        }
+
+        for (int digit = 1; digit <= board.getSize(); digit++) {
+            long bit = Candidates.of(digit);
+            Arrays.fill(linkCounts, 0);
+            Arrays.fill(colors, 0);
+
+            for (int unit = 0; unit < units.getUnitCount(); unit++) {
+                int first = -1;
+                int second = -1;
+                int count = 0;
+                for (int index : units.cells(unit)) {
+                    if ((board.getCell(index).getCandidates() & bit) == 0) continue;
+                    if (count == 0) first = index;
+                    else second = index;
+                    count++;
+                }
+                if (count == 2) {
+                    links[first][linkCounts[first]++] = second;
+                    links[second][linkCounts[second]++] = first;
+                }
+            }
+
+            for (int start = 0; start < cellCount; start++) {
+                if (linkCounts[start] == 0 || colors[start] != 0) continue;
+
+                int length = colorChain(start, links, linkCounts, colors, chain);
+                if (applyRules(board, bit, colors, chain, length)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Colors the chain containing start with a breadth-first search.
+     *
+     * @return The number of cells of the chain, stored at the start of the chain array.
+     */
+    private static int colorChain(int start, int[][] links, int[] linkCounts, int[] colors, int[] chain) {
+        int length = 0;
+        chain[length++] = start;
+        colors[start] = 1;
+        for (int i = 0; i < length; i++) {
+            int index = chain[i];
+            for (int l = 0; l < linkCounts[index]; l++) {
+                int partner = links[index][l];
+                if (colors[partner] == 0) {
+                    colors[partner] = 3 - colors[index];
+                    chain[length++] = partner;
+                }
+            }
+        }
+        return length;
+    }
+
+    private static boolean applyRules(Board board, long bit, int[] colors, int[] chain, int length) {
+        Units units = board.getUnits();
+        // Color wrap
+        for (int i = 0; i < length; i++) {
+            for (int j = i + 1; j < length; j++) {
+                if (colors[chain[i]] == colors[chain[j]] && units.arePeers(chain[i], chain[j])) {
+                    int falseColor = colors[chain[i]];
+                    boolean changed = false;
+                    for (int k = 0; k < length; k++) {
+                        if (colors[chain[k]] == falseColor) {
+                            changed |= board.removeCandidates(chain[k], bit);
+                        }
+                    }
+                    return changed;
+                }
+            }
+        }
+
+        // Color trap
+        boolean changed = false;
+        for (int index = 0; index < board.getCellCount(); index++) {
+            if ((board.getCell(index).getCandidates() & bit) == 0 || isInChain(index, chain, length)) continue;
+
+            boolean seesFirst = false;
+            boolean seesSecond = false;
+            for (int i = 0; i < length; i++) {
+                if (units.arePeers(index, chain[i])) {
+                    if (colors[chain[i]] == 1) seesFirst = true;
+                    else seesSecond = true;
+                }
+            }
+            if (seesFirst && seesSecond) {
+                changed |= board.removeCandidates(index, bit);
+            }
+        }
+        return changed;
+    }
+
+    private static boolean isInChain(int index, int[] chain, int length) {
+        for (int i = 0; i < length; i++) {
+            if (chain[i] == index) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,19 @@
+package ca.poum.sudokusolver.algorithms.techniques;
+
+import ca.poum.sudokusolver.Board;
+
+/**
+ * A human solving technique. Singles place digits, every other technique only eliminates candidates.
+ */
+public interface Technique {
+    String getName();
+
+    Difficulty getDifficulty();
+
+    /**
+     * Looks for one occurrence of the technique on the board and applies it.
+     *
+     * @return True if the board changed.
+     */
+    boolean apply(Board board);
+}
@@ -0,0 +1,57 @@
+package ca.poum.sudokusolver.algorithms.techniques;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+import ca.poum.sudokusolver.Units;
+
+/**
+ * XY-Wing: a pivot cell with candidates {X, Y} sees a pincer {X, Z} and a pincer {Y, Z}. Whichever value the
+ * pivot takes, one of the pincers is Z, so Z is removed from every cell seeing both pincers.
+ */
+public class XYWing implements Technique {
+    @Override
+    public String getName() {
+        return "XY-Wing";
+    }
+
+    @Override
+    public Difficulty getDifficulty() {
+        return Difficulty.EXPERT;
+    }
+
+    @Override
+    public boolean apply(Board board) {
+        Units units = board.getUnits();
+        for (int pivot = 0; pivot < board.getCellCount(); pivot++) {
+            long pivotMask = board.getCell(pivot).getCandidates();
+            if (Candidates.count(pivotMask) != 2) continue;
+
+            for (int first : units.peers(pivot)) {
+                long firstMask = board.getCell(first).getCandidates();
+                if (Candidates.count(firstMask) != 2 || Candidates.count(firstMask & pivotMask) != 1) continue;
+
+                // first is {X, Z}, look for {Y, Z}
+                long z = firstMask & ~pivotMask;
+                long secondMask = (pivotMask & ~firstMask) | z;
+                for (int second : units.peers(pivot)) {
+                    if (second == first || board.getCell(second).getCandidates() != secondMask) continue;
+                    if (removeFromCommonPeers(board, first, second, z)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean removeFromCommonPeers(Board board, int first, int second, long mask) {
+        Units units = board.getUnits();
+        boolean changed = false;
+        for (int index : units.peers(first)) {
+            if (units.arePeers(index, second)) {
+                changed |= board.removeCandidates(index, mask);
+            }
+        }
+        return changed;
+    }
+}
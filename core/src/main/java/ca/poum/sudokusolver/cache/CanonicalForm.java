@@ -0,0 +1,360 @@
+package ca.poum.sudokusolver.cache;
+
+import ca.poum.sudokusolver.Board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Canonical representative of a 9x9 puzzle under the transformations that preserve its solution count:
+ * transposition, band and stack swaps, row swaps within a band, column swaps within a stack and digit
+ * relabeling. Equivalent puzzles get the same {@link #getKey() key}, and the transformation is kept so a
+ * solution can be converted between the puzzle and its canonical form.
+ * <p>
+ * The canonical form is the lexicographically smallest grid reachable by these transformations, where digits
+ * are relabeled in order of first appearance and empty cells come after every digit, so the rows with the most
+ * clues come first and settle the transformation early. It is found row by row, only keeping the partial
+ * transformations giving the smallest rows so far.
+ */
+public final class CanonicalForm {
+    /**
+     * Maximum number of partial transformations kept per row. Only very symmetric puzzles reach it, they then
+     * get a valid but possibly non-canonical key, which only costs cache hits.
+     */
+    private static final int MAX_CANDIDATES = 4096;
+
+    // Every column permutation allowed: a stack permutation and a permutation within each stack
+    private static final int[][] COLUMN_PERMUTATIONS = columnPermutations();
+    // For each mask of filled cells of a row, the column permutations moving them to the largest mask
+    private static final int[][] BEST_PERMUTATIONS = bestPermutations();
+
+    private final String key;
+    // Index in the original board of each canonical cell, and the opposite
+    private final int[] sourceIndexes;
+    private final int[] canonicalIndexes;
+    // labels[d] is the canonical digit of original digit d, inverseLabels the opposite
+    private final int[] labels;
+    private final int[] inverseLabels;
+
+    private CanonicalForm(String key, int[] sourceIndexes, int[] labels) {
+        this.key = key;
+        this.sourceIndexes = sourceIndexes;
+        this.canonicalIndexes = new int[81];
+        for (int i = 0; i < 81; i++) {
+            canonicalIndexes[sourceIndexes[i]] = i;
+        }
+        this.labels = labels;
+        this.inverseLabels = new int[10];
+        for (int digit = 1; digit <= 9; digit++) {
+            inverseLabels[labels[digit]] = digit;
+        }
+    }
+
+    /**
+     * @return The canonical form of the board's current values.
+     * @throws IllegalArgumentException If the board isn't 9x9.
+     */
+    public static CanonicalForm of(Board board) {
+        if (board.getSize() != 9) {
+            throw new IllegalArgumentException("Canonical forms only support 9x9 boards");
+        }
+
+        int[][] grids = new int[2][81];
+        for (int index = 0; index < 81; index++) {
+            int value = board.getCell(index).getValue();
+            grids[0][index] = value;
+            grids[1][(index % 9) * 9 + index / 9] = value;
+        }
+
+        List<Candidate> candidates = firstRowCandidates(grids);
+        StringBuilder key = new StringBuilder(81);
+        appendRow(key, candidates.get(0), 0);
+
+        int[] best = new int[9];
+        int[] row = new int[9];
+        int[] labels = new int[10];
+        for (int position = 1; position < 9; position++) {
+            // First pass finds the smallest row, the second keeps the transformations giving it, so only
+            // the candidates kept are allocated
+            boolean hasBest = false;
+            for (Candidate candidate : candidates) {
+                for (int source = 0; source < 9; source++) {
+                    if (!candidate.canPlace(position, source)) continue;
+                    int comparison = candidate.labelRow(source, hasBest ? best : null, row, labels);
+                    if (!hasBest || comparison < 0) {
+                        hasBest = true;
+                        System.arraycopy(row, 0, best, 0, 9);
+                    }
+                }
+            }
+
+            List<Candidate> next = new ArrayList<>();
+            for (Candidate candidate : candidates) {
+                for (int source = 0; source < 9 && next.size() < MAX_CANDIDATES; source++) {
+                    if (!candidate.canPlace(position, source)) continue;
+                    if (candidate.labelRow(source, best, row, labels) == 0) {
+                        next.add(candidate.place(position, source, labels));
+                    }
+                }
+            }
+            candidates = next;
+            appendRow(key, candidates.get(0), position);
+        }
+
+        Candidate chosen = candidates.get(0);
+        int[] sourceIndexes = new int[81];
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                int y = chosen.rows[i];
+                int x = chosen.columns[j];
+                sourceIndexes[i * 9 + j] = chosen.transposed ? x * 9 + y : y * 9 + x;
+            }
+        }
+
+        // Digits absent from the puzzle get the remaining labels in order
+        int[] finalLabels = chosen.labels.clone();
+        int nextLabel = chosen.nextLabel;
+        for (int digit = 1; digit <= 9; digit++) {
+            if (finalLabels[digit] == 0) {
+                finalLabels[digit] = nextLabel++;
+            }
+        }
+        return new CanonicalForm(key.toString(), sourceIndexes, finalLabels);
+    }
+
+    /**
+     * Digits of a row are all different, so once relabeled a row only depends on which of its cells are filled,
+     * and the smallest first row is the one with the most filled cells moved to the front. The candidates of the
+     * first row are therefore found from the masks of the filled cells, without trying every row.
+     */
+    private static List<Candidate> firstRowCandidates(int[][] grids) {
+        int bestMask = 0;
+        for (int[] grid : grids) {
+            for (int source = 0; source < 9; source++) {
+                bestMask = Math.max(bestMask, largestMask(filledMask(grid, source)));
+            }
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        int[] labels = new int[10];
+        for (int transposed = 0; transposed < 2; transposed++) {
+            int[] grid = grids[transposed];
+            for (int source = 0; source < 9; source++) {
+                int filled = filledMask(grid, source);
+                if (largestMask(filled) != bestMask) continue;
+
+                for (int permutation : BEST_PERMUTATIONS[filled]) {
+                    if (candidates.size() == MAX_CANDIDATES) break;
+                    Candidate candidate = new Candidate(transposed == 1, grid, COLUMN_PERMUTATIONS[permutation]);
+                    candidate.labelRow(source, null, new int[9], labels);
+                    candidates.add(candidate.place(0, source, labels));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * @return Mask of the filled cells of a row, bit 8 - column set if the cell is filled. A larger mask is a
+     * smaller relabeled row.
+     */
+    private static int filledMask(int[] grid, int row) {
+        int mask = 0;
+        for (int column = 0; column < 9; column++) {
+            if (grid[row * 9 + column] != 0) {
+                mask |= 1 << (8 - column);
+            }
+        }
+        return mask;
+    }
+
+    private static int permutedMask(int mask, int[] columns) {
+        int permuted = 0;
+        for (int column = 0; column < 9; column++) {
+            if ((mask & (1 << (8 - columns[column]))) != 0) {
+                permuted |= 1 << (8 - column);
+            }
+        }
+        return permuted;
+    }
+
+    /**
+     * @return The largest mask reachable by column permutations: stacks sorted by decreasing number of filled
+     * cells, with the filled cells at the start of each stack.
+     */
+    private static int largestMask(int mask) {
+        int[] counts = new int[3];
+        for (int stack = 0; stack < 3; stack++) {
+            counts[stack] = Integer.bitCount((mask >> (6 - 3 * stack)) & 7);
+        }
+        Arrays.sort(counts);
+        int largest = 0;
+        for (int stack = 2; stack >= 0; stack--) {
+            largest = (largest << 3) | (7 & ~((1 << (3 - counts[stack])) - 1));
+        }
+        return largest;
+    }
+
+    private static void appendRow(StringBuilder key, Candidate candidate, int position) {
+        int source = candidate.rows[position];
+        for (int column = 0; column < 9; column++) {
+            int value = candidate.grid[source * 9 + candidate.columns[column]];
+            key.append(value == 0 ? '.' : (char) ('0' + candidate.labels[value]));
+        }
+    }
+
+    /**
+     * @return The canonical grid as 81 characters, '.' for empty cells, shared by every equivalent puzzle.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return The board's values converted to the canonical form, in row-major order.
+     */
+    public byte[] toCanonical(Board board) {
+        byte[] canonical = new byte[81];
+        for (int i = 0; i < 81; i++) {
+            int value = board.getCell(sourceIndexes[i]).getValue();
+            canonical[i] = (byte) (value == 0 ? 0 : labels[value]);
+        }
+        return canonical;
+    }
+
+    /**
+     * Converts a grid in canonical form back to the original board, filling the board's empty cells.
+     *
+     * @param canonical Values in canonical form, in row-major order.
+     * @return The number of cells filled.
+     */
+    public int fromCanonical(byte[] canonical, Board board) {
+        int filled = 0;
+        for (int i = 0; i < 81; i++) {
+            int index = sourceIndexes[i];
+            if (board.getCell(index).getValue() == 0 && canonical[i] != 0) {
+                board.setCell(index % 9, index / 9, inverseLabels[canonical[i]]);
+                filled++;
+            }
+        }
+        return filled;
+    }
+
+    /**
+     * @param canonical Values in canonical form, in row-major order.
+     * @param index     Index of a cell of the original board, y * 9 + x.
+     * @return The value of the cell, converted back from the canonical form.
+     */
+    public int valueAt(byte[] canonical, int index) {
+        int value = canonical[canonicalIndexes[index]];
+        return value == 0 ? 0 : inverseLabels[value];
+    }
+
+    /**
+     * Partial transformation: the orientation, the column permutation and the rows placed so far.
+     */
+    private static final class Candidate {
+        final boolean transposed;
+        final int[] grid;
+        final int[] columns;
+        final int[] rows = new int[9];
+        final int[] labels = new int[10];
+        int nextLabel = 1;
+        int usedRows;
+
+        Candidate(boolean transposed, int[] grid, int[] columns) {
+            this.transposed = transposed;
+            this.grid = grid;
+            this.columns = columns;
+        }
+
+        /**
+         * The first row of a band can come from any unused band, the next ones from the same band.
+         */
+        boolean canPlace(int position, int source) {
+            if ((usedRows & (1 << source)) != 0) return false;
+            if (position % 3 == 0) {
+                return (usedRows & (7 << (source / 3 * 3))) == 0;
+            }
+            return source / 3 == rows[position - 1] / 3;
+        }
+
+        /**
+         * Relabels a source row with this transformation, extending the labels with the digits seen first.
+         *
+         * @param best      Row to compare with, or null.
+         * @param row       Receives the relabeled row, only complete if the comparison isn't positive.
+         * @param newLabels Receives the extended labels, the next label being the first one left at 0.
+         * @return The comparison of the relabeled row with best, stopping at the first difference, or 0 if
+         * best is null.
+         */
+        int labelRow(int source, int[] best, int[] row, int[] newLabels) {
+            System.arraycopy(labels, 0, newLabels, 0, 10);
+            int label = nextLabel;
+            int comparison = 0;
+            for (int column = 0; column < 9; column++) {
+                int value = grid[source * 9 + columns[column]];
+                if (value != 0 && newLabels[value] == 0) {
+                    newLabels[value] = label++;
+                }
+                // Empty cells sort after every digit
+                row[column] = value == 0 ? 10 : newLabels[value];
+                if (best != null && comparison == 0) {
+                    comparison = Integer.compare(row[column], best[column]);
+                    if (comparison > 0) return comparison;
+                }
+            }
+            return comparison;
+        }
+
+        Candidate place(int position, int source, int[] newLabels) {
+            Candidate placed = new Candidate(transposed, grid, columns);
+            System.arraycopy(rows, 0, placed.rows, 0, position);
+            placed.rows[position] = source;
+            placed.usedRows = usedRows | (1 << source);
+            System.arraycopy(newLabels, 0, placed.labels, 0, 10);
+            placed.nextLabel = nextLabel;
+            for (int digit = 1; digit <= 9; digit++) {
+                placed.nextLabel = Math.max(placed.nextLabel, newLabels[digit] + 1);
+            }
+            return placed;
+        }
+    }
+
+    private static int[][] bestPermutations() {
+        int[][] best = new int[1 << 9][];
+        int[] matching = new int[COLUMN_PERMUTATIONS.length];
+        for (int mask = 0; mask < best.length; mask++) {
+            int largest = largestMask(mask);
+            int count = 0;
+            for (int permutation = 0; permutation < COLUMN_PERMUTATIONS.length; permutation++) {
+                if (permutedMask(mask, COLUMN_PERMUTATIONS[permutation]) == largest) {
+                    matching[count++] = permutation;
+                }
+            }
+            best[mask] = Arrays.copyOf(matching, count);
+        }
+        return best;
+    }
+
+    private static int[][] columnPermutations() {
+        int[][] triples = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+        int[][] permutations = new int[6 * 6 * 6 * 6][9];
+        int count = 0;
+        for (int[] stacks : triples) {
+            for (int[] first : triples) {
+                for (int[] second : triples) {
+                    for (int[] third : triples) {
+                        int[][] within = {first, second, third};
+                        for (int column = 0; column < 9; column++) {
+                            permutations[count][column] = stacks[column / 3] * 3 + within[column / 3][column % 3];
+                        }
+                        count++;
+                    }
+                }
+            }
+        }
+        return permutations;
+    }
+}
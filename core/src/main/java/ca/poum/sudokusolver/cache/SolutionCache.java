@@ -0,0 +1,107 @@
+package ca.poum.sudokusolver.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded thread-safe cache of solutions, keyed by {@link CanonicalForm#getKey()}. Entries are spread over
+ * independently locked segments, each evicting its least recently used entry once full, so threads rarely
+ * contend and the total size never exceeds the capacity.
+ */
+public class SolutionCache {
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param capacity Maximum number of solutions kept.
+     */
+    public SolutionCache(int capacity) {
+        if (capacity < SEGMENT_COUNT) {
+            throw new IllegalArgumentException("Cache capacity must be at least " + SEGMENT_COUNT);
+        }
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            // Spread the remainder so the segment capacities add up to the total
+            segments[i] = new Segment(capacity / SEGMENT_COUNT + (i < capacity % SEGMENT_COUNT ? 1 : 0));
+        }
+    }
+
+    /**
+     * @return The canonical solution of the puzzle, or null if it isn't cached.
+     */
+    public byte[] get(String key) {
+        Segment segment = segmentOf(key);
+        byte[] solution;
+        synchronized (segment) {
+            solution = segment.get(key);
+        }
+        (solution == null ? misses : hits).increment();
+        return solution;
+    }
+
+    /**
+     * @param solution The canonical solution of the puzzle, which must not be modified afterwards.
+     */
+    public void put(String key, byte[] solution) {
+        Segment segment = segmentOf(key);
+        synchronized (segment) {
+            segment.put(key, solution);
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of solutions currently cached.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return Hits, misses and size of the cache.
+     */
+    public String getSummary() {
+        long hitCount = getHitCount();
+        long total = hitCount + getMissCount();
+        return String.format("Solution cache: %d hits out of %d lookups (%.1f%%), %d entries",
+                hitCount, total, total == 0 ? 0 : 100.0 * hitCount / total, size());
+    }
+
+    private Segment segmentOf(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * Least recently used map, accessed under its own lock.
+     */
+    private static final class Segment extends LinkedHashMap<String, byte[]> {
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+            return size() > capacity;
+        }
+    }
+}
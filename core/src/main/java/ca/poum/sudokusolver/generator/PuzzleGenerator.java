@@ -0,0 +1,206 @@
+package ca.poum.sudokusolver.generator;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.algorithms.DancingLinksAlgorithm;
+import ca.poum.sudokusolver.algorithms.TechniqueAlgorithm;
+import ca.poum.sudokusolver.algorithms.techniques.Difficulty;
+
+import java.util.Random;
+
+/**
+ * Generates puzzles with a unique solution. A random full grid is built first, then clues are removed in a
+ * random order, each removal being kept only if {@link DancingLinksAlgorithm} still finds a unique solution.
+ * <ul>
+ *     <li>With a target clue count, removal stops once the puzzle has that many clues</li>
+ *     <li>With a target difficulty, the puzzle is graded with {@link TechniqueAlgorithm}. If it's too hard,
+ *     clues of the solution are added back until it isn't, since every clue can only make it easier. The
+ *     puzzle is returned if it then has the target grade, otherwise a new grid is tried</li>
+ * </ul>
+ * Generation only depends on the seed, see {@link #setSeed(long)}. Instances are not thread-safe, use one
+ * instance per thread.
+ */
+public class PuzzleGenerator {
+    /**
+     * Number of full grids tried by {@link #generate(int, Difficulty)} before giving up.
+     */
+    public static final int MAX_ATTEMPTS = 1000;
+
+    private final int size;
+    private final int boxSize;
+    private final Board board;
+    private final DancingLinksAlgorithm solver = new DancingLinksAlgorithm();
+    private final TechniqueAlgorithm grader = new TechniqueAlgorithm();
+    private final Random random;
+    private final int[] order;
+    private final int[] digits;
+    private int attempts;
+
+    public PuzzleGenerator(long seed) {
+        this(9, seed);
+    }
+
+    /**
+     * @param size Number of digits of the generated boards.
+     */
+    public PuzzleGenerator(int size, long seed) {
+        this.board = new Board(size);
+        this.size = size;
+        this.boxSize = board.getBoxSize();
+        this.random = new Random(seed);
+        this.order = new int[size * size];
+        this.digits = new int[size];
+    }
+
+    /**
+     * Restarts the generator's random sequence, the same seed always generates the same puzzles.
+     */
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    /**
+     * @return A random full grid, indexed as [row][column].
+     */
+    public int[][] generateSolution() {
+        // The squares of the diagonal don't constrain each other, fill them with random permutations and
+        // let the solver complete the grid. Some fillings have no completion, mostly on 4x4 boards, they are
+        // drawn again.
+        int[][] grid = new int[size][size];
+        do {
+            for (int square = 0; square < boxSize; square++) {
+                shuffleDigits();
+                for (int i = 0; i < size; i++) {
+                    grid[square * boxSize + i / boxSize][square * boxSize + i % boxSize] = digits[i];
+                }
+            }
+            board.load(grid);
+            solver.solveIteration(board);
+        } while (!board.isSolved());
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                grid[y][x] = board.getCell(x, y).getValue();
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Generates a puzzle with a unique solution.
+     *
+     * @param targetClues Number of clues to stop at, or 0 to remove as many clues as possible.
+     * @param difficulty  The grade the puzzle must have, or null for any grade.
+     * @return The puzzle, indexed as [row][column] with 0 for empty cells.
+     * @throws IllegalStateException If no puzzle matched the targets after {@link #MAX_ATTEMPTS} full grids.
+     */
+    public int[][] generate(int targetClues, Difficulty difficulty) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            attempts++;
+            int[][] solution = generateSolution();
+            int[][] puzzle = new int[size][];
+            for (int y = 0; y < size; y++) {
+                puzzle[y] = solution[y].clone();
+            }
+
+            int clues = removeClues(puzzle, targetClues);
+            if (targetClues > 0 && clues > targetClues) continue;
+            if (difficulty == null) {
+                return puzzle;
+            }
+
+            Difficulty grade = grade(puzzle);
+            if (grade.compareTo(difficulty) > 0 && targetClues == 0) {
+                grade = addClues(puzzle, solution, difficulty);
+            }
+            if (grade == difficulty) {
+                return puzzle;
+            }
+        }
+        throw new IllegalStateException("No puzzle with " + (targetClues > 0 ? targetClues : "minimal")
+                + " clues and difficulty " + difficulty + " found after " + MAX_ATTEMPTS + " attempts");
+    }
+
+    /**
+     * @return The number of full grids generated by {@link #generate(int, Difficulty)} since the generator was
+     * created, rejected ones included.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Removes clues from a full grid in a random order, keeping the solution unique.
+     *
+     * @return The number of clues left.
+     */
+    private int removeClues(int[][] puzzle, int targetClues) {
+        board.load(puzzle);
+        shuffleCells();
+
+        int clues = order.length;
+        for (int index : order) {
+            if (clues <= targetClues) break;
+
+            int x = index % size;
+            int y = index / size;
+            int mark = board.getUndoMark();
+            board.setCell(x, y, 0);
+            if (solver.countSolutions(board, 2) == 1) {
+                puzzle[y][x] = 0;
+                clues--;
+            } else {
+                board.undo(mark);
+            }
+        }
+        return clues;
+    }
+
+    /**
+     * Adds clues of the solution back to the puzzle in a random order, until it is no harder than the given
+     * difficulty.
+     *
+     * @return The grade of the puzzle.
+     */
+    private Difficulty addClues(int[][] puzzle, int[][] solution, Difficulty maxDifficulty) {
+        Difficulty grade = Difficulty.NEEDS_GUESSING;
+        shuffleCells();
+        for (int index : order) {
+            int x = index % size;
+            int y = index / size;
+            if (puzzle[y][x] != 0) continue;
+
+            puzzle[y][x] = solution[y][x];
+            grade = grade(puzzle);
+            if (grade.compareTo(maxDifficulty) <= 0) break;
+        }
+        return grade;
+    }
+
+    private Difficulty grade(int[][] puzzle) {
+        board.load(puzzle);
+        return grader.grade(board);
+    }
+
+    private void shuffleCells() {
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        shuffle(order, order.length);
+    }
+
+    private void shuffleDigits() {
+        for (int i = 0; i < size; i++) {
+            digits[i] = i + 1;
+        }
+        shuffle(digits, size);
+    }
+
+    // Fisher-Yates shuffle of the first length elements
+    private void shuffle(int[] array, int length) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ca.poum.sudokusolver.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Packed binary puzzle format for standard 9x9 boards. Every puzzle is a fixed size record of {@value #RECORD_SIZE} bytes holding
+ * 4 bits per cell, in row-major order: cell {@code 2k} is the low nibble of byte {@code k} and cell
+ * {@code 2k + 1} the high nibble. Empty cells are 0.
+ * <p>
+ * Files start with the {@value #HEADER_SIZE} bytes magic number "SDK4", followed by the records.
+ */
+public final class BinaryPuzzleCodec {
+    public static final int RECORD_SIZE = 41;
+    public static final int HEADER_SIZE = 4;
+    private static final byte[] MAGIC = {'S', 'D', 'K', '4'};
+
+    private BinaryPuzzleCodec() {
+    }
+
+    public static byte[] header() {
+        return MAGIC.clone();
+    }
+
+    /**
+     * @throws IllegalArgumentException If the buffer doesn't start with the magic number.
+     */
+    public static void checkHeader(ByteBuffer buffer) {
+        for (int i = 0; i < HEADER_SIZE; i++) {
+            if (buffer.limit() <= i || buffer.get(i) != MAGIC[i]) {
+                throw new IllegalArgumentException("Not a binary puzzle file, missing SDK4 header");
+            }
+        }
+    }
+
+    /**
+     * Packs a grid indexed as {@code grid[row][column]} into a record.
+     */
+    public static void encode(int[][] grid, byte[] record, int offset) {
+        if (grid.length != 9) {
+            throw new IllegalArgumentException("The binary format only supports 9x9 boards");
+        }
+        for (int i = 0; i < RECORD_SIZE; i++) {
+            record[offset + i] = 0;
+        }
+        for (int cell = 0; cell < 81; cell++) {
+            int value = grid[cell / 9][cell % 9];
+            if (value < 0 || value > 9) {
+                throw new IllegalArgumentException("Invalid value " + value + " at cell " + cell);
+            }
+            record[offset + cell / 2] |= (byte) (value << (4 * (cell % 2)));
+        }
+    }
+
+    public static byte[] encode(int[][] grid) {
+        byte[] record = new byte[RECORD_SIZE];
+        encode(grid, record, 0);
+        return record;
+    }
+
+    /**
+     * Reads a single cell of a record, without copying it.
+     *
+     * @param recordOffset Absolute position of the record in the buffer.
+     * @param cell         Index of the cell, row * 9 + column.
+     */
+    public static int cellAt(ByteBuffer buffer, int recordOffset, int cell) {
+        int packed = buffer.get(recordOffset + cell / 2);
+        return (packed >>> (4 * (cell % 2))) & 0xF;
+    }
+
+    /**
+     * Unpacks a record into a grid indexed as {@code grid[row][column]}.
+     *
+     * @throws IllegalArgumentException If a cell holds a value above 9.
+     */
+    public static void decode(ByteBuffer buffer, int recordOffset, int[][] grid) {
+        for (int cell = 0; cell < 81; cell++) {
+            int value = cellAt(buffer, recordOffset, cell);
+            if (value > 9) {
+                throw new IllegalArgumentException("Invalid value " + value + " at cell " + cell);
+            }
+            grid[cell / 9][cell % 9] = value;
+        }
+    }
+
+    public static int[][] decode(byte[] record) {
+        int[][] grid = new int[9][9];
+        decode(ByteBuffer.wrap(record), 0, grid);
+        return grid;
+    }
+
+    /**
+     * Converts a puzzle line in any format accepted by {@link PuzzleCodec#parse(String)}, including the
+     * exported base64 format, to a record.
+     */
+    public static byte[] fromLine(String line) {
+        return encode(PuzzleCodec.parse(line));
+    }
+
+    /**
+     * @return The record in the base64 format exported by the application.
+     */
+    public static String toBase64(byte[] record) {
+        return PuzzleCodec.toBase64(decode(record));
+    }
+}
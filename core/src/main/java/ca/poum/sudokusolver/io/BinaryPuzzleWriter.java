@@ -0,0 +1,46 @@
+package ca.poum.sudokusolver.io;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams puzzles to a file in the {@link BinaryPuzzleCodec} format.
+ */
+public class BinaryPuzzleWriter implements AutoCloseable {
+    private final OutputStream out;
+    private final byte[] record = new byte[BinaryPuzzleCodec.RECORD_SIZE];
+    private long count;
+
+    public BinaryPuzzleWriter(Path path) throws IOException {
+        this(Files.newOutputStream(path));
+    }
+
+    public BinaryPuzzleWriter(OutputStream out) throws IOException {
+        this.out = new BufferedOutputStream(out, 1 << 16);
+        this.out.write(BinaryPuzzleCodec.header());
+    }
+
+    /**
+     * @param grid Puzzle indexed as {@code grid[row][column]}.
+     */
+    public void write(int[][] grid) throws IOException {
+        BinaryPuzzleCodec.encode(grid, record, 0);
+        out.write(record);
+        count++;
+    }
+
+    /**
+     * @return The number of puzzles written so far.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
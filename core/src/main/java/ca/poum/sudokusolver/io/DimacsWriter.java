@@ -0,0 +1,93 @@
+package ca.poum.sudokusolver.io;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.algorithms.sat.ClauseSink;
+import ca.poum.sudokusolver.algorithms.sat.SudokuCnf;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams a CNF formula in the DIMACS format read by SAT solvers: comment lines starting with "c", the
+ * "p cnf variables clauses" header, then one clause per line ending with 0. The header comes first, so the
+ * number of clauses must be known before writing them, and {@link #close()} checks it was right.
+ */
+public class DimacsWriter implements ClauseSink<IOException>, AutoCloseable {
+    private final Writer out;
+    private final long expectedClauses;
+    private final StringBuilder line = new StringBuilder();
+    private long count;
+
+    /**
+     * @param comment Written before the header, one comment line per line of text, or null for none.
+     */
+    public DimacsWriter(Writer out, int variables, long clauses, String comment) throws IOException {
+        this.out = out;
+        this.expectedClauses = clauses;
+        if (comment != null) {
+            for (String commentLine : comment.split("\n")) {
+                out.write("c " + commentLine + "\n");
+            }
+        }
+        out.write("p cnf " + variables + " " + clauses + "\n");
+    }
+
+    /**
+     * Streams the {@link SudokuCnf} encoding of the board, rules and clues, to a file. The puzzle, for boards
+     * {@link PuzzleCodec} can write on one line, and the numbering of the variables are written as comments.
+     */
+    public static void write(Board board, Path path) throws IOException {
+        write(board, Files.newBufferedWriter(path, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Like {@link #write(Board, Path)}, to a writer which is closed at the end, even if writing fails.
+     */
+    public static void write(Board board, Writer out) throws IOException {
+        int size = board.getSize();
+        String comment = "Variable cell * " + size + " + digit is true when the cell holds the digit, cell = y * "
+                + size + " + x from 0";
+        if (PuzzleCodec.canWriteLine(size)) {
+            comment = "Sudoku " + PuzzleCodec.toLine(board) + "\n" + comment;
+        }
+        // The writer is closed again by the DimacsWriter, which closing twice allows
+        try (Writer buffered = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+             DimacsWriter writer = new DimacsWriter(buffered, SudokuCnf.variableCount(size),
+                     SudokuCnf.clauseCount(board), comment)) {
+            SudokuCnf.encode(board, writer);
+        }
+    }
+
+    @Override
+    public void addClause(int[] literals, int length) throws IOException {
+        line.setLength(0);
+        for (int i = 0; i < length; i++) {
+            line.append(literals[i]).append(' ');
+        }
+        line.append("0\n");
+        out.append(line);
+        count++;
+    }
+
+    /**
+     * @return The number of clauses written so far.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @throws IllegalStateException If the number of clauses written isn't the one of the header.
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+        if (count != expectedClauses) {
+            throw new IllegalStateException("Wrote " + count + " clauses, the header announced " + expectedClauses);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ca.poum.sudokusolver.io;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory-mapped corpus of puzzles in the {@link BinaryPuzzleCodec} format. Files larger than 2 GB are mapped
+ * as several segments holding whole records.
+ * <p>
+ * Reads don't move any buffer position, so a corpus can be shared between threads as long as each thread
+ * uses its own {@link PuzzleView}.
+ */
+public class MappedPuzzleCorpus implements AutoCloseable {
+    private static final int RECORDS_PER_SEGMENT = Integer.MAX_VALUE / BinaryPuzzleCodec.RECORD_SIZE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    /**
+     * @throws IllegalArgumentException If the file isn't in the binary puzzle format.
+     */
+    public MappedPuzzleCorpus(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long dataSize = channel.size() - BinaryPuzzleCodec.HEADER_SIZE;
+            if (dataSize < 0 || dataSize % BinaryPuzzleCodec.RECORD_SIZE != 0) {
+                throw new IllegalArgumentException("File size doesn't match a whole number of puzzles");
+            }
+            BinaryPuzzleCodec.checkHeader(channel.map(FileChannel.MapMode.READ_ONLY, 0, BinaryPuzzleCodec.HEADER_SIZE));
+
+            size = dataSize / BinaryPuzzleCodec.RECORD_SIZE;
+            segments = new MappedByteBuffer[(int) ((size + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT)];
+            for (int i = 0; i < segments.length; i++) {
+                long first = (long) i * RECORDS_PER_SEGMENT;
+                long records = Math.min(RECORDS_PER_SEGMENT, size - first);
+                long position = BinaryPuzzleCodec.HEADER_SIZE + first * BinaryPuzzleCodec.RECORD_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        records * BinaryPuzzleCodec.RECORD_SIZE);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The number of puzzles in the corpus.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Positions a view on a puzzle, without copying it.
+     *
+     * @param index Position of the puzzle, from 0 to {@link #size()} - 1.
+     * @param view  The view to reuse.
+     * @return The view given as argument.
+     */
+    public PuzzleView view(long index, PuzzleView view) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Puzzle " + index + " out of " + size);
+        }
+        int segment = (int) (index / RECORDS_PER_SEGMENT);
+        int offset = (int) (index % RECORDS_PER_SEGMENT) * BinaryPuzzleCodec.RECORD_SIZE;
+        view.moveTo(segments[segment], offset, index);
+        return view;
+    }
+
+    public PuzzleView view(long index) {
+        return view(index, new PuzzleView());
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
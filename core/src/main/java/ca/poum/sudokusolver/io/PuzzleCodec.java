@@ -0,0 +1,153 @@
+package ca.poum.sudokusolver.io;
+
+import ca.poum.sudokusolver.Board;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Converts puzzles to and from their one line text representations. Two formats are supported:
+ * <ul>
+ *     <li>One character per cell, read row by row, where empty cells are either '0' or '.'. Standard
+ *     puzzles have 81 characters, larger ones use letters for the digits above 9 (A for 10, B for 11...),
+ *     which supports up to 25x25 boards</li>
+ *     <li>The base64 encoding of that string, as exported by the application</li>
+ * </ul>
+ * Grids are always indexed as {@code grid[row][column]}, like {@link Board#Board(int[][])}.
+ */
+public final class PuzzleCodec {
+    private static final String SYMBOLS = "123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    private PuzzleCodec() {
+    }
+
+    /**
+     * Parses a puzzle line in either supported format.
+     *
+     * @throws IllegalArgumentException If the line is in neither format.
+     */
+    public static int[][] parse(String line) {
+        line = line.strip();
+        if (sizeOfLine(line.length()) != 0) {
+            return parseDigits(line);
+        }
+
+        String decoded;
+        try {
+            decoded = new String(Base64.getDecoder().decode(line), StandardCharsets.US_ASCII);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Puzzle is neither a line of one character per cell nor valid base64", e);
+        }
+        if (sizeOfLine(decoded.length()) == 0) {
+            throw new IllegalArgumentException("Decoded puzzle has " + decoded.length() + " characters, which isn't a supported board");
+        }
+        return parseDigits(decoded);
+    }
+
+    /**
+     * Parses a puzzle of one character per cell, where '0' and '.' are empty cells.
+     *
+     * @throws IllegalArgumentException If the length isn't a supported board or a character isn't a digit
+     *                                  of the board or a dot.
+     */
+    public static int[][] parseDigits(String digits) {
+        int size = sizeOfLine(digits.length());
+        if (size == 0) {
+            throw new IllegalArgumentException("Puzzle has " + digits.length() + " characters, which isn't a supported board");
+        }
+
+        int[][] grid = new int[size][size];
+        for (int i = 0; i < digits.length(); i++) {
+            char c = digits.charAt(i);
+            if (c == '.' || c == '0') continue;
+            int value = valueOf(c);
+            if (value < 1 || value > size) {
+                throw new IllegalArgumentException("Invalid character '" + c + "' at position " + i);
+            }
+            grid[i / size][i % size] = value;
+        }
+        return grid;
+    }
+
+    /**
+     * @return The board as one character per cell, with '.' for empty cells.
+     */
+    public static String toLine(Board board) {
+        int size = board.getSize();
+        StringBuilder sb = new StringBuilder(size * size);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int value = board.getCell(x, y).getValue();
+                sb.append(value == 0 ? '.' : symbolOf(value));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return True if boards of the size can be written with one character per cell, false if their largest
+     * digits have no symbol.
+     */
+    public static boolean canWriteLine(int size) {
+        return size <= SYMBOLS.length();
+    }
+
+    /**
+     * @return The grid as one character per cell, with '.' for empty cells.
+     */
+    public static String toLine(int[][] grid) {
+        StringBuilder sb = new StringBuilder(grid.length * grid.length);
+        for (int[] row : grid) {
+            for (int value : row) {
+                sb.append(value == 0 ? '.' : symbolOf(value));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return The base64 encoding of one character per cell, with 0 for empty cells.
+     */
+    public static String toBase64(int[][] grid) {
+        StringBuilder sb = new StringBuilder(grid.length * grid.length);
+        for (int[] row : grid) {
+            for (int i : row) {
+                sb.append(i == 0 ? '0' : symbolOf(i));
+            }
+        }
+        return Base64.getEncoder().encodeToString(sb.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @param value A digit from 1 to 35.
+     * @return The character representing the digit, '1' to '9' then 'A' to 'Z'.
+     */
+    public static char symbolOf(int value) {
+        if (value < 1 || value > SYMBOLS.length()) {
+            throw new IllegalArgumentException("No symbol for digit " + value);
+        }
+        return SYMBOLS.charAt(value - 1);
+    }
+
+    /**
+     * @return The digit represented by the character, case-insensitive, or -1 if it isn't a digit.
+     */
+    public static int valueOf(char symbol) {
+        int index = SYMBOLS.indexOf(Character.toUpperCase(symbol));
+        return index < 0 ? -1 : index + 1;
+    }
+
+    /**
+     * @return The size of the board written with the given number of characters, or 0 if no supported
+     * board has that many cells.
+     */
+    private static int sizeOfLine(int length) {
+        for (int boxSize = 2; boxSize * boxSize <= SYMBOLS.length(); boxSize++) {
+            int size = boxSize * boxSize;
+            if (size * size == length) {
+                return size;
+            }
+        }
+        return 0;
+    }
+}
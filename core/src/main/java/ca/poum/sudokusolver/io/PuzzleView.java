@@ -0,0 +1,43 @@
+package ca.poum.sudokusolver.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Read-only view of a single record in a {@link MappedPuzzleCorpus}. Cells are read directly from the mapped
+ * file. A view can be repositioned on another record, so a thread can walk a whole corpus with one view.
+ */
+public class PuzzleView {
+    private ByteBuffer buffer;
+    private int offset;
+    private long index;
+
+    void moveTo(ByteBuffer buffer, int offset, long index) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.index = index;
+    }
+
+    /**
+     * @return Position of the puzzle in its corpus.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * @param x Column of the cell.
+     * @param y Row of the cell.
+     * @return The value of the cell, 0 if empty.
+     */
+    public int getValue(int x, int y) {
+        return BinaryPuzzleCodec.cellAt(buffer, offset, y * 9 + x);
+    }
+
+    /**
+     * Copies the puzzle into an existing grid indexed as {@code grid[row][column]}, ready for
+     * {@link ca.poum.sudokusolver.Board#load(int[][])}.
+     */
+    public void copyTo(int[][] grid) {
+        BinaryPuzzleCodec.decode(buffer, offset, grid);
+    }
+}
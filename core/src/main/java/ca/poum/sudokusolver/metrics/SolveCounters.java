@@ -0,0 +1,76 @@
+package ca.poum.sudokusolver.metrics;
+
+/**
+ * Counters of the work done during a single solve. An instance is attached to a board with
+ * {@link ca.poum.sudokusolver.Board#setCounters(SolveCounters)}, the board and the algorithms then update it.
+ * When no counters are attached, instrumentation costs a single null check per event.
+ * <p>
+ * Not thread-safe, counters must stay confined to the thread using the board.
+ */
+public class SolveCounters {
+    private long eliminations;
+    private long placements;
+    private long solveCellPasses;
+    private long searchNodes;
+    private long markingRecalculations;
+
+    public void countEliminations(int count) {
+        eliminations += count;
+    }
+
+    public void countPlacement() {
+        placements++;
+    }
+
+    public void countSolveCellPass() {
+        solveCellPasses++;
+    }
+
+    public void countSearchNodes(long count) {
+        searchNodes += count;
+    }
+
+    public void countMarkingRecalculation() {
+        markingRecalculations++;
+    }
+
+    /**
+     * @return The number of candidates removed, by propagation or by techniques.
+     */
+    public long getEliminations() {
+        return eliminations;
+    }
+
+    /**
+     * @return The number of digits placed on empty cells.
+     */
+    public long getPlacements() {
+        return placements;
+    }
+
+    public long getSolveCellPasses() {
+        return solveCellPasses;
+    }
+
+    /**
+     * @return The number of nodes visited by backtracking searches.
+     */
+    public long getSearchNodes() {
+        return searchNodes;
+    }
+
+    /**
+     * @return The number of whole board recalculations of the pencil markings.
+     */
+    public long getMarkingRecalculations() {
+        return markingRecalculations;
+    }
+
+    public void reset() {
+        eliminations = 0;
+        placements = 0;
+        solveCellPasses = 0;
+        searchNodes = 0;
+        markingRecalculations = 0;
+    }
+}
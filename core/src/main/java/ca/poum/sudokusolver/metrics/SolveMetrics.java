@@ -0,0 +1,115 @@
+package ca.poum.sudokusolver.metrics;
+
+import java.util.Locale;
+
+/**
+ * Aggregated {@link SolveCounters} and wall times of many solves, as one histogram per counter. Each thread
+ * should record into its own instance, the instances are then combined with {@link #merge(SolveMetrics)}.
+ * <p>
+ * Not thread-safe.
+ */
+public class SolveMetrics {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final LatencyHistogram durations = new LatencyHistogram();
+    private final LatencyHistogram eliminations = new LatencyHistogram();
+    private final LatencyHistogram placements = new LatencyHistogram();
+    private final LatencyHistogram solveCellPasses = new LatencyHistogram();
+    private final LatencyHistogram searchNodes = new LatencyHistogram();
+    private final LatencyHistogram markingRecalculations = new LatencyHistogram();
+
+    /**
+     * Records the counters of a finished solve.
+     *
+     * @param nanos Wall time of the solve.
+     */
+    public void record(SolveCounters counters, long nanos) {
+        durations.record(nanos);
+        eliminations.record(counters.getEliminations());
+        placements.record(counters.getPlacements());
+        solveCellPasses.record(counters.getSolveCellPasses());
+        searchNodes.record(counters.getSearchNodes());
+        markingRecalculations.record(counters.getMarkingRecalculations());
+    }
+
+    public void merge(SolveMetrics other) {
+        durations.merge(other.durations);
+        eliminations.merge(other.eliminations);
+        placements.merge(other.placements);
+        solveCellPasses.merge(other.solveCellPasses);
+        searchNodes.merge(other.searchNodes);
+        markingRecalculations.merge(other.markingRecalculations);
+    }
+
+    public long getSolveCount() {
+        return durations.getCount();
+    }
+
+    public LatencyHistogram getDurations() {
+        return durations;
+    }
+
+    /**
+     * @return The metrics as a JSON object, with the count, sum, max and quantiles of every histogram.
+     * Durations are in nanoseconds.
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"solves\":").append(getSolveCount());
+        appendJson(sb, "duration_ns", durations);
+        appendJson(sb, "eliminations", eliminations);
+        appendJson(sb, "placements", placements);
+        appendJson(sb, "solve_cell_passes", solveCellPasses);
+        appendJson(sb, "search_nodes", searchNodes);
+        appendJson(sb, "marking_recalculations", markingRecalculations);
+        return sb.append('}').toString();
+    }
+
+    /**
+     * @return The metrics in the Prometheus text exposition format, one summary per histogram. Durations
+     * are in seconds.
+     */
+    public String toPrometheus() {
+        StringBuilder sb = new StringBuilder();
+        appendPrometheus(sb, "sudoku_solve_duration_seconds", "Wall time of a solve", durations, 1e-9);
+        appendPrometheus(sb, "sudoku_solve_eliminations", "Candidates removed per solve", eliminations, 1);
+        appendPrometheus(sb, "sudoku_solve_placements", "Digits placed per solve", placements, 1);
+        appendPrometheus(sb, "sudoku_solve_cell_passes", "Calls to solveCell per solve", solveCellPasses, 1);
+        appendPrometheus(sb, "sudoku_solve_search_nodes", "Backtracking nodes per solve", searchNodes, 1);
+        appendPrometheus(sb, "sudoku_solve_marking_recalculations", "Whole board marking recalculations per solve",
+                markingRecalculations, 1);
+        return sb.toString();
+    }
+
+    private static void appendJson(StringBuilder sb, String name, LatencyHistogram histogram) {
+        sb.append(",\"").append(name).append("\":{\"count\":").append(histogram.getCount())
+                .append(",\"sum\":").append(histogram.getTotalNanos())
+                .append(",\"max\":").append(histogram.getMaxNanos());
+        for (double quantile : QUANTILES) {
+            sb.append(",\"p").append(Math.round(quantile * 100)).append("\":")
+                    .append(histogram.getPercentileNanos(quantile * 100));
+        }
+        sb.append('}');
+    }
+
+    /**
+     * Appends a histogram as a Prometheus summary with the 0.5, 0.9 and 0.99 quantiles.
+     *
+     * @param scale Factor applied to the recorded values, 1e-9 to report nanoseconds as seconds.
+     */
+    public static void appendPrometheus(StringBuilder sb, String name, String help, LatencyHistogram histogram,
+                                        double scale) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(" summary\n");
+        for (double quantile : QUANTILES) {
+            sb.append(name).append("{quantile=\"").append(quantile).append("\"} ")
+                    .append(format(histogram.getPercentileNanos(quantile * 100) * scale)).append('\n');
+        }
+        sb.append(name).append("_sum ").append(format(histogram.getTotalNanos() * scale)).append('\n');
+        sb.append(name).append("_count ").append(histogram.getCount()).append('\n');
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? Long.toString((long) value) : String.format(Locale.ROOT, "%.9f", value);
+    }
+}
@@ -0,0 +1,77 @@
+package ca.poum.sudokusolver;
+
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardSnapshotTest {
+    private static final String PUZZLE =
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......";
+
+    @Test
+    void restoresSavedState() {
+        Board board = new Board(PuzzleCodec.parse(PUZZLE));
+        board.removeCandidates(80, Candidates.of(9));
+        Board expected = new Board();
+        expected.copyFrom(board);
+
+        BoardSnapshot snapshot = new BoardSnapshot(9);
+        board.saveTo(snapshot);
+        assertEquals(7, snapshot.getValue(0));
+        assertEquals(board.getCell(80).getCandidates(), snapshot.getCandidates(80));
+
+        assertTrue(board.place(1, 0, 2));
+        board.setCell(0, 0, 0);
+        board.removeCandidates(79, Candidates.of(1) | Candidates.of(2));
+        board.restore(snapshot);
+        assertSameState(expected, board);
+        assertEquals(0, board.getUndoMark());
+
+        // The snapshot can be restored again, and into another board
+        assertTrue(board.place(1, 0, 2));
+        board.restore(snapshot);
+        assertSameState(expected, board);
+        Board other = new Board();
+        other.restore(board.snapshot());
+        assertSameState(expected, other);
+    }
+
+    @Test
+    void rejectsOtherSizes() {
+        Board board = new Board();
+        BoardSnapshot small = new BoardSnapshot(4);
+        assertThrows(IllegalArgumentException.class, () -> board.saveTo(small));
+        assertThrows(IllegalArgumentException.class, () -> board.restore(small));
+        assertThrows(IllegalArgumentException.class, () -> board.restore(new Board(16).snapshot()));
+    }
+
+    @Test
+    void poolKeepsSnapshotsBySize() {
+        SnapshotPool pool = SnapshotPool.current();
+        assertSame(pool, SnapshotPool.current());
+
+        BoardSnapshot snapshot = pool.get(3, 9);
+        assertEquals(9, snapshot.getSize());
+        assertSame(snapshot, pool.get(3, 9));
+        assertNotSame(snapshot, pool.get(4, 9));
+
+        // Deeper than the initial capacity, and replaced for another size
+        assertEquals(9, pool.get(100, 9).getSize());
+        BoardSnapshot large = pool.get(3, 16);
+        assertEquals(16, large.getSize());
+        assertSame(large, pool.get(3, 16));
+    }
+
+    private static void assertSameState(Board expected, Board board) {
+        assertEquals(PuzzleCodec.toLine(expected), PuzzleCodec.toLine(board));
+        for (int i = 0; i < expected.getCellCount(); i++) {
+            assertEquals(expected.getCell(i).getCandidates(), board.getCell(i).getCandidates(), "Cell " + i);
+        }
+        for (int i = 0; i < expected.getSize(); i++) {
+            assertEquals(expected.getMissingMaskFromRow(i), board.getMissingMaskFromRow(i));
+            assertEquals(expected.getMissingMaskFromColumn(i), board.getMissingMaskFromColumn(i));
+            assertEquals(expected.getMissingMaskFromSquare(i), board.getMissingMaskFromSquare(i));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package ca.poum.sudokusolver;
+
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardTest {
+    private static final String PUZZLE =
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......";
+
+    @Test
+    void setCellUpdatesPeers() {
+        Board board = new Board();
+        board.setCell(4, 4, 5);
+        int center = 4 * 9 + 4;
+        for (int index = 0; index < 81; index++) {
+            if (index == center) continue;
+            boolean peer = index / 9 == 4 || index % 9 == 4 || (index / 27 == 1 && index % 9 / 3 == 1);
+            assertEquals(!peer, Candidates.contains(board.getCell(index).getCandidates(), 5), "Cell " + index);
+        }
+        assertEquals(5, board.getCell(4, 4).getValue());
+        assertEquals(Candidates.ALL & ~Candidates.of(5), board.getMissingMaskFromRow(4));
+
+        // Replacing the value gives 5 back to the peers
+        board.setCell(4, 4, 6);
+        assertTrue(Candidates.contains(board.getCell(0, 4).getCandidates(), 5));
+        assertFalse(Candidates.contains(board.getCell(0, 4).getCandidates(), 6));
+
+        board.setCell(4, 4, 0);
+        assertEquals(Candidates.ALL, board.getCell(0, 4).getCandidates());
+        assertEquals(Candidates.ALL, board.getCell(4, 4).getCandidates());
+        assertEquals(Candidates.ALL, board.getMissingMaskFromSquare(4));
+    }
+
+    @Test
+    void setCellDoesNotPropagate() {
+        // The last cell of the first row is left with 4 only
+        Board board = new Board(4);
+        board.setCell(0, 0, 1);
+        board.setCell(1, 0, 2);
+        board.setCell(2, 0, 3);
+        assertEquals(Candidates.of(4), board.getCell(3, 0).getCandidates());
+        assertEquals(0, board.getCell(3, 0).getValue());
+        assertEquals(3, board.solvedCellCount());
+    }
+
+    @Test
+    void placePropagatesNakedSingles() {
+        // Placing 3 leaves 4 as the only candidate of the last cell of the first row, which then leaves 2 below it
+        Board board = new Board(4);
+        board.setCell(0, 0, 1);
+        board.setCell(1, 0, 2);
+        board.removeCandidates(7, Candidates.of(1) | Candidates.of(3));
+        assertTrue(board.place(2, 0, 3));
+        assertEquals(4, board.getCell(3, 0).getValue());
+        assertEquals(2, board.getCell(3, 1).getValue());
+        assertFalse(Candidates.contains(board.getCell(3, 2).getCandidates(), 4));
+        assertFalse(Candidates.contains(board.getCell(3, 2).getCandidates(), 2));
+    }
+
+    @Test
+    void placeRejectsNonCandidates() {
+        Board board = new Board(PuzzleCodec.parse(PUZZLE));
+        int mark = board.getUndoMark();
+        assertFalse(board.place(0, 0, 7));
+        assertFalse(board.place(1, 0, 7));
+        assertEquals(mark, board.getUndoMark());
+    }
+
+    @Test
+    void cascadeEndingInContradiction() {
+        // The first two cells of the first row can only be 1 or 4. Placing 1 elsewhere in the row leaves both
+        // with 4, the first one is placed and the second has no candidate left.
+        Board board = new Board(4);
+        board.removeCandidates(0, Candidates.of(2) | Candidates.of(3));
+        board.removeCandidates(1, Candidates.of(2) | Candidates.of(3));
+        State before = new State(board);
+        int mark = board.getUndoMark();
+
+        assertFalse(board.place(2, 0, 1));
+        board.undo(mark);
+        assertEquals(before, new State(board));
+        assertTrue(board.place(2, 0, 2));
+    }
+
+    @Test
+    void undoRestoresPlacements() {
+        Board board = new Board(PuzzleCodec.parse(PUZZLE));
+        State before = new State(board);
+        int mark = board.getUndoMark();
+
+        assertTrue(board.place(1, 0, 2));
+        assertTrue(board.place(2, 0, 3));
+        board.setCell(0, 0, 0);
+        board.removeCandidates(80, Candidates.of(9));
+        assertNotEquals(before, new State(board));
+
+        board.undo(mark);
+        assertEquals(before, new State(board));
+        assertEquals(mark, board.getUndoMark());
+    }
+
+    @Test
+    void undoRestoresDuplicates() {
+        // setCell doesn't check the constraints, the first row has 5 twice
+        Board board = new Board();
+        board.setCell(0, 0, 5);
+        board.setCell(8, 0, 5);
+        board.setCell(0, 8, 3);
+        State before = new State(board);
+        int mark = board.getUndoMark();
+
+        board.setCell(8, 0, 0);
+        board.setCell(4, 0, 7);
+        board.setCell(0, 0, 6);
+        assertTrue(board.place(4, 4, 1));
+        board.undo(mark);
+        assertEquals(before, new State(board));
+        assertEquals(Candidates.ALL & ~Candidates.of(5), board.getMissingMaskFromRow(0));
+    }
+
+    /**
+     * Values, candidates and unit masks of a board.
+     */
+    private record State(String values, String candidates, String masks) {
+        private State(Board board) {
+            this(PuzzleCodec.toLine(board), candidates(board), masks(board));
+        }
+
+        private static String candidates(Board board) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < board.getCellCount(); i++) {
+                sb.append(Long.toHexString(board.getCell(i).getCandidates())).append(' ');
+            }
+            return sb.toString();
+        }
+
+        private static String masks(Board board) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < board.getSize(); i++) {
+                sb.append(Long.toHexString(board.getMissingMaskFromRow(i))).append(' ')
+                        .append(Long.toHexString(board.getMissingMaskFromColumn(i))).append(' ')
+                        .append(Long.toHexString(board.getMissingMaskFromSquare(i))).append(' ');
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package ca.poum.sudokusolver;
+
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardValidatorTest {
+    private static final String VALID =
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......";
+
+    @Test
+    void validStates() {
+        int[] values = toValues(PuzzleCodec.parse(VALID));
+        assertTrue(BoardValidator.isValid(values, 9));
+        assertTrue(BoardValidator.isValid(toBytes(values), 9));
+        assertTrue(BoardValidator.validate(values, 9).isEmpty());
+        assertTrue(BoardValidator.isValid(new int[16], 4));
+        assertTrue(BoardValidator.isValid(toValues(PuzzleCodec.parse("1234341221434321")), 4));
+    }
+
+    @Test
+    void isValidStopsAtEveryKindOfProblem() {
+        // Repeated in a row, a column and a square only
+        for (int[] cells : new int[][]{{0, 8}, {0, 72}, {0, 20}}) {
+            int[] values = new int[81];
+            values[cells[0]] = 4;
+            values[cells[1]] = 4;
+            assertFalse(BoardValidator.isValid(values, 9));
+            assertFalse(BoardValidator.isValid(toBytes(values), 9));
+        }
+
+        for (int value : new int[]{-1, 10}) {
+            int[] values = new int[81];
+            values[80] = value;
+            assertFalse(BoardValidator.isValid(values, 9));
+            assertFalse(BoardValidator.isValid(toBytes(values), 9));
+        }
+    }
+
+    @Test
+    void reportsConflictsInOrder() {
+        int[] values = new int[81];
+        values[0] = 1;
+        values[1] = 1;
+        values[31] = 2;
+        values[49] = 2;
+        values[73] = 4;
+        values[77] = 4;
+        values[75] = 3;
+        values[79] = 3;
+        values[80] = 10;
+
+        // Out of range values first, then duplicates by unit and digit
+        List<Conflict> expected = List.of(
+                new Conflict(Conflict.Type.OUT_OF_RANGE, 9, -1, 10, new int[]{80}),
+                new Conflict(Conflict.Type.DUPLICATE, 9, 0, 1, new int[]{0, 1}),
+                new Conflict(Conflict.Type.DUPLICATE, 9, 8, 3, new int[]{75, 79}),
+                new Conflict(Conflict.Type.DUPLICATE, 9, 8, 4, new int[]{73, 77}),
+                new Conflict(Conflict.Type.DUPLICATE, 9, 13, 2, new int[]{31, 49}),
+                new Conflict(Conflict.Type.DUPLICATE, 9, 18, 1, new int[]{0, 1}),
+                new Conflict(Conflict.Type.DUPLICATE, 9, 22, 2, new int[]{31, 49}));
+        assertEquals(expected, BoardValidator.validate(values, 9));
+        assertEquals(expected, BoardValidator.validate(toBytes(values), 9));
+        assertEquals(expected, BoardValidator.validate(toGrid(values)));
+
+        InvalidBoardException e = assertThrows(InvalidBoardException.class, () -> new Board(toGrid(values)));
+        assertEquals(expected, e.getConflicts());
+        assertEquals("Invalid board state: " + expected.get(0) + " and 6 more conflicts", e.getMessage());
+    }
+
+    @Test
+    void describesConflicts() {
+        int[] values = new int[81];
+        values[31] = 2;
+        values[49] = 2;
+        values[80] = 10;
+        List<Conflict> conflicts = BoardValidator.validate(values, 9);
+
+        assertEquals(3, conflicts.size());
+        assertEquals("Value 10 at (8, 8) isn't between 0 and 9", conflicts.get(0).toString());
+        assertEquals("Digit 2 appears 2 times in column 4 at (3, 4), (5, 4)", conflicts.get(1).toString());
+        assertEquals("Digit 2 appears 2 times in square 4 at (3, 4), (5, 4)", conflicts.get(2).toString());
+        assertArrayEquals(new int[]{31, 49}, conflicts.get(1).getCells());
+        assertEquals(13, conflicts.get(1).getUnit());
+        assertEquals(2, conflicts.get(1).getDigit());
+
+        values = new int[16];
+        values[4] = 3;
+        values[5] = 3;
+        values[6] = 3;
+        assertEquals("Digit 3 appears 3 times in row 1 at (1, 0), (1, 1), (1, 2)",
+                BoardValidator.validate(values, 4).get(0).toString());
+    }
+
+    @Test
+    void rejectsShapes() {
+        assertThrows(IllegalArgumentException.class, () -> BoardValidator.isValid(new int[80], 9));
+        assertThrows(IllegalArgumentException.class, () -> BoardValidator.isValid(new byte[25], 5));
+        assertThrows(IllegalArgumentException.class, () -> BoardValidator.validate(new int[16], 9));
+        assertThrows(IllegalArgumentException.class, () -> BoardValidator.validate(new int[9][8]));
+    }
+
+    private static int[] toValues(int[][] grid) {
+        int size = grid.length;
+        int[] values = new int[size * size];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = grid[i / size][i % size];
+        }
+        return values;
+    }
+
+    private static byte[] toBytes(int[] values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+
+    private static int[][] toGrid(int[] values) {
+        int size = (int) Math.sqrt(values.length);
+        int[][] grid = new int[size][size];
+        for (int i = 0; i < values.length; i++) {
+            grid[i / size][i % size] = values[i];
+        }
+        return grid;
+    }
+}
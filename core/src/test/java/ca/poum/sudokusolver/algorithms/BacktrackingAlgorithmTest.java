@@ -0,0 +1,118 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+import ca.poum.sudokusolver.algorithms.search.Branch;
+import ca.poum.sudokusolver.algorithms.search.CellOrUnitSelector;
+import ca.poum.sudokusolver.algorithms.search.SearchHeuristics;
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import ca.poum.sudokusolver.metrics.SolveCounters;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BacktrackingAlgorithmTest {
+    private static final String[] PUZZLES = {
+            "..2......2.1.4..",
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......",
+            "1....7.9..3..2...8..96..5....53..9...1..8...26....4...3......1..4......7..7...3..",
+            "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..",
+            "4...81..53E6AGB.3..A.E.G...257....E5.4B....8....BG..5A32.4..18...4..GF......691."
+                    + "751BD3.6.E84..GC....15.4..CB...2.2...97....3....GB.8F.......729.E..2.....6....ADA75..G...9..E1.81"
+                    + ".39.D8BA..7...5.E76.C51...ABFDGD.....F..G2.9.3..C9..BG..53...21..G..2.DF....E8A"
+    };
+    private static final String CONTRADICTORY =
+            "4.5.6....9.....7........8.1...7..1.2.......5.6.........2.1.........4..95.8.......";
+
+    @Test
+    void everyHeuristicMatchesDancingLinks() {
+        DancingLinksAlgorithm dlx = new DancingLinksAlgorithm();
+        for (String selector : SearchHeuristics.selectorNames()) {
+            for (String valueOrder : SearchHeuristics.valueOrderNames()) {
+                // One instance for every size, the working board is replaced when the size changes
+                BacktrackingAlgorithm algorithm = new BacktrackingAlgorithm(SearchHeuristics.selector(selector),
+                        SearchHeuristics.valueOrder(valueOrder));
+                for (String puzzle : PUZZLES) {
+                    Board expected = new Board(PuzzleCodec.parse(puzzle));
+                    dlx.solveIteration(expected);
+
+                    Board board = new Board(PuzzleCodec.parse(puzzle));
+                    assertTrue(algorithm.solveIteration(board));
+                    assertTrue(board.isSolved());
+                    assertEquals(PuzzleCodec.toLine(expected), PuzzleCodec.toLine(board),
+                            selector + ", " + valueOrder);
+                    assertFalse(algorithm.solveIteration(board));
+                }
+            }
+        }
+    }
+
+    @Test
+    void solveCellFillsOneCell() {
+        Board expected = new Board(PuzzleCodec.parse(PUZZLES[1]));
+        new DancingLinksAlgorithm().solveIteration(expected);
+
+        Board board = new Board(PuzzleCodec.parse(PUZZLES[1]));
+        SolveCounters counters = new SolveCounters();
+        board.setCounters(counters);
+        int clues = board.solvedCellCount();
+        BacktrackingAlgorithm algorithm = new BacktrackingAlgorithm();
+        assertTrue(algorithm.solveCell(board));
+        assertTrue(board.solvedCellCount() > clues);
+        assertTrue(counters.getSearchNodes() > 0);
+        for (int i = 0; i < board.getCellCount(); i++) {
+            int value = board.getCell(i).getValue();
+            assertTrue(value == 0 || value == expected.getCell(i).getValue());
+        }
+    }
+
+    @Test
+    void reportsContradiction() {
+        BacktrackingAlgorithm algorithm = new BacktrackingAlgorithm();
+        Board board = new Board(PuzzleCodec.parse(CONTRADICTORY));
+        assertFalse(algorithm.solveIteration(board));
+        assertFalse(algorithm.solveCell(board));
+        assertEquals(CONTRADICTORY, PuzzleCodec.toLine(board));
+
+        // The working board is restored by the failed search, the next board is solved from its own state
+        Board next = new Board(PuzzleCodec.parse(PUZZLES[1]));
+        assertTrue(algorithm.solveIteration(next));
+        assertTrue(next.isSolved());
+    }
+
+    @Test
+    void digitWithoutPlaceInUnit() {
+        // Every cell keeps 8 candidates, but 1 can't go anywhere in the first row
+        Board board = new Board();
+        for (int x = 0; x < 9; x++) {
+            board.removeCandidates(x, Candidates.of(1));
+        }
+
+        Branch branch = new Branch();
+        new CellOrUnitSelector().select(board, branch);
+        assertFalse(branch.isEmpty());
+        assertFalse(branch.isCell());
+        assertEquals(1, branch.getDigit());
+        assertEquals(0, branch.getPositions());
+        assertEquals(0, branch.getOptionCount());
+
+        assertFalse(new BacktrackingAlgorithm().solveIteration(board));
+        assertEquals(0, board.solvedCellCount());
+    }
+
+    @Test
+    void hiddenSingleInUnit() {
+        // 1 can only go in the fourth cell of the first row
+        Board board = new Board();
+        for (int x = 0; x < 9; x++) {
+            if (x != 3) board.removeCandidates(x, Candidates.of(1));
+        }
+
+        Branch branch = new Branch();
+        new CellOrUnitSelector().select(board, branch);
+        assertFalse(branch.isCell());
+        assertEquals(1, branch.getDigit());
+        assertEquals(1L << 3, branch.getPositions());
+        assertEquals(1, branch.getOptionCount());
+    }
+}
@@ -0,0 +1,108 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import ca.poum.sudokusolver.metrics.SolveCounters;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitboardAlgorithmTest {
+    // Solved by BruteforceAlgorithm, which only fills singles
+    private static final String[] SINGLES = {
+            "4..33..1...4....",
+            "..2..1.....24...",
+            "....65.........4.9....49...61...829.5..7......9.....15283....4.4............2.98.",
+            ".7.654.1......72498.4.3...........26..24..7.164.5219.3..57.....9.1.458..76..1.5..",
+            "..1.......7.3...8.....8.3.5.47.9...8....5.9..1.2..4.....4...8..3..96.4.2...2....9",
+            "..35....2.7.8......1...65...3...7.5.4..1....31.....924...9...6...9.2531.8.2...4..",
+            ".....4...4.1.5.....6.9...8....4.3..85...9..6137....9.....748...2..3.......9..5...",
+            "2....G.1...6.3ACA3.DC6.52194FG7EF..943..E.CG5...67G.E9..A...14D84.D5AC..9..E..1F7F..2E6D58...A39CA"
+                    + "....1...D...8..B92.F4...17D.659C7.1..FD.2A85.3D..89256CEB.41.7.4.6D7.E1...2B9A1E2..8..4.7.CD...2"
+                    + "....946.EDAF5BG6.1B.3C.9AF..2D.9...D.8G.35.741...E6A2.......C."
+    };
+    // Need guessing, singles get stuck
+    private static final String[] STUCK = {
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......",
+            "1....7.9..3..2...8..96..5....53..9...1..8...26....4...3......1..4......7..7...3..",
+            "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4.."
+    };
+    private static final String CONTRADICTORY =
+            "4.5.6....9.....7........8.1...7..1.2.......5.6.........2.1.........4..95.8.......";
+
+    @Test
+    void sameAnswersAsBruteforce() {
+        BitboardAlgorithm bitboard = new BitboardAlgorithm();
+        BruteforceAlgorithm bruteforce = new BruteforceAlgorithm();
+        for (String puzzle : SINGLES) {
+            Board expected = new Board(PuzzleCodec.parse(puzzle));
+            while (bruteforce.solveIteration(expected)) {
+                // Until stuck
+            }
+            assertTrue(expected.isSolved(), puzzle);
+
+            Board board = new Board(PuzzleCodec.parse(puzzle));
+            assertTrue(bitboard.solveIteration(board));
+            assertEquals(PuzzleCodec.toLine(expected), PuzzleCodec.toLine(board));
+            assertFalse(bitboard.solveIteration(board));
+        }
+    }
+
+    @Test
+    void solvesWhereBruteforceIsStuck() {
+        BitboardAlgorithm bitboard = new BitboardAlgorithm();
+        BruteforceAlgorithm bruteforce = new BruteforceAlgorithm();
+        DancingLinksAlgorithm dlx = new DancingLinksAlgorithm();
+        for (String puzzle : STUCK) {
+            Board stuck = new Board(PuzzleCodec.parse(puzzle));
+            while (bruteforce.solveIteration(stuck)) {
+                // Until stuck
+            }
+            assertFalse(stuck.isSolved(), puzzle);
+
+            Board board = new Board(PuzzleCodec.parse(puzzle));
+            SolveCounters counters = new SolveCounters();
+            board.setCounters(counters);
+            assertTrue(bitboard.solveIteration(board));
+            assertTrue(counters.getSearchNodes() > 1);
+
+            // The cells filled by singles agree, and the solution is the unique one
+            Board expected = new Board(PuzzleCodec.parse(puzzle));
+            dlx.solveIteration(expected);
+            assertEquals(PuzzleCodec.toLine(expected), PuzzleCodec.toLine(board));
+            for (int i = 0; i < 81; i++) {
+                int value = stuck.getCell(i).getValue();
+                assertTrue(value == 0 || value == board.getCell(i).getValue());
+            }
+        }
+    }
+
+    @Test
+    void reportsUnsolvable() {
+        BitboardAlgorithm bitboard = new BitboardAlgorithm();
+        Board board = new Board(PuzzleCodec.parse(CONTRADICTORY));
+        assertFalse(bitboard.solveIteration(board));
+        assertFalse(bitboard.solveCell(board));
+        assertEquals(CONTRADICTORY, PuzzleCodec.toLine(board));
+
+        // Bruteforce gets stuck on it as well
+        BruteforceAlgorithm bruteforce = new BruteforceAlgorithm();
+        while (bruteforce.solveIteration(board)) {
+            // Until stuck
+        }
+        assertFalse(board.isSolved());
+
+        // A cell without candidates
+        board = new Board(PuzzleCodec.parse("123....4........"));
+        assertFalse(bitboard.solveIteration(board));
+        assertEquals(4, board.solvedCellCount());
+    }
+
+    @Test
+    void solveCellFillsOneCell() {
+        Board board = new Board(PuzzleCodec.parse(STUCK[0]));
+        int clues = board.solvedCellCount();
+        assertTrue(new BitboardAlgorithm().solveCell(board));
+        assertEquals(clues + 1, board.solvedCellCount());
+    }
+}
@@ -0,0 +1,105 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.BoardValidator;
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DancingLinksAlgorithmTest {
+    private static final String SEVENTEEN_CLUES =
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......";
+    private static final String SEVENTEEN_CLUES_SOLUTION =
+            "743629185268451973951387642185763429394512768672948351819276534536894217427135896";
+    // The solution above with a unique rectangle of 2s and 6s left open, plus other cells the two solutions share
+    private static final String TWO_SOLUTIONS =
+            "7.....1.5............3...4..8.....2.....1.7.....94..51..92.6.3.5.68.....4.7.....6";
+    // No constraint is broken, but no digit fits every cell
+    private static final String CONTRADICTORY =
+            "4.5.6....9.....7........8.1...7..1.2.......5.6.........2.1.........4..95.8.......";
+    private static final String SMALL = "..2......2.1.4..";
+    private static final String LARGE = "4...81..53E6AGB.3..A.E.G...257....E5.4B....8....BG..5A32.4..18...4..GF......691."
+            + "751BD3.6.E84..GC....15.4..CB...2.2...97....3....GB.8F.......729.E..2.....6....ADA75..G...9..E1.81.39.D8BA"
+            + "..7...5.E76.C51...ABFDGD.....F..G2.9.3..C9..BG..53...21..G..2.DF....E8A";
+
+    @Test
+    void uniqueSolution() {
+        DancingLinksAlgorithm dlx = new DancingLinksAlgorithm();
+        assertNull(dlx.getLastResult());
+
+        Board board = new Board(PuzzleCodec.parse(SEVENTEEN_CLUES));
+        assertEquals(SolveResult.UNIQUE_SOLUTION, dlx.solve(board));
+        assertEquals(SolveResult.UNIQUE_SOLUTION, dlx.getLastResult());
+        // solve only searches
+        assertEquals(SEVENTEEN_CLUES, PuzzleCodec.toLine(board));
+
+        assertTrue(dlx.solveIteration(board));
+        assertEquals(SEVENTEEN_CLUES_SOLUTION, PuzzleCodec.toLine(board));
+        assertFalse(dlx.solveIteration(board));
+    }
+
+    @Test
+    void twoSolutions() {
+        DancingLinksAlgorithm dlx = new DancingLinksAlgorithm();
+        Board board = new Board(PuzzleCodec.parse(TWO_SOLUTIONS));
+        assertEquals(SolveResult.MULTIPLE_SOLUTIONS, dlx.solve(board));
+        assertEquals(2, dlx.countSolutions(board, 10));
+
+        // Either solution is used
+        assertTrue(dlx.solveIteration(board));
+        assertTrue(board.isSolved());
+        assertTrue(BoardValidator.validate(PuzzleCodec.parse(PuzzleCodec.toLine(board))).isEmpty());
+    }
+
+    @Test
+    void contradictoryPuzzle() {
+        DancingLinksAlgorithm dlx = new DancingLinksAlgorithm();
+        Board board = new Board(PuzzleCodec.parse(CONTRADICTORY));
+        assertEquals(SolveResult.NO_SOLUTION, dlx.solve(board));
+        assertFalse(dlx.solveIteration(board));
+        assertFalse(dlx.solveCell(board));
+        assertEquals(CONTRADICTORY, PuzzleCodec.toLine(board));
+    }
+
+    @Test
+    void conflictingValues() {
+        DancingLinksAlgorithm dlx = new DancingLinksAlgorithm();
+        Board board = new Board(PuzzleCodec.parse(SEVENTEEN_CLUES));
+        // A second 7 in the first row, which Board.load would have rejected
+        board.setCell(4, 0, 7);
+        assertEquals(SolveResult.NO_SOLUTION, dlx.solve(board));
+
+        // The columns covered before the conflict was found are restored
+        assertEquals(SolveResult.UNIQUE_SOLUTION, dlx.solve(new Board(PuzzleCodec.parse(SEVENTEEN_CLUES))));
+    }
+
+    @Test
+    void otherSizesOnOneInstance() {
+        DancingLinksAlgorithm dlx = new DancingLinksAlgorithm();
+        assertSolved(dlx, SMALL);
+        assertEquals(288, dlx.countSolutions(new Board(4), 1000));
+        assertSolved(dlx, LARGE);
+        assertEquals(SEVENTEEN_CLUES_SOLUTION, assertSolved(dlx, SEVENTEEN_CLUES));
+        assertSolved(dlx, SMALL);
+    }
+
+    private static String assertSolved(DancingLinksAlgorithm dlx, String puzzle) {
+        Board board = new Board(PuzzleCodec.parse(puzzle));
+        assertEquals(SolveResult.UNIQUE_SOLUTION, dlx.solve(board), puzzle);
+        assertTrue(dlx.solveIteration(board), puzzle);
+
+        int[][] solution = PuzzleCodec.parse(PuzzleCodec.toLine(board));
+        int[][] clues = PuzzleCodec.parse(puzzle);
+        assertTrue(BoardValidator.validate(solution).isEmpty(), puzzle);
+        for (int y = 0; y < solution.length; y++) {
+            for (int x = 0; x < solution.length; x++) {
+                assertNotEquals(0, solution[y][x]);
+                if (clues[y][x] != 0) {
+                    assertEquals(clues[y][x], solution[y][x]);
+                }
+            }
+        }
+        return PuzzleCodec.toLine(board);
+    }
+}
@@ -0,0 +1,215 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.algorithms.sat.CdclSolver;
+import ca.poum.sudokusolver.algorithms.sat.ClauseSink;
+import ca.poum.sudokusolver.algorithms.sat.SudokuCnf;
+import ca.poum.sudokusolver.io.DimacsWriter;
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SatAlgorithmTest {
+    // Puzzles that need guessing: AI Escargot, Easter Monster, then 17 clues puzzles
+    private static final String[] HARD = {
+            "1....7.9..3..2...8..96..5....53..9...1..8...26....4...3......1..4......7..7...3..",
+            "1.......2.9.4...5...6...7...5.9.3.......7.......85..4.7.....6...3...9.8...2.....1",
+            "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..",
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......",
+            "82...5.........3.46...........7..9...........5......8..749.........6..2...93.....",
+            "6......97.2.5.............6..4...85.......2......37...3...6.......8..4..9........"
+    };
+    // 17 clues puzzle with an 18th clue that breaks no constraint but leaves it without a solution
+    private static final String UNSATISFIABLE =
+            "4.5.6....9.....7........8.1...7..1.2.......5.6.........2.1.........4..95.8.......";
+    private static final String SMALL = "..2......2.1.4..";
+    private static final String LARGE = "4...81..53E6AGB.3..A.E.G...257....E5.4B....8....BG..5A32.4..18...4..GF......691."
+            + "751BD3.6.E84..GC....15.4..CB...2.2...97....3....GB.8F.......729.E..2.....6....ADA75..G...9..E1.81.39.D8BA"
+            + "..7...5.E76.C51...ABFDGD.....F..G2.9.3..C9..BG..53...21..G..2.DF....E8A";
+
+    @Test
+    void ruleClauseCount() {
+        assertEquals(11988, SudokuCnf.ruleClauseCount(9));
+        assertEquals(729, SudokuCnf.variableCount(9));
+
+        CountingSink sink = new CountingSink();
+        SudokuCnf.encodeRules(new Board().getUnits(), sink);
+        assertEquals(11988, sink.clauses);
+        assertEquals(11664, sink.binary);
+
+        sink = new CountingSink();
+        SudokuCnf.encodeRules(new Board(16).getUnits(), sink);
+        assertEquals(SudokuCnf.ruleClauseCount(16), sink.clauses);
+    }
+
+    @Test
+    void dimacsHeaderMatchesClauses() throws IOException {
+        Board board = new Board(PuzzleCodec.parse(HARD[3]));
+        StringWriter out = new StringWriter();
+        DimacsWriter.write(board, out);
+
+        String[] lines = out.toString().split("\n");
+        int header = 0;
+        while (lines[header].startsWith("c ")) {
+            header++;
+        }
+        assertEquals("p cnf 729 " + (11988 + 17), lines[header]);
+        assertEquals(11988 + 17, lines.length - header - 1);
+        for (int i = header + 1; i < lines.length; i++) {
+            assertTrue(lines[i].endsWith(" 0"), lines[i]);
+        }
+        // The clues come last
+        assertEquals("7 0", lines[header + 11988 + 1]);
+    }
+
+    @Test
+    void dimacsRejectsWrongClauseCount() throws IOException {
+        DimacsWriter writer = new DimacsWriter(new StringWriter(), 2, 2, null);
+        writer.addClause(new int[]{1, -2}, 2);
+        assertEquals(1, writer.getCount());
+        assertThrows(IllegalStateException.class, writer::close);
+    }
+
+    @Test
+    void dimacsOmitsPuzzleOfLargeBoards() throws IOException {
+        // 36x36 digits have no symbol, the puzzle comment is left out
+        HeadWriter out = new HeadWriter();
+        DimacsWriter.write(new Board(36), out);
+        assertTrue(out.closed);
+        assertTrue(out.head.toString().startsWith("c Variable cell * 36 + digit"), out.head.toString());
+        assertTrue(out.head.toString().contains("\np cnf " + SudokuCnf.variableCount(36) + " "));
+
+        out = new HeadWriter();
+        DimacsWriter.write(new Board(PuzzleCodec.parse(LARGE)), out);
+        assertTrue(out.head.toString().startsWith("c Sudoku " + LARGE + "\n"));
+    }
+
+    @Test
+    void dimacsClosesWriterOnFailure() {
+        HeadWriter out = new HeadWriter();
+        out.failing = true;
+        // Unbuffered, so the comments written by the DimacsWriter constructor already fail
+        Writer unbuffered = new BufferedWriter(out, 1);
+        assertThrows(IOException.class, () -> DimacsWriter.write(new Board(PuzzleCodec.parse(SMALL)), unbuffered));
+        assertTrue(out.closed);
+    }
+
+    @Test
+    void matchesDancingLinksOnHardPuzzles() {
+        assertSameSolutions(HARD);
+    }
+
+    @Test
+    void matchesDancingLinksOnOtherSizes() {
+        assertSameSolutions(SMALL, LARGE, HARD[2], SMALL);
+    }
+
+    @Test
+    void unsatisfiablePuzzle() {
+        Board board = new Board(PuzzleCodec.parse(UNSATISFIABLE));
+        assertEquals(0, new DancingLinksAlgorithm().countSolutions(board, 1));
+
+        SatAlgorithm sat = new SatAlgorithm();
+        assertFalse(sat.solveIteration(board));
+        assertFalse(sat.solveCell(board));
+        assertEquals(18, board.solvedCellCount());
+    }
+
+    @Test
+    void solvesAgainAfterLearntClausesAreDropped() {
+        SatAlgorithm sat = new SatAlgorithm();
+        String first = solve(sat, HARD[0]);
+        CdclSolver solver = sat.getSolver();
+        assertTrue(solver.getConflicts() > 0);
+
+        // The clauses learnt under the clues of the other puzzles must not carry over
+        assertEquals(solve(new DancingLinksAlgorithm(), HARD[1]), solve(sat, HARD[1]));
+        Board board = new Board(PuzzleCodec.parse(UNSATISFIABLE));
+        assertFalse(sat.solveIteration(board));
+        assertEquals(first, solve(sat, HARD[0]));
+        assertSame(solver, sat.getSolver());
+    }
+
+    @Test
+    void assumptionsOnlyHoldForOneCall() {
+        // (a or b) and (not a or b) and (a or not b): only a = b = true
+        CdclSolver solver = new CdclSolver(2);
+        solver.addClause(new int[]{1, 2}, 2);
+        solver.addClause(new int[]{-1, 2}, 2);
+        solver.addClause(new int[]{1, -2}, 2);
+
+        assertFalse(solver.solve(new int[]{-2}, 1));
+        assertTrue(solver.solve(new int[0], 0));
+        assertTrue(solver.getModelValue(1));
+        assertTrue(solver.getModelValue(2));
+
+        solver.addClause(new int[]{-1, -2}, 2);
+        assertFalse(solver.solve(new int[0], 0));
+    }
+
+    @Test
+    void solveCellFillsOneCell() {
+        Board board = new Board(PuzzleCodec.parse(HARD[0]));
+        assertTrue(new SatAlgorithm().solveCell(board));
+        assertEquals(24, board.solvedCellCount());
+    }
+
+    private static void assertSameSolutions(String... puzzles) {
+        SatAlgorithm sat = new SatAlgorithm();
+        DancingLinksAlgorithm dlx = new DancingLinksAlgorithm();
+        for (String puzzle : puzzles) {
+            String solution = solve(sat, puzzle);
+            assertEquals(solve(dlx, puzzle), solution, puzzle);
+            assertFalse(solution.contains("."), puzzle);
+        }
+    }
+
+    private static String solve(Algorithm algorithm, String puzzle) {
+        Board board = new Board(PuzzleCodec.parse(puzzle));
+        assertTrue(algorithm.solveIteration(board), puzzle);
+        return PuzzleCodec.toLine(board);
+    }
+
+    /**
+     * Keeps the first characters written and drops the rest, optionally failing on every write.
+     */
+    private static class HeadWriter extends Writer {
+        private final StringBuilder head = new StringBuilder();
+        private boolean failing;
+        private boolean closed;
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            if (failing) {
+                throw new IOException("Disk full");
+            }
+            head.append(buffer, offset, Math.min(length, Math.max(0, 1000 - head.length())));
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static class CountingSink implements ClauseSink<RuntimeException> {
+        private long clauses;
+        private long binary;
+
+        @Override
+        public void addClause(int[] literals, int length) {
+            clauses++;
+            if (length == 2) binary++;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionCounterTest {
+    private static final String UNIQUE =
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......";
+    // The puzzle above without its last clue
+    private static final String NOT_UNIQUE =
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4........";
+    private static final String CONTRADICTORY =
+            "4.5.6....9.....7........8.1...7..1.2.......5.6.........2.1.........4..95.8.......";
+
+    private final SolutionCounter counter = new DancingLinksAlgorithm();
+
+    @Test
+    void stopsAtTheLimit() {
+        // An empty 4x4 board has 288 solutions
+        Board board = new Board(4);
+        assertEquals(1, counter.countSolutions(board, 1));
+        assertEquals(2, counter.countSolutions(board, 2));
+        assertEquals(100, counter.countSolutions(board, 100));
+        assertEquals(288, counter.countSolutions(board, 288));
+        assertEquals(288, counter.countSolutions(board, 1000));
+
+        assertEquals(3, counter.countSolutions(new Board(), 3));
+        assertEquals(2, counter.countSolutions(new Board(PuzzleCodec.parse(NOT_UNIQUE)), 2));
+    }
+
+    @Test
+    void rejectsLimitBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> counter.countSolutions(new Board(4), 0));
+    }
+
+    @Test
+    void uniqueSolution() {
+        assertTrue(counter.hasUniqueSolution(new Board(PuzzleCodec.parse(UNIQUE))));
+        assertFalse(counter.hasUniqueSolution(new Board(PuzzleCodec.parse(NOT_UNIQUE))));
+        assertFalse(counter.hasUniqueSolution(new Board(PuzzleCodec.parse(CONTRADICTORY))));
+        assertFalse(counter.hasUniqueSolution(new Board(4)));
+    }
+
+    @Test
+    void leavesTheBoardUnchanged() {
+        for (String puzzle : new String[]{UNIQUE, NOT_UNIQUE, CONTRADICTORY}) {
+            Board board = new Board(PuzzleCodec.parse(puzzle));
+            int[] values = new int[board.getCellCount()];
+            long[] candidates = new long[board.getCellCount()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = board.getCell(i).getValue();
+                candidates[i] = board.getCell(i).getCandidates();
+            }
+            int mark = board.getUndoMark();
+
+            counter.countSolutions(board, 10);
+            counter.hasUniqueSolution(board);
+
+            assertEquals(mark, board.getUndoMark());
+            for (int i = 0; i < values.length; i++) {
+                assertEquals(values[i], board.getCell(i).getValue());
+                assertEquals(candidates[i], board.getCell(i).getCandidates());
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.BoardValidator;
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionSpliteratorTest {
+    // 300 solutions
+    private static final String FEW_SOLUTIONS =
+            "......6..9..3.5..1..1..64....81..9..........8..67.8.....26.95..8..2....9..5.1.3..";
+    private static final String SOLVED =
+            "743629185268451973951387642185763429394512768672948351819276534536894217427135896";
+    private static final String CONTRADICTORY =
+            "4.5.6....9.....7........8.1...7..1.2.......5.6.........2.1.........4..95.8.......";
+
+    @Test
+    void sequentialMatchesCountSolutions() {
+        Board board = new Board(PuzzleCodec.parse(FEW_SOLUTIONS));
+        int expected = new DancingLinksAlgorithm().countSolutions(board, 10_000);
+        assertEquals(300, expected);
+
+        Set<String> solutions = solutions(board, false);
+        assertEquals(expected, solutions.size());
+        for (String solution : solutions) {
+            int[][] grid = PuzzleCodec.parse(solution);
+            assertTrue(BoardValidator.validate(grid).isEmpty(), solution);
+            for (int i = 0; i < FEW_SOLUTIONS.length(); i++) {
+                char clue = FEW_SOLUTIONS.charAt(i);
+                assertTrue(clue == '.' || clue == solution.charAt(i), solution);
+                assertNotEquals('.', solution.charAt(i));
+            }
+        }
+        assertEquals(expected, SolutionSpliterator.stream(board).count());
+    }
+
+    @Test
+    void parallelMatchesSequential() {
+        Board board = new Board(PuzzleCodec.parse(FEW_SOLUTIONS));
+        assertEquals(solutions(board, false), solutions(board, true));
+        assertEquals(300, SolutionSpliterator.parallelStream(board).count());
+    }
+
+    @Test
+    void splitsCoverEverySolutionOnce() {
+        // Start the search first, so the splits replay frames that have a value placed
+        Board board = new Board(PuzzleCodec.parse(FEW_SOLUTIONS));
+        SolutionSpliterator spliterator = new SolutionSpliterator(board);
+        Set<String> solutions = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            assertTrue(spliterator.tryAdvance(grid -> assertTrue(solutions.add(PuzzleCodec.toLine(grid)))));
+        }
+
+        Deque<Spliterator<int[][]>> parts = new ArrayDeque<>();
+        parts.add(spliterator);
+        int splits = 0;
+        while (!parts.isEmpty()) {
+            Spliterator<int[][]> part = parts.poll();
+            Spliterator<int[][]> split = part.trySplit();
+            if (split != null) {
+                splits++;
+                parts.add(part);
+                parts.add(split);
+            } else {
+                part.forEachRemaining(grid -> assertTrue(solutions.add(PuzzleCodec.toLine(grid))));
+                assertEquals(0, part.estimateSize());
+            }
+        }
+        assertTrue(splits > 1);
+        assertEquals(solutions(board, false), solutions);
+    }
+
+    @Test
+    void emptyBoard() {
+        Set<String> solutions = solutions(new Board(4), false);
+        assertEquals(288, solutions.size());
+        assertEquals(solutions, solutions(new Board(4), true));
+    }
+
+    @Test
+    void solvedBoard() {
+        Board board = new Board(PuzzleCodec.parse(SOLVED));
+        assertEquals(Set.of(SOLVED), solutions(board, false));
+        assertEquals(Set.of(SOLVED), solutions(board, true));
+
+        // Splitting finds the solution, which is still produced once
+        SolutionSpliterator spliterator = new SolutionSpliterator(board);
+        assertNull(spliterator.trySplit());
+        Iterator<int[][]> iterator = Spliterators.iterator(spliterator);
+        assertEquals(SOLVED, PuzzleCodec.toLine(iterator.next()));
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void contradictoryBoard() {
+        Board board = new Board(PuzzleCodec.parse(CONTRADICTORY));
+        assertFalse(SolutionSpliterator.iterator(board).hasNext());
+        assertEquals(0, SolutionSpliterator.parallelStream(board).count());
+
+        // The contradiction takes a search to find, both halves of a split come up empty
+        SolutionSpliterator spliterator = new SolutionSpliterator(board);
+        Spliterator<int[][]> split = spliterator.trySplit();
+        assertNotNull(split);
+        assertFalse(split.tryAdvance(grid -> fail()));
+        assertFalse(spliterator.tryAdvance(grid -> fail()));
+        assertEquals(0, spliterator.estimateSize());
+
+        // A cell without candidates needs no search
+        Board dead = new Board(PuzzleCodec.parse("123." + "...4" + "...." + "...."));
+        assertNull(new SolutionSpliterator(dead).trySplit());
+        assertEquals(0, SolutionSpliterator.stream(dead).count());
+    }
+
+    @Test
+    void leavesTheBoardUnchanged() {
+        Board board = new Board(PuzzleCodec.parse(FEW_SOLUTIONS));
+        int mark = board.getUndoMark();
+        SolutionSpliterator.parallelStream(board).count();
+        assertEquals(FEW_SOLUTIONS, PuzzleCodec.toLine(board));
+        assertEquals(mark, board.getUndoMark());
+    }
+
+    private static Set<String> solutions(Board board, boolean parallel) {
+        return (parallel ? SolutionSpliterator.parallelStream(board) : SolutionSpliterator.stream(board))
+                .map(PuzzleCodec::toLine)
+                .collect(Collectors.toSet());
+    }
+}
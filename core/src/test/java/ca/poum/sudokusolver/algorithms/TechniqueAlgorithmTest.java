@@ -0,0 +1,71 @@
+package ca.poum.sudokusolver.algorithms;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.algorithms.techniques.Difficulty;
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TechniqueAlgorithmTest {
+    @Test
+    void easy() {
+        assertGrade(Difficulty.EASY,
+                "......5.......2.....7.9..6....5.......6....79.8.1.........7.....4....1...5....8.2");
+    }
+
+    @Test
+    void medium() {
+        // Needs pointing pairs
+        assertGrade(Difficulty.MEDIUM,
+                "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......");
+    }
+
+    @Test
+    void hard() {
+        // Needs naked and hidden pairs and a naked triple
+        assertGrade(Difficulty.HARD,
+                "...5.....8.5.2.9..97.....1......32...14.6..7..9.....8..6..........354...34...1...");
+    }
+
+    @Test
+    void expert() {
+        // Needs an XY-Wing
+        Map<String, Integer> usage = assertGrade(Difficulty.EXPERT,
+                ".....27.348......2..39185......91......5...4...23..9.5.1.8496......3.8..9........");
+        assertTrue(usage.get("XY-Wing") > 0);
+    }
+
+    @Test
+    void needsGuessing() {
+        TechniqueAlgorithm algorithm = new TechniqueAlgorithm();
+        Board board = new Board(PuzzleCodec.parse(
+                "6..........82....3.5....46..7...4.2...3.9.......82......1.8...9.....574.......6.."));
+        assertEquals(Difficulty.NEEDS_GUESSING, algorithm.grade(board));
+        assertFalse(board.isSolved());
+    }
+
+    @Test
+    void gradeResetsStatistics() {
+        TechniqueAlgorithm algorithm = new TechniqueAlgorithm();
+        algorithm.grade(new Board(PuzzleCodec.parse(
+                ".....27.348......2..39185......91......5...4...23..9.5.1.8496......3.8..9........")));
+        assertEquals(Difficulty.EASY, algorithm.grade(new Board(PuzzleCodec.parse(
+                "......5.......2.....7.9..6....5.......6....79.8.1.........7.....4....1...5....8.2"))));
+    }
+
+    private static Map<String, Integer> assertGrade(Difficulty expected, String puzzle) {
+        TechniqueAlgorithm algorithm = new TechniqueAlgorithm();
+        Board board = new Board(PuzzleCodec.parse(puzzle));
+        assertEquals(expected, algorithm.grade(board));
+        assertTrue(board.isSolved());
+
+        // The techniques only place digits of the solution
+        Board solution = new Board(PuzzleCodec.parse(puzzle));
+        new DancingLinksAlgorithm().solveIteration(solution);
+        assertEquals(PuzzleCodec.toLine(solution), PuzzleCodec.toLine(board));
+        return algorithm.getTechniqueUsage();
+    }
+}
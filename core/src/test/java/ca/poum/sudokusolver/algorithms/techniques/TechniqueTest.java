@@ -0,0 +1,245 @@
+package ca.poum.sudokusolver.algorithms.techniques;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.Candidates;
+import ca.poum.sudokusolver.algorithms.TechniqueAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every fixture starts from an empty board, where no technique applies, and removes candidates until the board
+ * holds exactly one occurrence of the technique. The eliminations are written as "r{row}c{column}#{digit}".
+ */
+class TechniqueTest {
+    @Test
+    void nothingToDoOnAnEmptyBoard() {
+        for (Technique technique : TechniqueAlgorithm.defaultTechniques()) {
+            assertFalse(technique.apply(new Board()), technique.getName());
+        }
+    }
+
+    @Test
+    void nakedSingle() {
+        Board board = new Board();
+        keep(board, 3, 5, 7);
+
+        assertTrue(new NakedSingle().apply(board));
+        assertEquals(7, board.getCell(5, 3).getValue());
+        assertFalse(Candidates.contains(board.getCell(0, 3).getCandidates(), 7));
+        assertEquals(1, board.solvedCellCount());
+    }
+
+    @Test
+    void hiddenSingle() {
+        Board board = new Board();
+        for (int column = 0; column < 9; column++) {
+            if (column != 6) remove(board, 2, column, 7);
+        }
+
+        assertTrue(new HiddenSingle().apply(board));
+        assertEquals(7, board.getCell(6, 2).getValue());
+        assertEquals(1, board.solvedCellCount());
+    }
+
+    @Test
+    void pointingPair() {
+        // In the top left square, 5 is only in the first row
+        Board board = new Board();
+        remove(board, 0, 2, 5);
+        for (int row = 1; row < 3; row++) {
+            for (int column = 0; column < 3; column++) {
+                remove(board, row, column, 5);
+            }
+        }
+
+        assertEquals(Set.of("r0c3#5", "r0c4#5", "r0c5#5", "r0c6#5", "r0c7#5", "r0c8#5"),
+                eliminations(board, new PointingPairs()));
+    }
+
+    @Test
+    void boxLineReduction() {
+        // In the first row, 5 is only in the top left square
+        Board board = new Board();
+        for (int column = 2; column < 9; column++) {
+            remove(board, 0, column, 5);
+        }
+
+        assertEquals(Set.of("r1c0#5", "r1c1#5", "r1c2#5", "r2c0#5", "r2c1#5", "r2c2#5"),
+                eliminations(board, new BoxLineReduction()));
+    }
+
+    @Test
+    void nakedPair() {
+        Board board = new Board();
+        keep(board, 0, 0, 1, 2);
+        keep(board, 0, 1, 1, 2);
+
+        Set<String> expected = new TreeSet<>();
+        for (int column = 2; column < 9; column++) {
+            expected.add("r0c" + column + "#1");
+            expected.add("r0c" + column + "#2");
+        }
+        assertEquals(expected, eliminations(board, new NakedSubset(2)));
+    }
+
+    @Test
+    void nakedTriple() {
+        // No cell has the three digits
+        Board board = new Board();
+        keep(board, 0, 0, 1, 2);
+        keep(board, 0, 1, 2, 3);
+        keep(board, 0, 2, 1, 3);
+
+        Set<String> expected = new TreeSet<>();
+        for (int column = 3; column < 9; column++) {
+            for (int digit = 1; digit <= 3; digit++) {
+                expected.add("r0c" + column + "#" + digit);
+            }
+        }
+        assertEquals(expected, eliminations(board, new NakedSubset(3)));
+    }
+
+    @Test
+    void hiddenPair() {
+        // 1 and 2 are only in the first two cells of the first row, which keep every candidate
+        Board board = new Board();
+        for (int column = 2; column < 9; column++) {
+            remove(board, 0, column, 1, 2);
+        }
+
+        Set<String> expected = new TreeSet<>();
+        for (int column = 0; column < 2; column++) {
+            for (int digit = 3; digit <= 9; digit++) {
+                expected.add("r0c" + column + "#" + digit);
+            }
+        }
+        assertEquals(expected, eliminations(board, new HiddenSubset(2)));
+    }
+
+    @Test
+    void hiddenTriple() {
+        Board board = new Board();
+        for (int column = 3; column < 9; column++) {
+            remove(board, 0, column, 1, 2, 3);
+        }
+
+        Set<String> expected = new TreeSet<>();
+        for (int column = 0; column < 3; column++) {
+            for (int digit = 4; digit <= 9; digit++) {
+                expected.add("r0c" + column + "#" + digit);
+            }
+        }
+        assertEquals(expected, eliminations(board, new HiddenSubset(3)));
+    }
+
+    @Test
+    void xWing() {
+        // In rows 0 and 4, 1 is only in columns 0 and 4
+        Board board = new Board();
+        for (int row : new int[]{0, 4}) {
+            for (int column = 0; column < 9; column++) {
+                if (column != 0 && column != 4) remove(board, row, column, 1);
+            }
+        }
+
+        Set<String> expected = new TreeSet<>();
+        for (int row = 0; row < 9; row++) {
+            if (row == 0 || row == 4) continue;
+            expected.add("r" + row + "c0#1");
+            expected.add("r" + row + "c4#1");
+        }
+        assertEquals(expected, eliminations(board, new Fish(2)));
+    }
+
+    @Test
+    void swordfish() {
+        // 1 is only in columns 0 and 3 of row 0, 3 and 6 of row 3, 0 and 6 of row 6
+        Board board = new Board();
+        int[][] kept = {{0, 0, 3}, {3, 3, 6}, {6, 0, 6}};
+        for (int[] line : kept) {
+            for (int column = 0; column < 9; column++) {
+                if (column != line[1] && column != line[2]) remove(board, line[0], column, 1);
+            }
+        }
+
+        Set<String> expected = new TreeSet<>();
+        for (int row = 0; row < 9; row++) {
+            if (row % 3 == 0) continue;
+            for (int column : new int[]{0, 3, 6}) {
+                expected.add("r" + row + "c" + column + "#1");
+            }
+        }
+        assertEquals(expected, eliminations(board, new Fish(3)));
+    }
+
+    @Test
+    void xyWing() {
+        // Pivot {1, 2} at r0c0, pincers {1, 3} at r0c4 and {2, 3} at r4c0: only r4c4 sees both pincers
+        Board board = new Board();
+        keep(board, 0, 0, 1, 2);
+        keep(board, 0, 4, 1, 3);
+        keep(board, 4, 0, 2, 3);
+
+        assertEquals(Set.of("r4c4#3"), eliminations(board, new XYWing()));
+    }
+
+    @Test
+    void simpleColoringTrap() {
+        // Conjugate pairs of 1 in row 0, column 4 and row 4 chain r0c0 (A), r0c4 (B), r4c4 (A) and r4c1 (B).
+        // The cells seeing both r0c0 and r4c1 can't hold 1.
+        Board board = new Board();
+        for (int i = 0; i < 9; i++) {
+            if (i != 0 && i != 4) remove(board, 0, i, 1);
+            if (i != 1 && i != 4) remove(board, 4, i, 1);
+            if (i != 0 && i != 4) remove(board, i, 4, 1);
+        }
+
+        assertEquals(Set.of("r1c1#1", "r2c1#1", "r3c0#1", "r5c0#1"), eliminations(board, new SimpleColoring()));
+    }
+
+    /**
+     * Leaves the cell with only the given candidates.
+     */
+    private static void keep(Board board, int row, int column, int... digits) {
+        long mask = 0;
+        for (int digit : digits) {
+            mask |= Candidates.of(digit);
+        }
+        board.removeCandidates(row * 9 + column, Candidates.ALL & ~mask);
+    }
+
+    private static void remove(Board board, int row, int column, int... digits) {
+        for (int digit : digits) {
+            board.removeCandidates(row * 9 + column, Candidates.of(digit));
+        }
+    }
+
+    /**
+     * Applies the technique once.
+     *
+     * @return The candidates it removed.
+     */
+    private static Set<String> eliminations(Board board, Technique technique) {
+        long[] before = new long[81];
+        for (int index = 0; index < 81; index++) {
+            before[index] = board.getCell(index).getCandidates();
+        }
+
+        assertTrue(technique.apply(board), technique.getName());
+
+        Set<String> removed = new TreeSet<>();
+        for (int index = 0; index < 81; index++) {
+            assertEquals(0, board.getCell(index).getValue());
+            long candidates = board.getCell(index).getCandidates();
+            assertEquals(0, candidates & ~before[index], "Candidates added");
+            for (int digit : Candidates.toList(before[index] & ~candidates)) {
+                removed.add("r" + index / 9 + "c" + index % 9 + "#" + digit);
+            }
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,172 @@
+package ca.poum.sudokusolver.cache;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.algorithms.CachingAlgorithm;
+import ca.poum.sudokusolver.algorithms.DancingLinksAlgorithm;
+import ca.poum.sudokusolver.io.PuzzleCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CanonicalFormTest {
+    private static final String[] PUZZLES = {
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......",
+            "1....7.9..3..2...8..96..5....53..9...1..8...26....4...3......1..4......7..7...3..",
+            "..3.2.6..9..3.5..1..18.64....81.29..7.......8..67.82....26.95..8..2.3..9..5.1.3..",
+            "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4.."
+    };
+
+    @Test
+    void keyIsInvariant() {
+        Random random = new Random(42);
+        for (String puzzle : PUZZLES) {
+            int[][] grid = PuzzleCodec.parse(puzzle);
+            String key = CanonicalForm.of(new Board(grid)).getKey();
+            for (int i = 0; i < 50; i++) {
+                int[][] transformed = transform(grid, random);
+                assertEquals(key, CanonicalForm.of(new Board(transformed)).getKey(), PuzzleCodec.toLine(transformed));
+            }
+        }
+    }
+
+    @Test
+    void keyIsItsOwnCanonicalForm() {
+        for (String puzzle : PUZZLES) {
+            Board board = new Board(PuzzleCodec.parse(puzzle));
+            CanonicalForm form = CanonicalForm.of(board);
+            String key = form.getKey();
+
+            assertEquals(key, CanonicalForm.of(new Board(PuzzleCodec.parse(key))).getKey());
+            assertEquals(key, PuzzleCodec.toLine(new Board(toGrid(form.toCanonical(board)))));
+        }
+    }
+
+    @Test
+    void differentPuzzlesHaveDifferentKeys() {
+        assertNotEquals(CanonicalForm.of(new Board(PuzzleCodec.parse(PUZZLES[0]))).getKey(),
+                CanonicalForm.of(new Board(PuzzleCodec.parse(PUZZLES[1]))).getKey());
+    }
+
+    @Test
+    void canonicalSolutionSolvesEquivalentPuzzles() {
+        Random random = new Random(7);
+        DancingLinksAlgorithm dlx = new DancingLinksAlgorithm();
+        for (String puzzle : PUZZLES) {
+            int[][] grid = PuzzleCodec.parse(puzzle);
+            Board solved = new Board(grid);
+            CanonicalForm form = CanonicalForm.of(solved);
+            assertTrue(dlx.solveIteration(solved));
+            byte[] solution = form.toCanonical(solved);
+
+            for (int i = 0; i < 10; i++) {
+                int[][] transformed = transform(grid, random);
+                Board expected = new Board(transformed);
+                dlx.solveIteration(expected);
+
+                Board board = new Board(transformed);
+                CanonicalForm transformedForm = CanonicalForm.of(board);
+                for (int index = 0; index < 81; index++) {
+                    assertEquals(expected.getCell(index).getValue(), transformedForm.valueAt(solution, index));
+                }
+                assertEquals(81 - board.solvedCellCount(), transformedForm.fromCanonical(solution, board));
+                assertEquals(PuzzleCodec.toLine(expected), PuzzleCodec.toLine(board));
+                assertEquals(0, transformedForm.fromCanonical(solution, board));
+            }
+        }
+    }
+
+    @Test
+    void onlySupportsStandardBoards() {
+        assertThrows(IllegalArgumentException.class, () -> CanonicalForm.of(new Board(4)));
+    }
+
+    @Test
+    void cacheHitOnEquivalentPuzzle() {
+        SolutionCache cache = new SolutionCache(64);
+        CachingAlgorithm algorithm = new CachingAlgorithm(new DancingLinksAlgorithm(), cache);
+        int[][] grid = PuzzleCodec.parse(PUZZLES[0]);
+
+        assertTrue(algorithm.solveIteration(new Board(grid)));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.size());
+
+        int[][] transformed = transform(grid, new Random(3));
+        Board expected = new Board(transformed);
+        new DancingLinksAlgorithm().solveIteration(expected);
+        Board board = new Board(transformed);
+        assertTrue(algorithm.solveIteration(board));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(PuzzleCodec.toLine(expected), PuzzleCodec.toLine(board));
+
+        // solveCell fills one cell from the cache
+        board = new Board(transform(grid, new Random(4)));
+        int clues = board.solvedCellCount();
+        assertTrue(algorithm.solveCell(board));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(clues + 1, board.solvedCellCount());
+    }
+
+    /**
+     * Applies random band, stack, row and column permutations, maybe a transposition, and a relabeling.
+     */
+    private static int[][] transform(int[][] grid, Random random) {
+        int[] rows = linePermutation(random);
+        int[] columns = linePermutation(random);
+        int[] labels = new int[10];
+        int[] digits = permutation(9, random);
+        for (int digit = 1; digit <= 9; digit++) {
+            labels[digit] = digits[digit - 1] + 1;
+        }
+        boolean transposed = random.nextBoolean();
+
+        int[][] transformed = new int[9][9];
+        for (int y = 0; y < 9; y++) {
+            for (int x = 0; x < 9; x++) {
+                int value = labels[grid[rows[y]][columns[x]]];
+                if (transposed) {
+                    transformed[x][y] = value;
+                } else {
+                    transformed[y][x] = value;
+                }
+            }
+        }
+        return transformed;
+    }
+
+    private static int[] linePermutation(Random random) {
+        int[] bands = permutation(3, random);
+        int[] lines = new int[9];
+        for (int band = 0; band < 3; band++) {
+            int[] within = permutation(3, random);
+            for (int i = 0; i < 3; i++) {
+                lines[band * 3 + i] = bands[band] * 3 + within[i];
+            }
+        }
+        return lines;
+    }
+
+    private static int[] permutation(int n, Random random) {
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = swap;
+        }
+        return permutation;
+    }
+
+    private static int[][] toGrid(byte[] values) {
+        int[][] grid = new int[9][9];
+        for (int i = 0; i < 81; i++) {
+            grid[i / 9][i % 9] = values[i];
+        }
+        return grid;
+    }
+}
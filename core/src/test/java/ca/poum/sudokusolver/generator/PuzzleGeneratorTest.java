@@ -0,0 +1,69 @@
+package ca.poum.sudokusolver.generator;
+
+import ca.poum.sudokusolver.Board;
+import ca.poum.sudokusolver.BoardValidator;
+import ca.poum.sudokusolver.algorithms.DancingLinksAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuzzleGeneratorTest {
+    private final DancingLinksAlgorithm dlx = new DancingLinksAlgorithm();
+
+    @Test
+    void fullGrids() {
+        // Most fillings of the diagonal squares of a 4x4 board have no completion
+        for (int size : new int[]{4, 9, 16}) {
+            PuzzleGenerator generator = new PuzzleGenerator(size, 42);
+            for (int i = 0; i < 20; i++) {
+                int[][] grid = generator.generateSolution();
+                assertTrue(new Board(grid).isSolved(), "Size " + size);
+                assertTrue(BoardValidator.validate(grid).isEmpty());
+            }
+        }
+    }
+
+    @Test
+    void uniqueSolution() {
+        for (long seed = 0; seed < 30; seed++) {
+            assertUnique(new PuzzleGenerator(4, seed).generate(0, null));
+        }
+        for (long seed = 0; seed < 5; seed++) {
+            assertUnique(new PuzzleGenerator(9, seed).generate(0, null));
+        }
+        assertUnique(new PuzzleGenerator(16, 7).generate(0, null));
+    }
+
+    @Test
+    void targetClues() {
+        int[][] puzzle = new PuzzleGenerator(9, 3).generate(40, null);
+        assertUnique(puzzle);
+        assertEquals(40, 81 - countEmpty(puzzle));
+    }
+
+    @Test
+    void sameSeedSameOutput() {
+        for (int size : new int[]{4, 9, 16}) {
+            PuzzleGenerator generator = new PuzzleGenerator(size, 7);
+            int[][] first = generator.generate(0, null);
+            assertArrayEquals(first, new PuzzleGenerator(size, 7).generate(0, null), "Size " + size);
+
+            generator.setSeed(7);
+            assertArrayEquals(first, generator.generate(0, null), "Size " + size);
+        }
+    }
+
+    private void assertUnique(int[][] puzzle) {
+        assertEquals(1, dlx.countSolutions(new Board(puzzle), 2));
+    }
+
+    private static int countEmpty(int[][] puzzle) {
+        int empty = 0;
+        for (int[] row : puzzle) {
+            for (int value : row) {
+                if (value == 0) empty++;
+            }
+        }
+        return empty;
+    }
+}
@@ -0,0 +1,79 @@
+package ca.poum.sudokusolver.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryPuzzleCodecTest {
+    private static final String PUZZLE =
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......";
+
+    @Test
+    void roundTrip() {
+        int[][] grid = PuzzleCodec.parse(PUZZLE);
+        byte[] record = BinaryPuzzleCodec.encode(grid);
+        assertEquals(BinaryPuzzleCodec.RECORD_SIZE, record.length);
+        assertArrayEquals(grid, BinaryPuzzleCodec.decode(record));
+    }
+
+    @Test
+    void keepsOrientation() {
+        int[][] grid = new int[9][9];
+        grid[0][1] = 2;
+        grid[1][0] = 3;
+        byte[] record = BinaryPuzzleCodec.encode(grid);
+
+        // Cell 1 is the high nibble of byte 0, as is cell 9 of byte 4
+        assertEquals(0x20, record[0]);
+        assertEquals(0x30, record[4]);
+        assertEquals(2, BinaryPuzzleCodec.cellAt(ByteBuffer.wrap(record), 0, 1));
+        assertEquals(3, BinaryPuzzleCodec.cellAt(ByteBuffer.wrap(record), 0, 9));
+        assertArrayEquals(grid, BinaryPuzzleCodec.decode(record));
+    }
+
+    @Test
+    void base64RoundTrip() {
+        String base64 = PuzzleCodec.toBase64(PuzzleCodec.parse(PUZZLE));
+        byte[] record = BinaryPuzzleCodec.fromLine(base64);
+        assertArrayEquals(BinaryPuzzleCodec.fromLine(PUZZLE), record);
+        assertEquals(base64, BinaryPuzzleCodec.toBase64(record));
+        assertEquals(PUZZLE, PuzzleCodec.toLine(PuzzleCodec.parse(BinaryPuzzleCodec.toBase64(record))));
+    }
+
+    @Test
+    void encodesAtAnOffset() {
+        byte[] records = new byte[2 * BinaryPuzzleCodec.RECORD_SIZE];
+        Arrays.fill(records, (byte) -1);
+        BinaryPuzzleCodec.encode(PuzzleCodec.parse(PUZZLE), records, BinaryPuzzleCodec.RECORD_SIZE);
+
+        int[][] grid = new int[9][9];
+        BinaryPuzzleCodec.decode(ByteBuffer.wrap(records), BinaryPuzzleCodec.RECORD_SIZE, grid);
+        assertEquals(PUZZLE, PuzzleCodec.toLine(grid));
+        assertEquals(-1, records[BinaryPuzzleCodec.RECORD_SIZE - 1]);
+    }
+
+    @Test
+    void rejectsInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> BinaryPuzzleCodec.encode(new int[4][4]));
+        int[][] grid = new int[9][9];
+        grid[8][8] = 10;
+        assertThrows(IllegalArgumentException.class, () -> BinaryPuzzleCodec.encode(grid));
+
+        byte[] record = new byte[BinaryPuzzleCodec.RECORD_SIZE];
+        record[3] = (byte) 0xA0;
+        assertThrows(IllegalArgumentException.class, () -> BinaryPuzzleCodec.decode(record));
+    }
+
+    @Test
+    void checkHeader() {
+        BinaryPuzzleCodec.checkHeader(ByteBuffer.wrap(BinaryPuzzleCodec.header()));
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryPuzzleCodec.checkHeader(ByteBuffer.wrap(new byte[]{'S', 'D', 'K', '3'})));
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryPuzzleCodec.checkHeader(ByteBuffer.wrap(new byte[]{'S', 'D'})));
+        assertThrows(IllegalArgumentException.class, () -> BinaryPuzzleCodec.checkHeader(ByteBuffer.allocate(0)));
+    }
+}
@@ -0,0 +1,92 @@
+package ca.poum.sudokusolver.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedPuzzleCorpusTest {
+    private static final String[] PUZZLES = {
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......",
+            ".2.......3.......................................................................",
+            "743629185268451973951387642185763429394512768672948351819276534536894217427135896"
+    };
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackWrittenPuzzles() throws IOException {
+        Path path = write(PUZZLES);
+        assertEquals(BinaryPuzzleCodec.HEADER_SIZE + PUZZLES.length * BinaryPuzzleCodec.RECORD_SIZE,
+                Files.size(path));
+
+        try (MappedPuzzleCorpus corpus = new MappedPuzzleCorpus(path)) {
+            assertEquals(PUZZLES.length, corpus.size());
+            PuzzleView view = new PuzzleView();
+            int[][] grid = new int[9][9];
+            for (int i = 0; i < PUZZLES.length; i++) {
+                assertSame(view, corpus.view(i, view));
+                assertEquals(i, view.getIndex());
+                view.copyTo(grid);
+                assertEquals(PUZZLES[i], PuzzleCodec.toLine(grid));
+            }
+
+            // getValue takes the column first
+            PuzzleView second = corpus.view(1);
+            assertEquals(2, second.getValue(1, 0));
+            assertEquals(3, second.getValue(0, 1));
+        }
+    }
+
+    @Test
+    void recordCountBoundary() throws IOException {
+        try (MappedPuzzleCorpus corpus = new MappedPuzzleCorpus(write(PUZZLES))) {
+            int[][] grid = new int[9][9];
+            corpus.view(PUZZLES.length - 1).copyTo(grid);
+            assertEquals(PUZZLES[PUZZLES.length - 1], PuzzleCodec.toLine(grid));
+            assertThrows(IndexOutOfBoundsException.class, () -> corpus.view(PUZZLES.length));
+            assertThrows(IndexOutOfBoundsException.class, () -> corpus.view(-1));
+        }
+
+        try (MappedPuzzleCorpus corpus = new MappedPuzzleCorpus(write())) {
+            assertEquals(0, corpus.size());
+            assertThrows(IndexOutOfBoundsException.class, () -> corpus.view(0));
+        }
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path path = write(PUZZLES);
+        byte[] bytes = Files.readAllBytes(path);
+
+        Path truncated = directory.resolve("truncated.bin");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IllegalArgumentException.class, () -> new MappedPuzzleCorpus(truncated));
+
+        Path badMagic = directory.resolve("magic.bin");
+        bytes[0] = 'X';
+        Files.write(badMagic, bytes);
+        assertThrows(IllegalArgumentException.class, () -> new MappedPuzzleCorpus(badMagic));
+
+        Path empty = directory.resolve("empty.bin");
+        Files.write(empty, new byte[0]);
+        assertThrows(IllegalArgumentException.class, () -> new MappedPuzzleCorpus(empty));
+    }
+
+    private Path write(String... puzzles) throws IOException {
+        Path path = Files.createTempFile(directory, "puzzles", ".bin");
+        try (BinaryPuzzleWriter writer = new BinaryPuzzleWriter(path)) {
+            for (String puzzle : puzzles) {
+                writer.write(PuzzleCodec.parse(puzzle));
+            }
+            assertEquals(puzzles.length, writer.getCount());
+        }
+        return path;
+    }
+}
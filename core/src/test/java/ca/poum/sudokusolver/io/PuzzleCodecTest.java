@@ -0,0 +1,72 @@
+package ca.poum.sudokusolver.io;
+
+import ca.poum.sudokusolver.Board;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PuzzleCodecTest {
+    private static final String PUZZLE =
+            "7.....1.5.6..........3......8.....2.....1.7......4.......2.6.3.5..8.....4.7......";
+
+    @Test
+    void rowMajorOrientation() {
+        // Second cell of the first row, then first cell of the second row
+        int[][] grid = PuzzleCodec.parse(".2.......3" + ".".repeat(71));
+        assertEquals(2, grid[0][1]);
+        assertEquals(3, grid[1][0]);
+        assertEquals(0, grid[1][1]);
+
+        Board board = new Board(grid);
+        assertEquals(2, board.getCell(1, 0).getValue());
+        assertEquals(3, board.getCell(0, 1).getValue());
+        assertEquals(".2.......3" + ".".repeat(71), PuzzleCodec.toLine(board));
+    }
+
+    @Test
+    void lineRoundTrip() {
+        int[][] grid = PuzzleCodec.parse(PUZZLE);
+        assertEquals(PUZZLE, PuzzleCodec.toLine(grid));
+        assertEquals(PUZZLE, PuzzleCodec.toLine(new Board(grid)));
+        assertArrayEquals(grid, PuzzleCodec.parse(PUZZLE.replace('.', '0')));
+    }
+
+    @Test
+    void base64RoundTrip() {
+        int[][] grid = PuzzleCodec.parse(PUZZLE);
+        String base64 = PuzzleCodec.toBase64(grid);
+        assertEquals(PUZZLE.replace('.', '0'),
+                new String(Base64.getDecoder().decode(base64), StandardCharsets.US_ASCII));
+        assertArrayEquals(grid, PuzzleCodec.parse(base64));
+
+        // Keeps the orientation
+        int[][] asymmetric = new int[9][9];
+        asymmetric[0][1] = 2;
+        asymmetric[1][0] = 3;
+        assertArrayEquals(asymmetric, PuzzleCodec.parse(PuzzleCodec.toBase64(asymmetric)));
+    }
+
+    @Test
+    void largerBoards() {
+        String line = "1234341221434321";
+        int[][] grid = PuzzleCodec.parse(line);
+        assertEquals(4, grid.length);
+        assertEquals(2, grid[0][1]);
+        assertEquals(3, grid[1][0]);
+        assertEquals(line, PuzzleCodec.toLine(grid));
+        assertArrayEquals(grid, PuzzleCodec.parse(PuzzleCodec.toBase64(grid)));
+
+        int[][] large = PuzzleCodec.parse("G" + ".".repeat(255));
+        assertEquals(16, large[0][0]);
+    }
+
+    @Test
+    void rejectsInvalidLines() {
+        assertThrows(IllegalArgumentException.class, () -> PuzzleCodec.parse("123"));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleCodec.parse("A" + ".".repeat(80)));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleCodec.parse("x" + ".".repeat(80)));
+    }
+}